@@ -0,0 +1,83 @@
+// BenchmarkDictionaries.java
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds equation dictionaries of a requested size for the benchmarks.
+ * Size 0 means the hand-written equations file. Any other size is an evenly spaced sample
+ * of the full enumerated dictionary, which is generated once per JVM in a temporary directory.
+ */
+final class BenchmarkDictionaries {
+    private static EquationDictionary full; // Every valid equation, generated on first use
+
+    /**
+     * This class only provides static helpers and is not meant to be instantiated.
+     */
+    private BenchmarkDictionaries() {
+    }
+
+    /**
+     * Gets a dictionary of the requested size.
+     *
+     * @param size The number of equations, or 0 for the equations file.
+     * @return The dictionary.
+     */
+    static EquationDictionary ofSize(int size) {
+        try {
+            if (size == 0) {
+                return EquationDictionary.importText(Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+            }
+            EquationDictionary all = full();
+            List<String> lines = new ArrayList<>();
+            int count = Math.min(size, all.size());
+            for (int i = 0; i < count; i++) {
+                lines.add(all.get((int) ((long) i * all.size() / count)));
+            }
+            Path text = Files.createTempFile("equations", ".txt");
+            Files.write(text, lines);
+            EquationDictionary dictionary = EquationDictionary.importText(text, INumberleModel.EQUATION_LENGTH);
+            Files.delete(text);
+            return dictionary;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a dictionary of the requested size to a temporary binary file.
+     *
+     * @param size The number of equations, or 0 for the equations file.
+     * @return The path of the binary dictionary file.
+     */
+    static Path fileOfSize(int size) {
+        try {
+            Path file = Files.createTempFile("equations", ".bin");
+            ofSize(size).write(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the full enumerated dictionary, generating it on first use.
+     *
+     * @throws IOException If the dictionary cannot be generated.
+     * @return The full dictionary.
+     */
+    private static synchronized EquationDictionary full() throws IOException {
+        if (full == null) {
+            Path dir = Files.createTempDirectory("numberle-bench");
+            Path output = dir.resolve("equations.bin");
+            new EquationGenerator(INumberleModel.EQUATION_LENGTH, dir.resolve("parts"), null).generate(output);
+            full = EquationDictionary.map(output);
+        }
+        return full;
+    }
+}
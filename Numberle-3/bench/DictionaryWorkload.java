@@ -0,0 +1,51 @@
+// DictionaryWorkload.java
+
+import numberle.bench.DictionaryOperations;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.PrimitiveIterator;
+
+/**
+ * The work measured by the dictionary benchmarks, on a model whose dictionary has a chosen size.
+ */
+public class DictionaryWorkload implements DictionaryOperations {
+    private EquationDictionary dictionary;   // The dictionary the model picks targets from
+    private Path dictionaryFile;             // The same dictionary as a binary file
+    private NumberleModel model;             // The model under test
+
+    @Override
+    public void setUp(int dictionarySize) {
+        dictionary = BenchmarkDictionaries.ofSize(dictionarySize);
+        dictionaryFile = BenchmarkDictionaries.fileOfSize(dictionarySize);
+        model = new NumberleModel(dictionary);
+        model.initialize();
+    }
+
+    @Override
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dictionaryFile);
+    }
+
+    @Override
+    public int initialize() {
+        model.initialize();
+        return model.getTargetIndex();
+    }
+
+    @Override
+    public int loadDictionary() throws IOException {
+        return EquationDictionary.map(dictionaryFile).size();
+    }
+
+    @Override
+    public int simulatedGame() {
+        model.initialize();
+        while (!model.isGameOver()) {
+            PrimitiveIterator.OfInt candidates = model.getRemainingCandidates().iterator();
+            model.submitGuess(dictionary.get(candidates.nextInt()));
+        }
+        return model.getRemainingAttempts();
+    }
+}
@@ -0,0 +1,169 @@
+// EvaluatorWorkload.java
+
+import numberle.bench.EvaluatorOperations;
+
+/**
+ * The work measured by the evaluator benchmark. The guesses are every equation of the hand-written
+ * equations file and, for each, a copy with two neighbouring characters swapped, so about half are
+ * valid and the rest fail in the different ways players' guesses do.
+ * The baseline is {@code validEquation} and {@code evaluateExpression} as NumberleModel had them before
+ * {@link EquationEvaluator}, without the debug output they printed for every guess.
+ */
+public class EvaluatorWorkload implements EvaluatorOperations {
+    private final String[] guesses;   // The guesses both paths check
+    private final char[] guessBuffer = new char[INumberleModel.EQUATION_LENGTH]; // Reusable copy of a guess, as in the model
+
+    /**
+     * Builds the guesses from the equations file.
+     */
+    public EvaluatorWorkload() {
+        EquationDictionary dictionary = BenchmarkDictionaries.ofSize(0);
+        guesses = new String[dictionary.size() * 2];
+        for (int i = 0; i < dictionary.size(); i++) {
+            char[] equation = dictionary.get(i).toCharArray();
+            guesses[2 * i] = new String(equation);
+            int p = i % (equation.length - 1);
+            char swapped = equation[p];
+            equation[p] = equation[p + 1];
+            equation[p + 1] = swapped;
+            guesses[2 * i + 1] = new String(equation);
+        }
+    }
+
+    @Override
+    public int checkBaseline() {
+        int valid = 0;
+        for (String guess : guesses) {
+            try {
+                if (validEquation(guess)) {
+                    valid++;
+                }
+            } catch (RuntimeException e) {
+                // Division by zero or a malformed number, which the old model also failed on
+            }
+        }
+        return valid;
+    }
+
+    @Override
+    public int checkCurrent() {
+        int valid = 0;
+        for (String guess : guesses) {
+            guess.getChars(0, guessBuffer.length, guessBuffer, 0);
+            if (EquationEvaluator.check(guessBuffer, guessBuffer.length) == EquationEvaluator.VALID) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Checks if the provided equation is valid, as the model did before EquationEvaluator.
+     *
+     * @param equation The equation to validate.
+     * @return True if the equation is valid, otherwise false.
+     */
+    private static boolean validEquation(String equation) {
+        //If any of these conditions are not met, the method returns false.
+        // The equation must be exactly 7 characters long and contain the equals sign "=".
+        if (equation.length() != 7 || !equation.contains("=")) {
+            return false;
+        }
+
+        // The equation should not have "=" as the first or last character.
+        if (equation.charAt(0) == '=' || equation.charAt(6) == '=') {
+            return false;
+        }
+
+        String[] parts = equation.split("="); // Split the equation into two parts: left expression and right expression.
+        String leftExpression = parts[0]; // Extract the left expression.
+        String rightExpression = parts[1]; // Extract the right expression.
+
+        // Evaluate the left and right expressions and check if their values are equal.
+        return evaluateExpression(leftExpression) == evaluateExpression(rightExpression);
+    }
+
+    /**
+     * Evaluates the value of a mathematical expression, as the model did before EquationEvaluator.
+     *
+     * @param expression The mathematical expression to evaluate.
+     * @return The evaluated value of the expression.
+     */
+    private static int evaluateExpression(String expression) {
+        int result = 0; // Stores the final result of the expression.
+        int num = 0; // Stores the currently parsed number.
+        int prevNum = 0; // Stores the previous number in the expression.
+        char operator = '+'; // Stores the current operator.
+        char prevOperator = '+'; // Stores the previous operator.
+
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i); // Get the current character in the expression.
+
+            if (Character.isDigit(c)) { // Check if the character is a digit.
+                num = num * 10 + (c - '0'); // Accumulate the digit to form a number.
+            } else if (c == '+' || c == '-') { // Check if the character is an addition or subtraction operator.
+                // Apply the previous operator to the previous number.
+                if (prevOperator == '*') {
+                    prevNum *= num;
+                } else if (prevOperator == '/') {
+                    if (num == 0) {
+                        throw new ArithmeticException("Division by zero"); // Division by zero is not allowed.
+                    }
+                    prevNum /= num;
+                } else {
+                    prevNum = num;
+                }
+
+                // Apply the current operator to the accumulated result.
+                if (operator == '+') {
+                    result += prevNum;
+                } else {
+                    result -= prevNum;
+                }
+
+                // Update the operators and reset the number.
+                operator = c;
+                prevOperator = '+';
+                num = 0;
+            } else if (c == '*' || c == '/') { // Check if the character is a multiplication or division operator.
+                // Apply the previous multiplication or division if any.
+                if (prevOperator == '*') {
+                    prevNum *= num;
+                } else if (prevOperator == '/') {
+                    if (num == 0) {
+                        throw new ArithmeticException("Division by zero"); // Division by zero is not allowed.
+                    }
+                    prevNum /= num;
+                } else {
+                    prevNum = num;
+                }
+
+                // Update the previous operator to the current one and reset the number.
+                prevOperator = c;
+                num = 0;
+            }
+        }
+
+        // Apply the last number with the last operator
+        if (prevOperator == '*') {
+            prevNum *= num;
+        } else if (prevOperator == '/') {
+            if (num == 0) {
+                // Division by zero is not allowed.
+                throw new ArithmeticException("Division by zero");
+            }
+            prevNum /= num;
+        } else {
+            prevNum = num;
+        }
+
+        // Apply the final result with the last operator
+        if (operator == '+') {
+            result += prevNum;
+        } else {
+            result -= prevNum;
+        }
+
+        return result; // Return the final result of the expression.
+    }
+}
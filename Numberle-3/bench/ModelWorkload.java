@@ -0,0 +1,59 @@
+// ModelWorkload.java
+
+import numberle.bench.ModelOperations;
+
+/**
+ * The work measured by the model benchmarks, on a model whose dictionary is the hand-written equations file.
+ */
+public class ModelWorkload implements ModelOperations {
+    private final NumberleModel model;   // The model under test
+    private final char[] equation = new char[INumberleModel.EQUATION_LENGTH]; // A valid equation from the dictionary
+    private final char[] target = new char[INumberleModel.EQUATION_LENGTH];   // Another dictionary equation, the target of computeFeedback
+    private final int[] symbolCounts = new int[Symbols.COUNT];                // Scratch space of computeFeedback
+
+    /**
+     * Builds the model and starts its first game.
+     */
+    public ModelWorkload() {
+        EquationDictionary dictionary = BenchmarkDictionaries.ofSize(0);
+        model = new NumberleModel(dictionary);
+        model.initialize();
+        dictionary.copyTo(dictionary.size() / 2, equation);
+        dictionary.copyTo(dictionary.size() / 3, target);
+    }
+
+    @Override
+    public void startGame() {
+        model.initialize();
+    }
+
+    @Override
+    public int remainingAttempts() {
+        return model.getRemainingAttempts();
+    }
+
+    @Override
+    public int processValidGuess() {
+        return model.submitGuess("1+2=3-0");
+    }
+
+    @Override
+    public int processUnequalGuess() {
+        return model.submitGuess("1+2=3-1");   // Rejected, so it never uses up an attempt
+    }
+
+    @Override
+    public int processMalformedGuess() {
+        return model.submitGuess("1/0+5==");
+    }
+
+    @Override
+    public int evaluate() {
+        return EquationEvaluator.check(equation, INumberleModel.EQUATION_LENGTH);
+    }
+
+    @Override
+    public int computeFeedback() {
+        return Feedback.compute(target, equation, INumberleModel.EQUATION_LENGTH, symbolCounts);
+    }
+}
@@ -0,0 +1,32 @@
+// BenchmarkRunner.java
+
+package numberle.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the model benchmarks with allocation profiling, so each result also reports the bytes
+ * allocated per operation. The bench module takes JMH and its dependencies from the jars in lib,
+ * with annotation processing on, and must be run from the Numberle-3 directory, where the
+ * equations file is.
+ */
+public class BenchmarkRunner {
+    /**
+     * Runs every benchmark whose name matches the first argument, or all of them.
+     *
+     * @param args The command-line arguments: an optional regular expression selecting benchmarks.
+     * @throws RunnerException If the benchmarks cannot be run.
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : String.join("|", ModelBenchmark.class.getSimpleName(),
+                        DictionaryBenchmark.class.getSimpleName(), EvaluatorBenchmark.class.getSimpleName()))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
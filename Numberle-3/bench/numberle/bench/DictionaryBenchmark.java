@@ -0,0 +1,88 @@
+// DictionaryBenchmark.java
+
+package numberle.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the work of the model that grows with the dictionary: starting a game,
+ * loading the dictionary and playing whole games. Every benchmark runs for several dictionary sizes;
+ * 0 stands for the hand-written equations file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DictionaryBenchmark {
+    @Param({"0", "2000", "29068"})
+    public int dictionarySize;   // Number of equations in the dictionary, 0 for the equations file
+
+    private DictionaryOperations workload;   // The dictionary and the model under test
+
+    /**
+     * Builds the dictionary and the model once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workloads.create(DictionaryOperations.class, "DictionaryWorkload");
+        workload.setUp(dictionarySize);
+    }
+
+    /**
+     * Removes the temporary dictionary file.
+     *
+     * @throws IOException If the file cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        workload.tearDown();
+    }
+
+    /**
+     * Starts a new game, picking a target from the dictionary.
+     *
+     * @return The index of the new target, so the work cannot be removed.
+     */
+    @Benchmark
+    public int initialize() {
+        return workload.initialize();
+    }
+
+    /**
+     * Loads the dictionary file, as happens once per JVM.
+     *
+     * @throws IOException If the file cannot be mapped.
+     * @return The number of equations loaded, so the work cannot be removed.
+     */
+    @Benchmark
+    public int loadDictionary() throws IOException {
+        return workload.loadDictionary();
+    }
+
+    /**
+     * Plays a whole game, always guessing the first remaining candidate.
+     *
+     * @return The number of attempts left at the end, so the work cannot be removed.
+     */
+    @Benchmark
+    public int simulatedGame() {
+        return workload.simulatedGame();
+    }
+}
@@ -0,0 +1,47 @@
+// DictionaryOperations.java
+
+package numberle.bench;
+
+import java.io.IOException;
+
+/**
+ * The work measured by {@link DictionaryBenchmark}, on a model whose dictionary has a chosen size.
+ * It is implemented by {@code DictionaryWorkload} in the default package, next to the game.
+ */
+public interface DictionaryOperations {
+    /**
+     * Builds the dictionary, its binary file and the model.
+     *
+     * @param dictionarySize The number of equations, or 0 for the equations file.
+     */
+    void setUp(int dictionarySize);
+
+    /**
+     * Removes the binary dictionary file.
+     *
+     * @throws IOException If the file cannot be deleted.
+     */
+    void tearDown() throws IOException;
+
+    /**
+     * Starts a new game, picking a target from the dictionary.
+     *
+     * @return The index of the new target.
+     */
+    int initialize();
+
+    /**
+     * Loads the binary dictionary file, as happens once per JVM.
+     *
+     * @throws IOException If the file cannot be mapped.
+     * @return The number of equations loaded.
+     */
+    int loadDictionary() throws IOException;
+
+    /**
+     * Plays a whole game, always guessing the first remaining candidate.
+     *
+     * @return The number of attempts left at the end.
+     */
+    int simulatedGame();
+}
@@ -0,0 +1,60 @@
+// EvaluatorBenchmark.java
+
+package numberle.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH throughput benchmark of guess validation before and after {@code EquationEvaluator}: both
+ * methods check the same guesses, every equation of the equations file and a swapped copy of each,
+ * so the ratio of their scores is the speed-up of the new path. One operation is one pass over all the guesses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark {
+    private EvaluatorOperations workload;   // The guesses and both ways of checking them
+
+    /**
+     * Builds the guesses once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workloads.create(EvaluatorOperations.class, "EvaluatorWorkload");
+    }
+
+    /**
+     * Checks the guesses with the string-based validEquation and evaluateExpression the model used before.
+     *
+     * @return The number of valid guesses, so the work cannot be removed.
+     */
+    @Benchmark
+    public int baseline() {
+        return workload.checkBaseline();
+    }
+
+    /**
+     * Checks the guesses with EquationEvaluator.check, as the model does now.
+     *
+     * @return The number of valid guesses, so the work cannot be removed.
+     */
+    @Benchmark
+    public int evaluator() {
+        return workload.checkCurrent();
+    }
+}
@@ -0,0 +1,24 @@
+// EvaluatorOperations.java
+
+package numberle.bench;
+
+/**
+ * The work measured by {@link EvaluatorBenchmark}: checking the same guesses with the string-based
+ * validation the model used before {@code EquationEvaluator} and with {@code EquationEvaluator.check}.
+ * It is implemented by {@code EvaluatorWorkload} in the default package, next to the game.
+ */
+public interface EvaluatorOperations {
+    /**
+     * Checks every guess with the previous {@code validEquation} and {@code evaluateExpression}.
+     *
+     * @return The number of valid guesses.
+     */
+    int checkBaseline();
+
+    /**
+     * Checks every guess with {@code EquationEvaluator.check}, copying it into a buffer as the model does.
+     *
+     * @return The number of valid guesses.
+     */
+    int checkCurrent();
+}
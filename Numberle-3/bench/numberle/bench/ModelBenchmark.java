@@ -0,0 +1,105 @@
+// ModelBenchmark.java
+
+package numberle.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the hot paths of the model that do not depend on the size of the dictionary:
+ * processing valid and invalid guesses, evaluating equations and computing feedback.
+ * They use the hand-written equations file; see {@link DictionaryBenchmark} for the rest.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+    private ModelOperations workload;   // The model under test
+
+    /**
+     * Builds the model once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = Workloads.create(ModelOperations.class, "ModelWorkload");
+    }
+
+    /**
+     * Starts a new game, the part of {@link #startGameAndValidGuess()} that is not the guess.
+     *
+     * @return The attempts of the new game, so the work cannot be removed.
+     */
+    @Benchmark
+    public int startGame() {
+        workload.startGame();
+        return workload.remainingAttempts();
+    }
+
+    /**
+     * Starts a new game and processes a valid guess, including validation and feedback, as its first guess.
+     * A guess needs a game that is not over, and setting one up per invocation would cost more to time than
+     * the guess itself, so the game is started in the measured work: the cost of a valid guess is this score
+     * minus that of {@link #startGame()}.
+     *
+     * @return The result of the model, so the work cannot be removed.
+     */
+    @Benchmark
+    public int startGameAndValidGuess() {
+        workload.startGame();
+        return workload.processValidGuess();
+    }
+
+    /**
+     * Processes a well-formed guess whose two sides differ.
+     *
+     * @return The result of the model, so the work cannot be removed.
+     */
+    @Benchmark
+    public int processUnequalGuess() {
+        return workload.processUnequalGuess();
+    }
+
+    /**
+     * Processes a malformed guess.
+     *
+     * @return The result of the model, so the work cannot be removed.
+     */
+    @Benchmark
+    public int processMalformedGuess() {
+        return workload.processMalformedGuess();
+    }
+
+    /**
+     * Evaluates an equation, the work that replaced {@code evaluateExpression}.
+     *
+     * @return The result code, so the work cannot be removed.
+     */
+    @Benchmark
+    public int evaluate() {
+        return workload.evaluate();
+    }
+
+    /**
+     * Computes the feedback of one equation against another, without allocating.
+     *
+     * @return The packed feedback, so the work cannot be removed.
+     */
+    @Benchmark
+    public int computeFeedback() {
+        return workload.computeFeedback();
+    }
+}
@@ -0,0 +1,57 @@
+// ModelOperations.java
+
+package numberle.bench;
+
+/**
+ * The work measured by {@link ModelBenchmark}, on one model whose dictionary is the hand-written
+ * equations file. It is implemented by {@code ModelWorkload} in the default package, next to the game.
+ */
+public interface ModelOperations {
+    /**
+     * Starts a new game on the model.
+     */
+    void startGame();
+
+    /**
+     * Gets the attempts left in the current game.
+     *
+     * @return The number of remaining attempts.
+     */
+    int remainingAttempts();
+
+    /**
+     * Processes a valid guess, including validation and feedback.
+     *
+     * @requires a game is in progress
+     * @return The result of the model.
+     */
+    int processValidGuess();
+
+    /**
+     * Processes a well-formed guess whose two sides differ.
+     *
+     * @return The result of the model.
+     */
+    int processUnequalGuess();
+
+    /**
+     * Processes a malformed guess.
+     *
+     * @return The result of the model.
+     */
+    int processMalformedGuess();
+
+    /**
+     * Evaluates a valid equation from the dictionary.
+     *
+     * @return The result code.
+     */
+    int evaluate();
+
+    /**
+     * Computes the feedback of one dictionary equation against another, without allocating.
+     *
+     * @return The packed feedback.
+     */
+    int computeFeedback();
+}
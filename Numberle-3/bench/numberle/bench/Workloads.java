@@ -0,0 +1,38 @@
+// Workloads.java
+
+package numberle.bench;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Creates the workloads the benchmarks measure. JMH only generates benchmarks for classes in a named
+ * package, and a class in a named package cannot name the game's classes, which are all in the default
+ * package; so each workload lives in the default package, implements an interface of this package and
+ * is created here by name. The benchmarks call it through that interface, and with a single
+ * implementation loaded the JIT inlines those calls.
+ */
+final class Workloads {
+    /**
+     * This class only provides static helpers and is not meant to be instantiated.
+     */
+    private Workloads() {
+    }
+
+    /**
+     * Creates a workload.
+     *
+     * @param type      The interface the workload implements.
+     * @param className The name of the workload class in the default package.
+     * @param <T>       The type of the workload.
+     * @return A new instance of the workload class.
+     */
+    static <T> T create(Class<T> type, String className) {
+        try {
+            return type.cast(Class.forName(className).getDeclaredConstructor().newInstance());
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Cannot create " + className, e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + className + "; is the Numberle-3 module on the classpath?", e);
+        }
+    }
+}
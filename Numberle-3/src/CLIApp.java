@@ -1,3 +1,12 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
 
 /**
@@ -16,23 +25,61 @@ public class CLIApp {
      * @ensures scanner != null "The scanner for reading user input is initialized."
      */
     public CLIApp() {
-        model = new NumberleModel(); // Create a new instance of NumberleModel as the game model.
+        this(NumberleVariant.CLASSIC);
+    }
+
+    /**
+     * Constructs a CLIApp object for a variant of the game, with a Scanner for user input.
+     * @param variant The equation length and number of guesses.
+     * @ensures model != null "The model is properly initialized."
+     * @ensures scanner != null "The scanner for reading user input is initialized."
+     */
+    public CLIApp(NumberleVariant variant) {
+        this(new NumberleModel(variant)); // Create a new instance of NumberleModel as the game model.
+    }
+
+    /**
+     * Constructs a CLIApp object that plays on a given model, with a Scanner for user input.
+     * @param model The game model, which tests can set up before play.
+     * @requires model != null
+     * @ensures scanner != null "The scanner for reading user input is initialized."
+     */
+    CLIApp(INumberleModel model) {
+        this.model = model;
+        GameHistoryLog.attachIfConfigured(model); // Record the games if a history directory is configured
         scanner = new Scanner(System.in); // Create a new Scanner object to read user input from the command line.
     }
 
     /**
      * Starts the Numberle game.
      * This method displays welcome messages, handles user input, and controls the game flow.
+     * Games are played one after another in a loop for as long as the user wants to play again.
      * @requires model != null "The game model must be initialized before starting the game."
      * @requires scanner != null "Input scanner must be initialized before starting the game."
      * @ensures "The game continues until it is either won or all attempts are used."
      */
     public void startGame() {
+        boolean playAgain = true;
+        while (playAgain) {
+            playGame();
+
+            System.out.println("Do you want to play again? (yes/no)");
+            playAgain = scanner.nextLine().equalsIgnoreCase("yes"); // Play another game if the user wants to
+        }
+        System.out.println("Thank you for playing Numberle Game!");
+    }
+
+    /**
+     * Plays a single interactive game, from the welcome message to the result.
+     * @requires model != null "The game model must be initialized before starting the game."
+     * @ensures model.isGameOver()
+     */
+    private void playGame() {
         System.out.println("Welcome to Numberle Game!");
         System.out.println("----------------------------------------");
         System.out.println("What you need to do is to find");
         System.out.println("a hidden mathematical equation");
-        System.out.println("through at most 6 guesses.");
+        System.out.println("through at most " + model.getMaxAttempts() + " guesses.");
         System.out.println("After each guess, some feedback will be provided to");
         System.out.println("help you gradually narrow down the scope.");
         System.out.println("Let's start!");
@@ -41,19 +88,27 @@ public class CLIApp {
         model.startNewGame(); // Initialize a new game using the game model.
 
         while (!model.isGameOver()) {
-            System.out.println("You have " + model.getRemainingAttempts() + "/6 attempts remained.");
-            System.out.print("Enter your guess: ");
+            System.out.println("You have " + model.getRemainingAttempts() + "/" + model.getMaxAttempts() + " attempts remained.");
+            System.out.print("Enter your guess (or \"suggest\" for a hint): ");
             String guess = scanner.nextLine();
 
-            boolean valid = model.processInput(guess); // Process the user's guess using the game model.
+            if (guess.equalsIgnoreCase("suggest")) {
+                String suggestion = NumberleSolver.forModel(model).suggest(model); // Ask the solver for the most informative guess
+                System.out.println(suggestion != null ? "Suggested guess: " + suggestion : "No suggestion available.");
+                continue;
+            }
+
+            int result = model.submitGuess(guess); // Process the user's guess using the game model.
 
-            if (valid) {
+            if (result >= 0) {
                 System.out.println("----------------------------------------");
                 System.out.println("For your guess this time, there is a hint: ");
                 System.out.println(model.getCurrentGuess().toString());
                 System.out.println("√ means correct digit or operator at the right place;");
                 System.out.println("? means digit or operator exists but not here;");
                 System.out.println("× means it does not appear in this equation.");
+            } else if (result == -EquationEvaluator.HARD_MODE_VIOLATION) {
+                System.out.println("Hard mode: the guess must agree with every hint so far.");
             } else {
                 System.out.println("Invalid equation.");
             }
@@ -66,24 +121,109 @@ public class CLIApp {
         } else {
             System.out.println("Game over! You ran out of attempts. The target equation was: " + model.getTargetNumber());
         }
+    }
 
-        System.out.println("Do you want to play again? (yes/no)");
-        String playAgain = scanner.nextLine();
+    /**
+     * Plays games from a stream of commands without prompts, for scripts driving the game through a pipe.
+     * Each input line is a guess, "new" to start a new game, or "quit" to stop; a guess after the end
+     * of a game starts the next one. Each game writes one line "N" when it starts, and each guess writes
+     * one line: the attempt number and one feedback digit per position (1 absent, 2 present, 3 correct),
+     * followed by "W" when the guess wins or "L" and the target when it loses the game. An invalid guess
+     * writes "E" and the reason code of {@link EquationEvaluator} instead. Output is only flushed when
+     * no more input is waiting, so a fast producer gets large writes and an interactive one gets every answer.
+     *
+     * @param input  The commands, one per line.
+     * @param output Where the results are written.
+     * @throws IOException If reading or writing fails.
+     * @requires input != null && output != null
+     */
+    public void runBatch(BufferedReader input, Writer output) throws IOException {
+        int length = model.getEquationLength();
+        boolean playing = false; // Whether a game is in progress
+        String line;
+        while ((line = input.readLine()) != null) {
+            if (line.equals("quit")) {
+                break;
+            }
+            if (!playing || line.equals("new")) {
+                model.startNewGame();
+                playing = true;
+                output.write("N\n");
+                if (line.equals("new")) {
+                    flushIfIdle(input, output);
+                    continue;
+                }
+            }
 
-        if (playAgain.equalsIgnoreCase("yes")) {
-            startGame(); // Restart the game if the user wants to play again
-        } else {
-            System.out.println("Thank you for playing Numberle Game!");
+            int result = model.submitGuess(line);
+            if (result < 0) {
+                output.write('E');
+                output.write(Integer.toString(-result)); // The reason the guess was rejected
+            } else {
+                output.write(Integer.toString(model.getMaxAttempts() - model.getRemainingAttempts()));
+                output.write(' ');
+                for (int i = 0; i < length; i++) {
+                    output.write('0' + Feedback.get(result, i));
+                }
+                if (model.isGameWon()) {
+                    output.write(" W");
+                    playing = false;
+                } else if (model.isGameOver()) {
+                    output.write(" L ");
+                    output.write(model.getTargetNumber());
+                    playing = false;
+                }
+            }
+            output.write('\n');
+            flushIfIdle(input, output);
+        }
+        output.flush();
+    }
+
+    /**
+     * Flushes the output when no more input is waiting to be read.
+     *
+     * @param input  The commands.
+     * @param output The results.
+     * @throws IOException If reading or writing fails.
+     */
+    private static void flushIfIdle(BufferedReader input, Writer output) throws IOException {
+        if (!input.ready()) {
+            output.flush();
         }
     }
 
     /**
      * The main entry point of the application.
-     * Creates an instance of CLIApp and starts the game.
-     * @param args The command-line arguments (not used in this application).
+     * Creates an instance of CLIApp and starts the game, or plays from standard input in batch mode.
+     * @param args The command-line arguments: "--batch" to run {@link #runBatch(BufferedReader, Writer)}
+     *             on standard input and output, "--variant=LxA" to play equations of length L with A guesses,
+     *             and "--hard" to require every guess to agree with earlier feedback.
+     * @throws IOException If batch input or output fails.
      */
-    public static void main(String[] args) {
-        CLIApp game = new CLIApp(); // Create a new instance of CLIApp.
+    public static void main(String[] args) throws IOException {
+        boolean batch = false;
+        boolean hard = false;
+        NumberleVariant variant = NumberleVariant.CLASSIC;
+        for (String arg : args) {
+            if (arg.equals("--batch")) {
+                batch = true;
+            } else if (arg.equals("--hard")) {
+                hard = true;
+            } else if (arg.startsWith("--variant=")) {
+                variant = NumberleVariant.parse(arg.substring("--variant=".length()));
+            }
+        }
+        variant.generateDictionary(batch ? null : System.out); // Long variants need their dictionary generated once
+        CLIApp game = new CLIApp(variant); // Create a new instance of CLIApp.
+        game.model.setHardMode(hard); // Every guess must agree with earlier hints in hard mode
+        if (batch) {
+            BufferedReader input = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16);
+            Writer output = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), 1 << 16);
+            game.runBatch(input, output); // Play from the piped commands
+            return;
+        }
+        NumberleSolver.preload(game.model); // Start searching for the best first guess, so a hint answers at once
         game.startGame(); // Start the game by calling the startGame() method.
     }
 }
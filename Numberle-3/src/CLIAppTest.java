@@ -0,0 +1,61 @@
+// Importing the necessary classes for JUnit testing
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+
+public class CLIAppTest {
+    /**
+     * Test to verify that batch mode answers a rejected guess, a hint and a win on one line each.
+     *
+     * @requires a game whose target is the default target number
+     * @ensures the output starts the game, gives the reason code of the invalid guess and marks the win
+     */
+    @Test
+    public void batch_WinAndInvalid_Test() throws IOException {
+        assertEquals("N\nE5\n1 1323111\n2 3333333 W\n", runBatch("1+1=3-0\n1+2=3-0\n6+4=2*5\n"));
+    }
+
+    /**
+     * Test to verify that batch mode starts a new game after a loss and stops at "quit".
+     *
+     * @requires a game whose target is the default target number
+     * @ensures the loss shows the target, the next guess starts a new game and nothing after "quit" is played
+     */
+    @Test
+    public void batch_GameBoundaries_Test() throws IOException {
+        StringBuilder input = new StringBuilder("new\n");
+        for (int i = 0; i < INumberleModel.MAX_ATTEMPTS; i++) {
+            input.append("1+2=3-0\n");
+        }
+        input.append("6+4=2*5\nquit\n6+4=2*5\n");
+        String[] lines = runBatch(input.toString()).split("\n");
+        assertEquals(9, lines.length);
+        assertEquals("N", lines[0]);
+        assertEquals("6 1323111 L 6+4=2*5", lines[6]);
+        assertEquals("N", lines[7]);
+        assertEquals("1 3333333 W", lines[8]);
+    }
+
+    /**
+     * Plays commands in batch mode on a new game whose target is the default target number.
+     *
+     * @param input The commands, one per line.
+     * @return Everything written by batch mode.
+     * @throws IOException If batch mode fails.
+     */
+    private static String runBatch(String input) throws IOException {
+        NumberleModel model = new NumberleModel();   // Creating an instance of the NumberleModel class
+        model.setRandomSelect(false);   // The target is 6+4=2*5
+        CLIApp app = new CLIApp(model);
+        StringWriter output = new StringWriter();
+        app.runBatch(new BufferedReader(new StringReader(input)), output);
+        return output.toString();
+    }
+}
@@ -0,0 +1,242 @@
+// CandidateIndex.java
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.WeakHashMap;
+
+/**
+ * Bitsets over an equation dictionary for narrowing the candidate targets by feedback.
+ * The index keeps one bitset per (position, symbol), marking the equations with that symbol
+ * at that position, and one bitset per (symbol, count), marking the equations that contain
+ * the symbol at least that many times. Applying the feedback of a guess to a set of
+ * candidates is then a few word-wide AND and AND NOT operations per position.
+ * An index is read-only once built and can be shared by any number of threads.
+ */
+public final class CandidateIndex {
+    private static final Map<EquationDictionary, CandidateIndex> INDEXES =
+            Collections.synchronizedMap(new WeakHashMap<>()); // One index per dictionary, dropped with its dictionary
+
+    private final int count;             // Number of equations in the dictionary
+    private final int width;             // Number of characters in every equation
+    private final int words;             // Number of longs in every bitset
+    private final long[][] atPosition;   // [position * Symbols.COUNT + symbol]: equations with the symbol at the position
+    private final long[][] atLeast;      // [symbol * (width + 1) + n]: equations containing the symbol at least n times
+
+    /**
+     * Builds the index of a dictionary.
+     *
+     * @param dictionary The equation dictionary.
+     * @requires dictionary != null
+     */
+    public CandidateIndex(EquationDictionary dictionary) {
+        this.count = dictionary.size();
+        this.width = dictionary.width();
+        this.words = (count + 63) >>> 6;
+        this.atPosition = new long[width * Symbols.COUNT][words];
+        this.atLeast = new long[Symbols.COUNT * (width + 1)][words];
+
+        int[] occurrences = new int[Symbols.COUNT];
+        for (int e = 0; e < count; e++) {
+            long bit = 1L << e;   // Shifts only use the low six bits, so this is bit e % 64
+            int word = e >>> 6;
+            Arrays.fill(occurrences, 0);
+            for (int p = 0; p < width; p++) {
+                int symbol = Symbols.indexOf(dictionary.charAt(e, p));
+                atPosition[p * Symbols.COUNT + symbol][word] |= bit;
+                occurrences[symbol]++;
+            }
+            for (int symbol = 0; symbol < Symbols.COUNT; symbol++) {
+                for (int n = 0; n <= occurrences[symbol]; n++) {
+                    atLeast[symbol * (width + 1) + n][word] |= bit;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the index of a dictionary, building it on first use and sharing it afterwards.
+     *
+     * @param dictionary The equation dictionary.
+     * @requires dictionary != null
+     * @ensures \result == of(dictionary)
+     * @return The index of the dictionary.
+     */
+    public static CandidateIndex of(EquationDictionary dictionary) {
+        return INDEXES.computeIfAbsent(dictionary, CandidateIndex::new);
+    }
+
+    /**
+     * Creates a candidate set holding every equation of the dictionary.
+     *
+     * @ensures \result.count() == size of the dictionary
+     * @return A new candidate set.
+     */
+    public Candidates all() {
+        long[] bits = new long[words];
+        Arrays.fill(bits, -1L);
+        if ((count & 63) != 0) {
+            bits[words - 1] = (1L << count) - 1;   // Clears the bits past the last equation
+        }
+        return new Candidates(bits);
+    }
+
+    /**
+     * A set of candidate targets, narrowed down as feedback is applied.
+     * A candidate set is not thread-safe; each game or thread should use its own.
+     */
+    public final class Candidates {
+        private final long[] bits;   // Bit e is set while equation e is still a candidate
+
+        /**
+         * Constructs a candidate set over its bits.
+         *
+         * @param bits The bitset of candidates.
+         */
+        private Candidates(long[] bits) {
+            this.bits = bits;
+        }
+
+        /**
+         * Removes every candidate that would not have given this feedback to this guess.
+         * CORRECT keeps the candidates with the symbol at that position, and PRESENT or ABSENT
+         * removes them. Each symbol of the guess also bounds how often it appears: at least as
+         * often as it is CORRECT or PRESENT, and exactly that often if one of its copies is ABSENT.
+         *
+         * @param guess    The characters of the guess.
+         * @param feedback The packed feedback the guess received.
+         * @requires guess.length >= width and every character of guess is in Symbols.ALPHABET
+         */
+        public void apply(char[] guess, int feedback) {
+            int[] found = new int[Symbols.COUNT];       // Copies of each symbol the target is known to have
+            boolean[] exact = new boolean[Symbols.COUNT]; // Whether the target has no more copies than found
+            for (int p = 0; p < width; p++) {
+                int symbol = Symbols.indexOf(guess[p]);
+                long[] here = atPosition[p * Symbols.COUNT + symbol];
+                int code = Feedback.get(feedback, p);
+                if (code == Feedback.CORRECT) {
+                    and(here);
+                } else {
+                    andNot(here);
+                }
+                if (code == Feedback.ABSENT) {
+                    exact[symbol] = true;
+                } else {
+                    found[symbol]++;
+                }
+            }
+            for (int symbol = 0; symbol < Symbols.COUNT; symbol++) {
+                int n = found[symbol];
+                if (n > 0) {
+                    and(atLeast[symbol * (width + 1) + n]);
+                }
+                if (exact[symbol]) {
+                    andNot(atLeast[symbol * (width + 1) + n + 1]);   // n < width, since a copy of the symbol was ABSENT
+                }
+            }
+        }
+
+        /**
+         * Keeps only the candidates that are also in another bitset.
+         *
+         * @param other The other bitset.
+         */
+        private void and(long[] other) {
+            for (int i = 0; i < words; i++) {
+                bits[i] &= other[i];
+            }
+        }
+
+        /**
+         * Removes the candidates that are in another bitset.
+         *
+         * @param other The other bitset.
+         */
+        private void andNot(long[] other) {
+            for (int i = 0; i < words; i++) {
+                bits[i] &= ~other[i];
+            }
+        }
+
+        /**
+         * Creates an independent copy of this candidate set.
+         *
+         * @ensures \result.count() == count()
+         * @return A new candidate set with the same candidates.
+         */
+        public Candidates copy() {
+            return new Candidates(bits.clone());
+        }
+
+        /**
+         * Gets the number of remaining candidates.
+         *
+         * @ensures \result >= 0
+         * @return The number of candidates.
+         */
+        public int count() {
+            int total = 0;
+            for (long word : bits) {
+                total += Long.bitCount(word);
+            }
+            return total;
+        }
+
+        /**
+         * Checks whether an equation is still a candidate.
+         *
+         * @param index The dictionary index of the equation.
+         * @return True if the equation is still a candidate, otherwise false.
+         */
+        public boolean contains(int index) {
+            return (bits[index >>> 6] & (1L << index)) != 0;
+        }
+
+        /**
+         * Iterates over the dictionary indices of the remaining candidates, in ascending order.
+         *
+         * @return An iterator over the candidates.
+         */
+        public PrimitiveIterator.OfInt iterator() {
+            return new PrimitiveIterator.OfInt() {
+                private int word = 0;           // The word being read
+                private long rest = words > 0 ? bits[0] : 0; // The bits of the word not returned yet
+
+                @Override
+                public boolean hasNext() {
+                    while (rest == 0 && word + 1 < words) {
+                        rest = bits[++word];
+                    }
+                    return rest != 0;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int index = (word << 6) + Long.numberOfTrailingZeros(rest);
+                    rest &= rest - 1;   // Clears the lowest set bit
+                    return index;
+                }
+            };
+        }
+
+        /**
+         * Copies the dictionary indices of the remaining candidates into an array.
+         *
+         * @ensures \result.length == count()
+         * @return The candidates, in ascending order.
+         */
+        public int[] toArray() {
+            int[] result = new int[count()];
+            PrimitiveIterator.OfInt it = iterator();
+            for (int i = 0; i < result.length; i++) {
+                result[i] = it.nextInt();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+// DailyPuzzleScheduler.java
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Chooses the puzzle of each day, the same for everyone and reproducible from a seed.
+ * Days are numbered from a first day and split into cycles as long as the dictionary. Each cycle
+ * plays every equation once, in an order shuffled by {@link Random} from a seed that the SplitMix64
+ * finaliser derives from the schedule's seed and the cycle number, so the schedule is the same on
+ * every JVM and schedules with different seeds do not share cycles. The orders of the two cycles
+ * looked up last are kept, so looking up a day in either, such as yesterday and today across a
+ * cycle boundary, is an array read.
+ * A no-repeat window also keeps an equation from coming back within that many days across the
+ * boundary between two cycles: equations at the start of a cycle that ended the previous cycle
+ * are swapped with later ones.
+ */
+public class DailyPuzzleScheduler {
+    public static final LocalDate DEFAULT_FIRST_DAY = LocalDate.of(2024, 1, 1); // Day 0 unless chosen otherwise
+
+    private final EquationDictionary dictionary;  // The dictionary the puzzles come from
+    private final long seed;                      // Seed of every shuffle
+    private final long firstDay;                  // Epoch day of day 0
+    private final int window;                     // Least number of days before an equation can come back
+    private volatile Cycle current;               // The order of the cycle computed last
+    private volatile Cycle previous;              // The order of the cycle computed before it
+
+    /**
+     * The order of the puzzles in one cycle.
+     */
+    private static final class Cycle {
+        final long number;  // The number of the cycle
+        final int[] order;  // Dictionary index of the puzzle of each day of the cycle
+
+        /**
+         * Constructs a cycle.
+         *
+         * @param number The number of the cycle.
+         * @param order  The dictionary index of the puzzle of each day.
+         */
+        Cycle(long number, int[] order) {
+            this.number = number;
+            this.order = order;
+        }
+    }
+
+    /**
+     * Constructs a scheduler.
+     *
+     * @param dictionary The dictionary the puzzles come from.
+     * @param seed       The seed of the schedule.
+     * @param firstDay   The first day of the schedule.
+     * @param window     The least number of days before an equation can come back.
+     * @throws IllegalArgumentException If the dictionary is empty or too small for the window.
+     * @requires dictionary != null && firstDay != null
+     */
+    public DailyPuzzleScheduler(EquationDictionary dictionary, long seed, LocalDate firstDay, int window) {
+        if (dictionary.size() == 0 || window < 0 || (long) window * 3 > dictionary.size()) {
+            throw new IllegalArgumentException("A window of " + window + " days needs a dictionary of at least "
+                    + Math.max(1, 3L * window) + " equations");
+        }
+        this.dictionary = dictionary;
+        this.seed = seed;
+        this.firstDay = firstDay.toEpochDay();
+        this.window = window;
+        this.current = new Cycle(0, order(0, null));
+        this.previous = current;
+    }
+
+    /**
+     * Gets the dictionary index of the puzzle of a date.
+     *
+     * @param date The date.
+     * @requires date != null && !date.isBefore(first day)
+     * @return The index of the target equation.
+     */
+    public int targetIndex(LocalDate date) {
+        return targetIndexForDay(date.toEpochDay() - firstDay);
+    }
+
+    /**
+     * Gets the dictionary index of the puzzle of a day.
+     *
+     * @param day The number of the day, counted from the first day.
+     * @throws IllegalArgumentException If the day is before the first day.
+     * @return The index of the target equation.
+     */
+    public int targetIndexForDay(long day) {
+        if (day < 0) {
+            throw new IllegalArgumentException("Day " + day + " is before the first day of the schedule");
+        }
+        int size = dictionary.size();
+        long number = day / size;
+        Cycle cycle = current;
+        if (cycle.number != number) {
+            Cycle other = previous;
+            if (other.number == number) {
+                cycle = other;
+            } else {
+                // Only when the schedule moves to another cycle; a race at worst computes a cycle twice
+                Cycle last = other.number == number - 1 ? other : cycle;
+                previous = cycle;
+                cycle = new Cycle(number, order(number, last.number == number - 1 ? last : null));
+                current = cycle;
+            }
+        }
+        return cycle.order[(int) (day % size)];
+    }
+
+    /**
+     * Gets the puzzle of a date.
+     *
+     * @param date The date.
+     * @requires date != null && !date.isBefore(first day)
+     * @return The target equation.
+     */
+    public String target(LocalDate date) {
+        return dictionary.get(targetIndex(date));
+    }
+
+    /**
+     * Computes the order of a cycle, keeping the start of it apart from the end of the previous one.
+     * Only the first 2 * window days are rearranged, so the end of every cycle is its plain shuffle
+     * and the end of the previous cycle can be read from its order when that is known.
+     *
+     * @param number The number of the cycle.
+     * @param before The previous cycle, or null to shuffle it again.
+     * @return The dictionary index of the puzzle of each day of the cycle.
+     */
+    private int[] order(long number, Cycle before) {
+        int[] order = shuffle(number);
+        if (number > 0 && window > 0) {
+            int[] previous = before != null ? before.order : shuffle(number - 1);
+            boolean[] recent = new boolean[order.length];   // Equations of the last days of the previous cycle
+            for (int i = order.length - window; i < order.length; i++) {
+                recent[previous[i]] = true;
+            }
+            int next = window;   // Next day that may give its equation to an early day
+            for (int i = 0; i < window; i++) {
+                if (recent[order[i]]) {
+                    while (recent[order[next]]) {
+                        next++;
+                    }
+                    int swap = order[i];
+                    order[i] = order[next];
+                    order[next++] = swap;
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Shuffles the dictionary indexes for a cycle with the Fisher-Yates algorithm.
+     *
+     * @param number The number of the cycle.
+     * @return Every dictionary index once, in shuffled order.
+     */
+    private int[] shuffle(long number) {
+        int[] order = new int[dictionary.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Random random = new Random(mix(seed + mix(number)));
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+
+    /**
+     * Scrambles a number with the SplitMix64 finaliser, so that nearby inputs give unrelated outputs.
+     *
+     * @param z The number.
+     * @return The scrambled number.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Writes the schedule of a range of days, one line per day: date, day number, dictionary index and equation.
+     *
+     * @param from The first date to write.
+     * @param days The number of days to write.
+     * @param out  Where to write the schedule.
+     * @throws IOException If writing fails.
+     * @requires from != null && !from.isBefore(first day) && days >= 0 && out != null
+     */
+    public void export(LocalDate from, int days, Writer out) throws IOException {
+        out.write("date,day,index,equation\n");
+        for (int i = 0; i < days; i++) {
+            LocalDate date = from.plusDays(i);
+            int index = targetIndex(date);
+            out.write(date + "," + (date.toEpochDay() - firstDay) + "," + index + "," + dictionary.get(index) + "\n");
+        }
+        out.flush();
+    }
+
+    /**
+     * Prints the schedule of a range of days for auditing.
+     *
+     * @param args The seed (default 0), the first date to print (default today), the number of days (default 30)
+     *             and the no-repeat window (default 0).
+     * @throws IOException If writing fails.
+     */
+    public static void main(String[] args) throws IOException {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 0;
+        LocalDate from = args.length > 1 ? LocalDate.parse(args[1]) : LocalDate.now();
+        int days = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int window = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        DailyPuzzleScheduler scheduler = new DailyPuzzleScheduler(EquationDictionary.shared(), seed, DEFAULT_FIRST_DAY, window);
+        scheduler.export(from, days, new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+    }
+}
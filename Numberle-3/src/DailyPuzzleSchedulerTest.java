@@ -0,0 +1,127 @@
+// Importing the necessary classes for JUnit testing
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+
+public class DailyPuzzleSchedulerTest {
+    /**
+     * Test to verify that two schedulers with the same seed pick the same puzzle every day.
+     *
+     * @requires the equations file is present in the working directory
+     * @ensures the puzzles only depend on the seed, and day 0 is the first day of the schedule
+     */
+    @Test
+    public void schedule_SameSeedSamePuzzles_Test() throws IOException {
+        EquationDictionary dictionary = EquationDictionary.importText(
+                Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+        DailyPuzzleScheduler a = new DailyPuzzleScheduler(dictionary, 42, DailyPuzzleScheduler.DEFAULT_FIRST_DAY, 10);
+        DailyPuzzleScheduler b = new DailyPuzzleScheduler(dictionary, 42, DailyPuzzleScheduler.DEFAULT_FIRST_DAY, 10);
+        for (long day = 1000; day >= 0; day -= 7) {
+            assertEquals(a.targetIndexForDay(day), b.targetIndexForDay(day));
+        }
+        assertEquals(a.targetIndexForDay(0), a.targetIndex(DailyPuzzleScheduler.DEFAULT_FIRST_DAY));
+    }
+
+    /**
+     * Test to verify that no puzzle comes back within the no-repeat window, and every equation is played once per cycle.
+     *
+     * @requires the equations file is present in the working directory
+     * @ensures two days with the same puzzle are more than the window apart
+     */
+    @Test
+    public void schedule_NoRepeatWithinWindow_Test() throws IOException {
+        EquationDictionary dictionary = EquationDictionary.importText(
+                Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+        int window = dictionary.size() / 3;
+        DailyPuzzleScheduler scheduler = new DailyPuzzleScheduler(dictionary, 7, DailyPuzzleScheduler.DEFAULT_FIRST_DAY, window);
+        int days = dictionary.size() * 5;
+        int[] lastSeen = new int[dictionary.size()];
+        Arrays.fill(lastSeen, -1);
+        for (int day = 0; day < days; day++) {
+            int index = scheduler.targetIndexForDay(day);
+            if (lastSeen[index] >= 0) {
+                assertTrue("Repeated after " + (day - lastSeen[index]) + " days", day - lastSeen[index] > window);
+            }
+            if (day % dictionary.size() == dictionary.size() - 1) {
+                for (int seen : lastSeen) {
+                    assertTrue(seen >= day - 2 * dictionary.size()); // Every equation is played once per cycle
+                }
+            }
+            lastSeen[index] = day;
+        }
+    }
+
+    /**
+     * Test to verify that neighbouring seeds give unrelated schedules rather than the same cycles shifted.
+     *
+     * @requires the equations file is present in the working directory
+     * @ensures cycle 31 of one seed is not cycle 0 of the next seed, as it was with a linear seed mix
+     */
+    @Test
+    public void schedule_SeedsIndependent_Test() throws IOException {
+        EquationDictionary dictionary = EquationDictionary.importText(
+                Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+        DailyPuzzleScheduler a = new DailyPuzzleScheduler(dictionary, 5, DailyPuzzleScheduler.DEFAULT_FIRST_DAY, 0);
+        DailyPuzzleScheduler b = new DailyPuzzleScheduler(dictionary, 6, DailyPuzzleScheduler.DEFAULT_FIRST_DAY, 0);
+        int same = 0;
+        for (int day = 0; day < dictionary.size(); day++) {
+            if (a.targetIndexForDay(31L * dictionary.size() + day) == b.targetIndexForDay(day)) {
+                same++;
+            }
+        }
+        assertTrue("Only " + same + " days should match by chance", same < dictionary.size() / 2);
+    }
+
+    /**
+     * Test to verify that looking up days on both sides of a cycle boundary, in any order, gives the same puzzles.
+     *
+     * @requires the equations file is present in the working directory
+     * @ensures alternating lookups across a boundary agree with a scheduler that only moves forward
+     */
+    @Test
+    public void schedule_AlternateAcrossBoundary_Test() throws IOException {
+        EquationDictionary dictionary = EquationDictionary.importText(
+                Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+        int window = dictionary.size() / 3;
+        DailyPuzzleScheduler forward = new DailyPuzzleScheduler(dictionary, 3, DailyPuzzleScheduler.DEFAULT_FIRST_DAY, window);
+        DailyPuzzleScheduler alternating = new DailyPuzzleScheduler(dictionary, 3, DailyPuzzleScheduler.DEFAULT_FIRST_DAY, window);
+        long boundary = 4L * dictionary.size();
+        int[] expected = new int[4];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = forward.targetIndexForDay(boundary - 2 + i);
+        }
+        for (int round = 0; round < 3; round++) {
+            assertEquals(expected[1], alternating.targetIndexForDay(boundary - 1));   // Yesterday
+            assertEquals(expected[2], alternating.targetIndexForDay(boundary));       // Today
+            assertEquals(expected[0], alternating.targetIndexForDay(boundary - 2));
+            assertEquals(expected[3], alternating.targetIndexForDay(boundary + 1));
+        }
+    }
+
+    /**
+     * Test to verify that the exported schedule has a header and one line per day.
+     *
+     * @requires the equations file is present in the working directory
+     * @ensures each line holds the date, the day number, the dictionary index and the equation
+     */
+    @Test
+    public void export_OneLinePerDay_Test() throws IOException {
+        EquationDictionary dictionary = EquationDictionary.importText(
+                Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+        DailyPuzzleScheduler scheduler = new DailyPuzzleScheduler(dictionary, 1, DailyPuzzleScheduler.DEFAULT_FIRST_DAY, 0);
+        StringWriter out = new StringWriter();
+        LocalDate from = DailyPuzzleScheduler.DEFAULT_FIRST_DAY.plusDays(3);
+        scheduler.export(from, 2, out);
+        String[] lines = out.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(from + ",3," + scheduler.targetIndex(from) + "," + scheduler.target(from), lines[1]);
+    }
+}
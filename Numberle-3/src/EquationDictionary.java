@@ -0,0 +1,360 @@
+// EquationDictionary.java
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32C;
+
+/**
+ * A read-only dictionary of equations stored in a compact binary format.
+ * A dictionary file starts with a header of four big-endian ints (magic number, format version,
+ * entry width and entry count) followed by the entries, each stored as {@code width} ASCII bytes
+ * with no separators. Entries are kept in ascending order, so the same file can serve as the
+ * pool of target equations and as the pool of allowed guesses.
+ * Binary files are memory-mapped rather than copied onto the heap, and the dictionary is only
+ * read through absolute accesses, so one instance can be shared by every model and thread.
+ */
+public final class EquationDictionary {
+    public static final int MAGIC = 0x4E4D424C;   // "NMBL", identifies a dictionary file
+    public static final int VERSION = 1;          // Version of the file format
+    public static final int HEADER_SIZE = 16;     // Size of the header in bytes
+
+    private final ByteBuffer data;   // The whole dictionary, header included
+    private final int width;         // Number of characters in every equation
+    private final int count;         // Number of equations
+    private volatile long checksum = -1; // CRC-32C of the header and entries, or -1 until first computed
+
+    /**
+     * Constructs a dictionary over a buffer holding a header and the entries.
+     *
+     * @param data The buffer holding the dictionary.
+     * @throws IOException If the buffer does not hold a valid dictionary.
+     */
+    private EquationDictionary(ByteBuffer data) throws IOException {
+        this.data = data.order(ByteOrder.BIG_ENDIAN);
+        if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IOException("Not an equation dictionary");
+        }
+        this.width = data.getInt(8);
+        this.count = data.getInt(12);
+        if (width <= 0 || count < 0 || HEADER_SIZE + (long) width * count > data.capacity()) {
+            throw new IOException("Truncated equation dictionary");
+        }
+    }
+
+    /**
+     * Gets the dictionary shared by every model in this JVM.
+     * It is loaded on first use from the binary dictionary file if one exists,
+     * otherwise it is imported from the text equations file.
+     *
+     * @throws UncheckedIOException If neither file can be loaded.
+     * @ensures \result != null && \result == shared()
+     * @return The shared dictionary.
+     */
+    public static EquationDictionary shared() {
+        return Holder.SHARED;
+    }
+
+    /**
+     * Holds the shared dictionary, which the JVM loads once when the holder is first used.
+     */
+    private static final class Holder {
+        static final EquationDictionary SHARED = loadDefault();
+
+        /**
+         * Loads the default dictionary.
+         *
+         * @return The dictionary from the binary file, or from the text file if there is no binary file.
+         */
+        private static EquationDictionary loadDefault() {
+            try {
+                Path binary = Paths.get(INumberleModel.GUESS_EQUATIONS_DICTIONARY);
+                if (Files.exists(binary)) {
+                    return map(binary);
+                }
+                return importText(Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Memory-maps a binary dictionary file.
+     *
+     * @param file The dictionary file.
+     * @throws IOException If the file cannot be read or is not a dictionary.
+     * @return The dictionary backed by the mapped file.
+     */
+    public static EquationDictionary map(Path file) throws IOException {
+        long start = NumberleMetrics.ENABLED ? System.nanoTime() : 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            EquationDictionary dictionary = new EquationDictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            if (NumberleMetrics.ENABLED) {
+                NumberleMetrics.recordDictionaryLoad(System.nanoTime() - start);
+            }
+            return dictionary;
+        }
+    }
+
+    /**
+     * Imports a text file holding one equation per line.
+     * Blank lines are skipped, and duplicate equations are only kept once.
+     * A line that does not have the requested width or fails {@link EquationEvaluator#check(char[], int)}
+     * is reported on standard error with its line number and left out of the dictionary.
+     *
+     * @param file  The text file.
+     * @param width The number of characters in every equation.
+     * @throws IOException If the file cannot be read.
+     * @return The dictionary holding the equations of the file, in ascending order.
+     */
+    public static EquationDictionary importText(Path file, int width) throws IOException {
+        long start = NumberleMetrics.ENABLED ? System.nanoTime() : 0;
+        TreeSet<String> equations = new TreeSet<>();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip(); // Remove leading/trailing whitespace
+            if (line.isEmpty()) {
+                continue;
+            }
+            int code = line.length() == width ? EquationEvaluator.check(line.toCharArray(), width) : EquationEvaluator.INVALID_SHAPE;
+            if (code == EquationEvaluator.VALID) {
+                equations.add(line);
+            } else {
+                // Skip the line so one bad entry cannot become a target or an accepted guess
+                System.err.println("Skipping line " + (i + 1) + " of " + file + " (" + line + "): " + EquationEvaluator.describe(code));
+            }
+        }
+        EquationDictionary dictionary = fromSortedEquations(List.copyOf(equations), width);
+        if (NumberleMetrics.ENABLED) {
+            NumberleMetrics.recordDictionaryLoad(System.nanoTime() - start);
+        }
+        return dictionary;
+    }
+
+    /**
+     * Builds a dictionary from equations that are already in ascending order and have no duplicates.
+     *
+     * @param equations The equations.
+     * @param width     The number of characters in every equation.
+     * @requires every equation has exactly width ASCII characters
+     * @return The dictionary holding the equations.
+     */
+    private static EquationDictionary fromSortedEquations(List<String> equations, int width) {
+        ByteBuffer data = ByteBuffer.allocateDirect(HEADER_SIZE + width * equations.size());
+        data.put(header(width, equations.size()));
+        for (String equation : equations) {
+            data.put(equation.getBytes(StandardCharsets.US_ASCII));
+        }
+        try {
+            return new EquationDictionary(data.clear());
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // The buffer was built above, so it is always valid
+        }
+    }
+
+    /**
+     * Creates the header of a dictionary file.
+     *
+     * @param width The number of characters in every equation.
+     * @param count The number of equations in the file.
+     * @requires width > 0 && count >= 0
+     * @ensures \result.remaining() == HEADER_SIZE
+     * @return A buffer holding the header, ready to be written.
+     */
+    public static ByteBuffer header(int width, int count) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(count);
+        return header.flip();
+    }
+
+    /**
+     * Writes this dictionary to a binary file, for example after importing a text file.
+     *
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer view = data.duplicate().limit(HEADER_SIZE + width * count).position(0);
+            while (view.hasRemaining()) {
+                out.write(view);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Gets a checksum of the dictionary, so files derived from it can tell when it has changed.
+     *
+     * @ensures 0 <= \result && \result <= 0xFFFFFFFFL
+     * @return The CRC-32C of the header and every entry, the same for equal dictionaries.
+     */
+    public long checksum() {
+        long result = checksum;
+        if (result < 0) {
+            CRC32C crc = new CRC32C();
+            crc.update(data.duplicate().limit(HEADER_SIZE + width * count).position(0));
+            result = crc.getValue();
+            checksum = result;   // Racing threads compute the same value
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of equations in the dictionary.
+     *
+     * @return The number of equations.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gets the number of characters in every equation.
+     *
+     * @return The width of the equations.
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Gets one character of an equation.
+     *
+     * @param index    The index of the equation.
+     * @param position The position of the character in the equation.
+     * @requires 0 <= index && index < size() && 0 <= position && position < width()
+     * @return The character.
+     */
+    public char charAt(int index, int position) {
+        return (char) data.get(HEADER_SIZE + index * width + position);
+    }
+
+    /**
+     * Copies an equation into a character array without allocating.
+     *
+     * @param index The index of the equation.
+     * @param dest  The array receiving the equation.
+     * @requires 0 <= index && index < size() && dest.length >= width()
+     */
+    public void copyTo(int index, char[] dest) {
+        int offset = HEADER_SIZE + index * width;
+        for (int i = 0; i < width; i++) {
+            dest[i] = (char) data.get(offset + i);
+        }
+    }
+
+    /**
+     * Gets an equation as a string.
+     *
+     * @param index The index of the equation.
+     * @requires 0 <= index && index < size()
+     * @return The equation.
+     */
+    public String get(int index) {
+        char[] equation = new char[width];
+        copyTo(index, equation);
+        return new String(equation);
+    }
+
+    /**
+     * Finds an equation by binary search.
+     *
+     * @param equation The equation to find.
+     * @requires equation != null
+     * @ensures \result == -1 || get(\result).contentEquals(equation)
+     * @return The index of the equation, or -1 if it is not in the dictionary.
+     */
+    public int indexOf(CharSequence equation) {
+        if (equation.length() != width) {
+            return -1;
+        }
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(mid, equation);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether the dictionary holds an equation.
+     *
+     * @param equation The equation to look for.
+     * @requires equation != null
+     * @return True if the equation is in the dictionary, otherwise false.
+     */
+    public boolean contains(CharSequence equation) {
+        return indexOf(equation) >= 0;
+    }
+
+    /**
+     * Picks the index of a random equation.
+     *
+     * @throws IllegalStateException If the dictionary is empty.
+     * @ensures 0 <= \result && \result < size()
+     * @return A random index.
+     */
+    public int randomIndex() {
+        if (count == 0) {
+            throw new IllegalStateException("The equation dictionary is empty");
+        }
+        return ThreadLocalRandom.current().nextInt(count);
+    }
+
+    /**
+     * Compares an entry with an equation of the same width.
+     *
+     * @param index    The index of the entry.
+     * @param equation The equation.
+     * @return A negative number, zero or a positive number if the entry is less than, equal to or greater than the equation.
+     */
+    private int compare(int index, CharSequence equation) {
+        int offset = HEADER_SIZE + index * width;
+        for (int i = 0; i < width; i++) {
+            int diff = data.get(offset + i) - equation.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Imports a text equations file and writes it as a binary dictionary file.
+     *
+     * @param args Optional arguments: text file, binary file and equation width.
+     * @throws IOException If the text file cannot be read or the binary file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path text = Paths.get(args.length > 0 ? args[0] : INumberleModel.GUESS_EQUATIONS_FILE);
+        Path binary = Paths.get(args.length > 1 ? args[1] : INumberleModel.GUESS_EQUATIONS_DICTIONARY);
+        int width = args.length > 2 ? Integer.parseInt(args[2]) : INumberleModel.EQUATION_LENGTH;
+
+        EquationDictionary dictionary = importText(text, width);
+        dictionary.write(binary);
+        System.out.println("Wrote " + dictionary.size() + " equations to " + binary);
+    }
+}
@@ -0,0 +1,83 @@
+// Importing the necessary classes for JUnit testing
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+
+public class EquationDictionaryTest {
+    /**
+     * Test to verify that importing the text equations file keeps every equation once, in ascending order.
+     *
+     * @requires the equations file is present in the working directory
+     * @ensures the imported dictionary is sorted and can find each of its entries
+     */
+    @Test
+    public void importText_Test() throws IOException {
+        EquationDictionary dictionary = EquationDictionary.importText(
+                Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+
+        assertTrue("The dictionary should not be empty", dictionary.size() > 0);
+        for (int i = 0; i < dictionary.size(); i++) {
+            String equation = dictionary.get(i);
+            if (i > 0) {
+                assertTrue("Entries should be in ascending order", dictionary.get(i - 1).compareTo(equation) < 0);
+            }
+            assertEquals("Each entry should be found by binary search", i, dictionary.indexOf(equation));
+        }
+        assertFalse("An equation not in the file should not be found", dictionary.contains("0+0=0+0"));
+    }
+
+    /**
+     * Test to verify that a dictionary written to a binary file is mapped back unchanged.
+     *
+     * @ensures the mapped dictionary has the same entries as the written one
+     */
+    @Test
+    public void writeAndMap_Test() throws IOException {
+        EquationDictionary dictionary = EquationDictionary.importText(
+                Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+        Path file = Files.createTempFile("equations", ".bin");
+        try {
+            dictionary.write(file);
+            EquationDictionary mapped = EquationDictionary.map(file);
+
+            assertEquals(dictionary.size(), mapped.size());
+            assertEquals(dictionary.width(), mapped.width());
+            for (int i = 0; i < dictionary.size(); i++) {
+                assertEquals(dictionary.get(i), mapped.get(i));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Test to verify that importing skips every line that is not a valid equation of the requested width.
+     *
+     * @requires the text file mixes valid equations with malformed, unequal and wrongly sized lines
+     * @ensures only the valid equations are in the imported dictionary
+     */
+    @Test
+    public void importText_SkipsInvalidLines_Test() throws IOException {
+        Path file = Files.createTempFile("equations", ".txt");
+        try {
+            Files.write(file, List.of("1+2+3=6", "1+2+3=7", "1/0+1=1", "01+2=03", "++++=++", "", "1+1=2", "2*3=6+0"));
+            EquationDictionary dictionary = EquationDictionary.importText(file, INumberleModel.EQUATION_LENGTH);
+
+            assertEquals("Only the valid equations should be imported", 2, dictionary.size());
+            assertTrue(dictionary.contains("1+2+3=6"));
+            assertTrue(dictionary.contains("2*3=6+0"));
+            assertFalse("An unequal equation should be skipped", dictionary.contains("1+2+3=7"));
+            assertFalse("A division by zero should be skipped", dictionary.contains("1/0+1=1"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
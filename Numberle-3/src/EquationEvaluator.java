@@ -0,0 +1,145 @@
+// EquationEvaluator.java
+
+/**
+ * Validates Numberle equations held in a character array in a single pass.
+ * The evaluator does not create substrings, use regular expressions or write to the console,
+ * and it reports the reason an equation is rejected as a primitive result code
+ * instead of throwing an exception.
+ */
+public final class EquationEvaluator {
+    public static final int VALID = 0;                  // The equation is well formed and both sides are equal
+    public static final int INVALID_SHAPE = 1;          // Wrong length, unknown symbol, misplaced operator or not exactly one '='
+    public static final int DIVISION_BY_ZERO = 2;       // A division has a zero divisor
+    public static final int NON_INTEGER_DIVISION = 3;   // A division leaves a remainder
+    public static final int LEADING_ZERO = 4;           // A number with more than one digit starts with '0'
+    public static final int NOT_EQUAL = 5;              // The equation is well formed but the two sides differ
+    public static final int HARD_MODE_VIOLATION = 6;    // A valid equation that contradicts earlier feedback in hard mode (set by the model)
+    public static final int GAME_OVER = 7;              // The game has already been won or lost (set by the model)
+
+    /**
+     * This class only provides static helpers and is not meant to be instantiated.
+     */
+    private EquationEvaluator() {
+    }
+
+    /**
+     * Checks the first {@code length} characters of an equation.
+     * Each side of the '=' is evaluated with the usual precedence of '*' and '/' over '+' and '-'.
+     *
+     * @param equation The characters of the equation.
+     * @param length   The number of characters to check.
+     * @requires equation != null && 0 <= length && length <= equation.length
+     * @ensures \result is one of VALID, INVALID_SHAPE, DIVISION_BY_ZERO, NON_INTEGER_DIVISION, LEADING_ZERO, NOT_EQUAL
+     * @return The result code of the check.
+     */
+    public static int check(char[] equation, int length) {
+        long leftValue = 0;         // Value of the left side once the '=' has been reached
+        boolean seenEquals = false; // Whether the '=' has been reached
+        long sum = 0;               // Sum of the finished terms of the current side
+        long term = 0;              // Value of the current multiplicative term
+        long num = 0;               // The number being parsed
+        int digits = 0;             // Number of digits in the number being parsed
+        boolean firstZero = false;  // Whether the number being parsed starts with '0'
+        char addOperator = '+';     // The '+' or '-' in front of the current term
+        char mulOperator = 0;       // The '*' or '/' in front of the current number, or 0 at the start of a term
+
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? equation[i] : '='; // The end of the equation closes the right side like an extra '='
+
+            if (c >= '0' && c <= '9') {
+                if (digits == 0) {
+                    firstZero = c == '0';
+                } else if (firstZero) {
+                    return LEADING_ZERO;
+                }
+                num = num * 10 + (c - '0'); // Accumulate the digit to form a number
+                digits++;
+                continue;
+            }
+
+            if (c != '+' && c != '-' && c != '*' && c != '/' && c != '=') {
+                return INVALID_SHAPE; // Unknown symbol
+            }
+            if (digits == 0) {
+                return INVALID_SHAPE; // An operator must follow a number
+            }
+
+            // Fold the finished number into the current term
+            if (mulOperator == 0) {
+                term = num;
+            } else if (mulOperator == '*') {
+                term *= num;
+            } else {
+                if (num == 0) {
+                    return DIVISION_BY_ZERO;
+                }
+                if (term % num != 0) {
+                    return NON_INTEGER_DIVISION;
+                }
+                term /= num;
+            }
+            num = 0;
+            digits = 0;
+
+            if (c == '*' || c == '/') {
+                mulOperator = c;
+                continue;
+            }
+
+            // '+', '-' or '=' finishes the current term
+            sum = addOperator == '+' ? sum + term : sum - term;
+            mulOperator = 0;
+            addOperator = c;
+
+            if (c == '=') {
+                if (i == length) {
+                    if (!seenEquals) {
+                        return INVALID_SHAPE; // The equation has no '='
+                    }
+                    return leftValue == sum ? VALID : NOT_EQUAL;
+                }
+                if (seenEquals) {
+                    return INVALID_SHAPE; // More than one '='
+                }
+                seenEquals = true;
+                leftValue = sum;
+                sum = 0;
+                addOperator = '+';
+            }
+        }
+        return INVALID_SHAPE; // Not reached: the loop always returns at i == length
+    }
+
+    /**
+     * Checks whether the first {@code length} characters form a valid equation.
+     *
+     * @param equation The characters of the equation.
+     * @param length   The number of characters to check.
+     * @requires equation != null && 0 <= length && length <= equation.length
+     * @return True if the equation is valid, otherwise false.
+     */
+    public static boolean isValid(char[] equation, int length) {
+        return check(equation, length) == VALID;
+    }
+
+    /**
+     * Describes a result code in words, for messages shown to the player.
+     *
+     * @param code A result code returned by {@link #check(char[], int)}.
+     * @ensures \result != null
+     * @return A short description of the result code.
+     */
+    public static String describe(int code) {
+        return switch (code) {
+            case VALID -> "valid equation";
+            case INVALID_SHAPE -> "not a well-formed equation";
+            case DIVISION_BY_ZERO -> "division by zero";
+            case NON_INTEGER_DIVISION -> "division with a remainder";
+            case LEADING_ZERO -> "number with a leading zero";
+            case NOT_EQUAL -> "the two sides are not equal";
+            case HARD_MODE_VIOLATION -> "contradicts an earlier hint in hard mode";
+            case GAME_OVER -> "the game is already over";
+            default -> "unknown result " + code;
+        };
+    }
+}
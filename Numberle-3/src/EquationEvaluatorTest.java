@@ -0,0 +1,72 @@
+// Importing the necessary classes for JUnit testing
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Scanner;
+
+import static org.junit.Assert.*;
+
+
+public class EquationEvaluatorTest {
+    /**
+     * Checks an equation given as a string.
+     *
+     * @param equation The equation to check.
+     * @return The result code of the evaluator.
+     */
+    private static int check(String equation) {
+        return EquationEvaluator.check(equation.toCharArray(), equation.length());
+    }
+
+    /**
+     * Test to verify that well-formed equations with equal sides are accepted.
+     *
+     * @ensures EquationEvaluator.check returns VALID
+     */
+    @Test
+    public void check_ValidEquations_Test() {
+        assertEquals(EquationEvaluator.VALID, check("1+2=3-0"));
+        assertEquals(EquationEvaluator.VALID, check("1+21=22"));
+        assertEquals(EquationEvaluator.VALID, check("8-4/2=6"));   // Division binds tighter than subtraction
+        assertEquals(EquationEvaluator.VALID, check("15=30/2"));   // The answer may be on the left
+        assertEquals(EquationEvaluator.VALID, check("6/2*2=6"));   // '*' and '/' are applied left to right
+    }
+
+    /**
+     * Test to verify that each kind of invalid equation is reported with its own code.
+     *
+     * @ensures EquationEvaluator.check returns the matching error code
+     */
+    @Test
+    public void check_InvalidEquations_Test() {
+        assertEquals(EquationEvaluator.NOT_EQUAL, check("1+2=3-1"));
+        assertEquals(EquationEvaluator.INVALID_SHAPE, check("1+1=2=2"));    // Two '=' signs
+        assertEquals(EquationEvaluator.INVALID_SHAPE, check("1234567"));    // No '=' sign
+        assertEquals(EquationEvaluator.INVALID_SHAPE, check("-1+2=1"));     // Leading operator
+        assertEquals(EquationEvaluator.INVALID_SHAPE, check("1+*2=3"));     // Consecutive operators
+        assertEquals(EquationEvaluator.INVALID_SHAPE, check("1+2=3+"));     // Trailing operator
+        assertEquals(EquationEvaluator.INVALID_SHAPE, check("1+a=3+0"));    // Unknown symbol
+        assertEquals(EquationEvaluator.DIVISION_BY_ZERO, check("5/0=0+0"));
+        assertEquals(EquationEvaluator.NON_INTEGER_DIVISION, check("7/2=3+0"));
+        assertEquals(EquationEvaluator.LEADING_ZERO, check("01+2=03"));
+    }
+
+    /**
+     * Test to verify that every equation shipped in the equations file is valid.
+     *
+     * @requires the equations file is present in the working directory
+     * @ensures every non-empty line of the file is a valid equation
+     */
+    @Test
+    public void check_EquationsFile_Test() throws FileNotFoundException {
+        Scanner sc = new Scanner(new File(INumberleModel.GUESS_EQUATIONS_FILE));
+        while (sc.hasNextLine()) {
+            String line = sc.nextLine().strip();
+            if (!line.isEmpty()) {
+                assertEquals("Equation " + line + " should be valid", EquationEvaluator.VALID, check(line));
+            }
+        }
+    }
+}
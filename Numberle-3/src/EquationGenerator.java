@@ -0,0 +1,285 @@
+// EquationGenerator.java
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enumerates every valid equation of a given length over the digits and {@code +-*}{@code /=}
+ * and writes them to a binary dictionary file (see {@link EquationDictionary}).
+ * The search space is split by prefix and searched in parallel with fork/join.
+ * Each finished prefix is saved as a part file in a work directory, so an interrupted run
+ * can be restarted and only the missing prefixes are searched again.
+ */
+public class EquationGenerator {
+    private static final int SPLIT_DEPTH = 2; // Length of the prefixes that are searched as separate part files
+
+    private final int length;              // Length of the equations to enumerate
+    private final Path workDir;            // Directory holding the part file of every finished prefix
+    private final PrintStream progress;    // Stream for progress reports, or null for none
+
+    private final AtomicInteger prefixesDone = new AtomicInteger(); // Number of prefixes finished so far
+    private final AtomicLong equationsFound = new AtomicLong();     // Number of equations found so far
+    private int prefixesTotal;                                      // Number of prefixes to search
+    private long startTime;                                         // Start of the current run, in nanoseconds
+
+    /**
+     * Constructs a generator for equations of the given length.
+     *
+     * @param length   The number of characters in every equation.
+     * @param workDir  The directory for part files of finished prefixes.
+     * @param progress The stream for progress reports, or null to report nothing.
+     * @requires length > SPLIT_DEPTH && workDir != null
+     */
+    public EquationGenerator(int length, Path workDir, PrintStream progress) {
+        this.length = length;
+        this.workDir = workDir;
+        this.progress = progress;
+    }
+
+    /**
+     * Enumerates all valid equations and writes them, in ascending order, to a dictionary file.
+     * Prefixes that already have a part file in the work directory are not searched again.
+     *
+     * @param output The dictionary file to write.
+     * @throws IOException If a part file or the dictionary cannot be written.
+     * @ensures output holds every valid equation of the given length
+     * @return The number of equations written.
+     */
+    public long generate(Path output) throws IOException {
+        Files.createDirectories(workDir);
+        List<char[]> prefixes = new ArrayList<>();
+        collectPrefixes(new char[length], 0, prefixes);
+        prefixesTotal = prefixes.size();
+        prefixesDone.set(0);
+        equationsFound.set(0);
+        startTime = System.nanoTime();
+
+        List<PrefixTask> tasks = new ArrayList<>();
+        for (char[] prefix : prefixes) {
+            tasks.add(new PrefixTask(prefix));
+        }
+        try {
+            ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        long count = merge(prefixes, output);
+        if (progress != null) {
+            progress.printf("Wrote %d equations of length %d to %s in %.1f s%n",
+                    count, length, output, (System.nanoTime() - startTime) / 1e9);
+        }
+        return count;
+    }
+
+    /**
+     * Collects every prefix of length SPLIT_DEPTH that can start a valid equation, in ascending order.
+     *
+     * @param buffer   The buffer holding the prefix being built.
+     * @param position The next position to fill.
+     * @param prefixes The list receiving copies of the finished prefixes.
+     */
+    private void collectPrefixes(char[] buffer, int position, List<char[]> prefixes) {
+        if (position == SPLIT_DEPTH) {
+            prefixes.add(Arrays.copyOf(buffer, SPLIT_DEPTH));
+            return;
+        }
+        for (char c : Symbols.ALPHABET) {
+            if (canPlace(buffer, position, c)) {
+                buffer[position] = c;
+                collectPrefixes(buffer, position + 1, prefixes);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a symbol may follow the symbols already placed without making every completion invalid.
+     *
+     * @param buffer   The symbols placed so far.
+     * @param position The position of the new symbol.
+     * @param c        The new symbol.
+     * @return False if no valid equation can start with the resulting prefix, otherwise true.
+     */
+    private boolean canPlace(char[] buffer, int position, char c) {
+        if (Symbols.isOperator(c)) {
+            if (position == 0 || position == length - 1 || Symbols.isOperator(buffer[position - 1])) {
+                return false; // An operator must sit between two numbers
+            }
+            if (c == '=') {
+                for (int i = 0; i < position; i++) {
+                    if (buffer[i] == '=') {
+                        return false; // Only one '=' is allowed
+                    }
+                }
+            }
+            return true;
+        }
+        // A digit may not follow a number that starts with '0'
+        return position == 0 || buffer[position - 1] != '0'
+                || (position >= 2 && !Symbols.isOperator(buffer[position - 2]));
+    }
+
+    /**
+     * Searches every equation starting with one prefix and saves the valid ones as a part file.
+     */
+    private class PrefixTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final char[] prefix;     // The prefix searched by this task
+        private final char[] buffer;     // The equation being built
+        private byte[] found;            // The valid equations found so far, as ASCII bytes
+        private int foundCount;          // The number of valid equations found so far
+
+        /**
+         * Constructs a task for one prefix.
+         *
+         * @param prefix The prefix to search.
+         */
+        PrefixTask(char[] prefix) {
+            this.prefix = prefix;
+            this.buffer = Arrays.copyOf(prefix, length);
+            this.found = new byte[length * 256];
+        }
+
+        @Override
+        protected void compute() {
+            Path part = partFile(prefix);
+            try {
+                if (Files.exists(part)) {
+                    foundCount = (int) (Files.size(part) / length); // Finished by an earlier run
+                } else {
+                    search(SPLIT_DEPTH);
+                    Path temp = part.resolveSibling(part.getFileName() + ".tmp");
+                    Files.write(temp, Arrays.copyOf(found, foundCount * length));
+                    Files.move(temp, part, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            reportProgress(foundCount);
+        }
+
+        /**
+         * Fills the remaining positions with every allowed symbol and records the valid equations.
+         *
+         * @param position The next position to fill.
+         */
+        private void search(int position) {
+            if (position == length) {
+                if (EquationEvaluator.isValid(buffer, length)) {
+                    if ((foundCount + 1) * length > found.length) {
+                        found = Arrays.copyOf(found, found.length * 2);
+                    }
+                    for (int i = 0; i < length; i++) {
+                        found[foundCount * length + i] = (byte) buffer[i];
+                    }
+                    foundCount++;
+                }
+                return;
+            }
+            for (char c : Symbols.ALPHABET) {
+                if (canPlace(buffer, position, c)) {
+                    buffer[position] = c;
+                    search(position + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Prints a progress line once a prefix is finished.
+     *
+     * @param found The number of equations found for the finished prefix.
+     */
+    private void reportProgress(int found) {
+        int done = prefixesDone.incrementAndGet();
+        long total = equationsFound.addAndGet(found);
+        if (progress != null) {
+            progress.printf("Prefixes %d/%d, %d equations, %.1f s%n",
+                    done, prefixesTotal, total, (System.nanoTime() - startTime) / 1e9);
+        }
+    }
+
+    /**
+     * Gets the part file of a prefix.
+     *
+     * @param prefix The prefix.
+     * @return The path of the part file in the work directory.
+     */
+    private Path partFile(char[] prefix) {
+        StringBuilder name = new StringBuilder("prefix-").append(length);
+        for (char c : prefix) {
+            name.append('-').append(Symbols.indexOf(c));
+        }
+        return workDir.resolve(name.append(".part").toString());
+    }
+
+    /**
+     * Concatenates the part files, in prefix order, into a dictionary file.
+     *
+     * @param prefixes The prefixes, in ascending order.
+     * @param output   The dictionary file to write.
+     * @throws IOException If a part file cannot be read or the dictionary cannot be written.
+     * @return The number of equations written.
+     */
+    private long merge(List<char[]> prefixes, Path output) throws IOException {
+        long bytes = 0;
+        for (char[] prefix : prefixes) {
+            bytes += Files.size(partFile(prefix));
+        }
+        int count = (int) (bytes / length);
+
+        Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = EquationDictionary.header(length, count);
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            for (char[] prefix : prefixes) {
+                try (FileChannel in = FileChannel.open(partFile(prefix), StandardOpenOption.READ)) {
+                    long size = in.size();
+                    for (long copied = 0; copied < size; ) {
+                        copied += in.transferTo(copied, size - copied, out);
+                    }
+                }
+            }
+        }
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * Generates the equation dictionary from the command line.
+     *
+     * @param args Optional arguments: equation length, output file and work directory.
+     * @throws IOException If the dictionary cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        int length = args.length > 0 ? Integer.parseInt(args[0]) : INumberleModel.EQUATION_LENGTH;
+        Path output = Paths.get(args.length > 1 ? args[1] : INumberleModel.GUESS_EQUATIONS_DICTIONARY);
+        Path workDir = Paths.get(args.length > 2 ? args[2] : "equations.parts");
+
+        new EquationGenerator(length, workDir, System.out).generate(output);
+    }
+}
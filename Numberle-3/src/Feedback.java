@@ -0,0 +1,146 @@
+// Feedback.java
+
+/**
+ * Computes and decodes the feedback for a guess, packed into a single int.
+ * Each position of the guess takes two bits, position 0 in the lowest bits, holding one of
+ * {@link #NONE}, {@link #ABSENT}, {@link #PRESENT} or {@link #CORRECT}. Two feedbacks can
+ * therefore be compared, hashed or used as an array index directly, and a win is a single
+ * comparison with {@link #allCorrect(int)}.
+ */
+public final class Feedback {
+    public static final int NONE = 0;      // No feedback for this position yet
+    public static final int ABSENT = 1;    // The symbol does not appear in the target
+    public static final int PRESENT = 2;   // The symbol appears in the target, but not at this position
+    public static final int CORRECT = 3;   // The symbol is at the right position
+
+    public static final int BITS_PER_POSITION = 2;   // Number of bits used by each position
+    private static final int MASK = 3;               // Mask selecting the bits of one position
+
+    /**
+     * This class only provides static helpers and is not meant to be instantiated.
+     */
+    private Feedback() {
+    }
+
+    /**
+     * Computes the feedback of a guess against a target, allocating a fresh count array.
+     * Callers on a hot path should keep their own array and use {@link #compute(char[], char[], int, int[])}.
+     *
+     * @param target The characters of the target equation.
+     * @param guess  The characters of the guess.
+     * @param length The number of characters to compare.
+     * @requires target.length >= length && guess.length >= length && length <= 16
+     * @ensures every position below length holds ABSENT, PRESENT or CORRECT
+     * @return The packed feedback.
+     */
+    public static int compute(char[] target, char[] guess, int length) {
+        return compute(target, guess, length, new int[Symbols.COUNT]);
+    }
+
+    /**
+     * Computes the feedback of a guess against a target, handling repeated symbols as Wordle does.
+     * The first pass marks the symbols at their right position CORRECT and counts the other symbols
+     * of the target. The second pass marks a symbol PRESENT only while the target has an unmatched
+     * occurrence of it left, so a symbol guessed more often than it appears is ABSENT the extra
+     * times, and a CORRECT occurrence is never also counted as PRESENT elsewhere.
+     *
+     * @param target The characters of the target equation.
+     * @param guess  The characters of the guess.
+     * @param length The number of characters to compare.
+     * @param counts Scratch space for the symbol counts, overwritten by the call.
+     * @requires target.length >= length && guess.length >= length && length <= 16
+     *           && counts.length >= Symbols.COUNT && every character of target is in Symbols.ALPHABET
+     * @ensures every position below length holds ABSENT, PRESENT or CORRECT
+     * @return The packed feedback.
+     */
+    public static int compute(char[] target, char[] guess, int length, int[] counts) {
+        for (int s = 0; s < Symbols.COUNT; s++) {
+            counts[s] = 0;
+        }
+        int feedback = 0;
+        for (int i = 0; i < length; i++) {
+            if (target[i] == guess[i]) {
+                feedback |= CORRECT << (i * BITS_PER_POSITION);
+            } else {
+                counts[Symbols.indexOf(target[i])]++;   // An occurrence still free to match a misplaced symbol
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            if (target[i] != guess[i]) {
+                int symbol = Symbols.indexOf(guess[i]);
+                int code = ABSENT;
+                if (symbol >= 0 && counts[symbol] > 0) {
+                    counts[symbol]--;   // Uses up one occurrence, so later copies of the symbol may be ABSENT
+                    code = PRESENT;
+                }
+                feedback |= code << (i * BITS_PER_POSITION);
+            }
+        }
+        return feedback;
+    }
+
+    /**
+     * Gets the code of one position.
+     *
+     * @param feedback The packed feedback.
+     * @param position The position.
+     * @ensures \result is one of NONE, ABSENT, PRESENT or CORRECT
+     * @return The code of the position.
+     */
+    public static int get(int feedback, int position) {
+        return (feedback >>> (position * BITS_PER_POSITION)) & MASK;
+    }
+
+    /**
+     * Gets the feedback of a guess in which every position is correct.
+     *
+     * @param length The number of positions.
+     * @requires 0 <= length && length <= 16
+     * @return The packed feedback of a winning guess.
+     */
+    public static int allCorrect(int length) {
+        return length == 16 ? -1 : (1 << (length * BITS_PER_POSITION)) - 1; // CORRECT has both bits set
+    }
+
+    /**
+     * Gets the number of distinct packed feedback values for a length, for sizing arrays indexed by feedback.
+     *
+     * @param length The number of positions.
+     * @requires 0 <= length && length <= 15
+     * @return The number of packed feedback values.
+     */
+    public static int valueCount(int length) {
+        return 1 << (length * BITS_PER_POSITION);
+    }
+
+    /**
+     * Gets the symbol shown to the player for a code.
+     *
+     * @param code One of NONE, ABSENT, PRESENT or CORRECT.
+     * @return '√' for CORRECT, '?' for PRESENT, '×' for ABSENT and ' ' for NONE.
+     */
+    public static char symbol(int code) {
+        return switch (code) {
+            case CORRECT -> '√';
+            case PRESENT -> '?';
+            case ABSENT -> '×';
+            default -> ' ';
+        };
+    }
+
+    /**
+     * Decodes a packed feedback into its symbols.
+     *
+     * @param feedback The packed feedback.
+     * @param length   The number of positions.
+     * @ensures \result.length() == length
+     * @return The symbols of the feedback, one per position.
+     */
+    public static String toString(int feedback, int length) {
+        char[] symbols = new char[length];
+        for (int i = 0; i < length; i++) {
+            symbols[i] = symbol(get(feedback, i));
+        }
+        return new String(symbols);
+    }
+}
@@ -0,0 +1,265 @@
+// FeedbackMatrix.java
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * The packed feedback of every guess in an equation dictionary against every target in it.
+ * Entry (target, guess) holds {@code Feedback.compute(target, guess)}, the same comparison
+ * {@link NumberleModel#submitGuess(String)} makes, so lookups always agree with live games.
+ * The matrix lives outside the Java heap, either in direct buffers or in a memory-mapped file,
+ * and is split into row segments so it is not limited by the 2 GB size of a single buffer.
+ * A matrix file starts with a header of six big-endian ints (magic number, format version,
+ * equation width, equation count, bytes per entry and the {@link EquationDictionary#checksum()}
+ * of the dictionary) followed by the rows, one per target. A file is only opened for the
+ * dictionary it was built from, so a regenerated dictionary never meets a stale matrix.
+ */
+public final class FeedbackMatrix {
+    public static final int MAGIC = 0x4E4D464D;   // "NMFM", identifies a feedback matrix file
+    public static final int VERSION = 3;          // Version of the file format; 3 adds the dictionary checksum
+    public static final int HEADER_SIZE = 24;     // Size of the header in bytes
+    public static final String PROPERTY = "numberle.feedbackMatrix"; // System property naming the matrix file of the solvers
+    public static final String DEFAULT_FILE = "feedback.matrix";      // Matrix file used unless the property names another
+    private static final long SEGMENT_LIMIT = 1L << 30; // Largest size of one row segment, in bytes
+
+    private final int count;             // Number of equations, and so of rows and columns
+    private final int entryBytes;        // Bytes per entry: 2 while the packed feedback fits a short, otherwise 4
+    private final int rowsPerSegment;    // Number of rows in every segment
+    private final ByteBuffer[] segments; // The rows, split into segments
+
+    /**
+     * Constructs a matrix over its row segments.
+     *
+     * @param count          The number of equations.
+     * @param entryBytes     The bytes per entry.
+     * @param rowsPerSegment The number of rows in every segment.
+     * @param segments       The row segments.
+     */
+    private FeedbackMatrix(int count, int entryBytes, int rowsPerSegment, ByteBuffer[] segments) {
+        this.count = count;
+        this.entryBytes = entryBytes;
+        this.rowsPerSegment = rowsPerSegment;
+        this.segments = segments;
+    }
+
+    /**
+     * Computes the matrix for a dictionary into direct buffers outside the Java heap.
+     *
+     * @param dictionary The equation dictionary.
+     * @ensures get(t, g) == Feedback.compute(dictionary[t], dictionary[g]) for every t and g
+     * @return The matrix.
+     */
+    public static FeedbackMatrix build(EquationDictionary dictionary) {
+        Layout layout = new Layout(dictionary);
+        ByteBuffer[] segments = new ByteBuffer[layout.segmentCount];
+        for (int s = 0; s < segments.length; s++) {
+            segments[s] = ByteBuffer.allocateDirect((int) layout.segmentSize(s));
+        }
+        FeedbackMatrix matrix = new FeedbackMatrix(layout.count, layout.entryBytes, layout.rowsPerSegment, segments);
+        matrix.fill(dictionary);
+        return matrix;
+    }
+
+    /**
+     * Computes the matrix for a dictionary into a memory-mapped file.
+     *
+     * @param dictionary The equation dictionary.
+     * @param file       The matrix file to write.
+     * @throws IOException If the file cannot be written.
+     * @ensures get(t, g) == Feedback.compute(dictionary[t], dictionary[g]) for every t and g
+     * @return The matrix, backed by the file.
+     */
+    public static FeedbackMatrix build(EquationDictionary dictionary, Path file) throws IOException {
+        Layout layout = new Layout(dictionary);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(dictionary.width()).putInt(layout.count).putInt(layout.entryBytes)
+                    .putInt((int) dictionary.checksum());
+            channel.write(header.flip(), 0);
+
+            ByteBuffer[] segments = layout.map(channel, FileChannel.MapMode.READ_WRITE);
+            FeedbackMatrix matrix = new FeedbackMatrix(layout.count, layout.entryBytes, layout.rowsPerSegment, segments);
+            matrix.fill(dictionary);
+            for (ByteBuffer segment : segments) {
+                ((MappedByteBuffer) segment).force();   // Make sure the rows reach the file
+            }
+            return matrix;
+        }
+    }
+
+    /**
+     * Memory-maps a matrix file built for a dictionary.
+     *
+     * @param dictionary The equation dictionary the matrix was built for.
+     * @param file       The matrix file.
+     * @throws IOException If the file cannot be read or was built from another dictionary.
+     * @return The matrix, backed by the file.
+     */
+    public static FeedbackMatrix open(EquationDictionary dictionary, Path file) throws IOException {
+        Layout layout = new Layout(dictionary);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION
+                    || header.getInt() != dictionary.width() || header.getInt() != layout.count
+                    || header.getInt() != layout.entryBytes) {
+                throw new IOException("The feedback matrix does not match the dictionary");
+            }
+            if (header.getInt() != (int) dictionary.checksum()) {
+                throw new IOException("The feedback matrix was built from another version of the dictionary");
+            }
+            ByteBuffer[] segments = layout.map(channel, FileChannel.MapMode.READ_ONLY);
+            return new FeedbackMatrix(layout.count, layout.entryBytes, layout.rowsPerSegment, segments);
+        }
+    }
+
+    /**
+     * Opens the matrix file the solvers use, named by the {@value #PROPERTY} system property or
+     * {@value #DEFAULT_FILE} by default, if it exists and was built from a dictionary.
+     *
+     * @param dictionary The equation dictionary.
+     * @return The matrix, or null if there is no file or it was built from another dictionary.
+     */
+    public static FeedbackMatrix openIfPresent(EquationDictionary dictionary) {
+        Path file = Paths.get(System.getProperty(PROPERTY, DEFAULT_FILE));
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return open(dictionary, file);
+        } catch (IOException e) {
+            return null;   // Made for another dictionary, such as another variant's: feedback is computed instead
+        }
+    }
+
+    /**
+     * The size of the rows and segments of the matrix of a dictionary.
+     */
+    private static final class Layout {
+        final int count;           // Number of equations
+        final int entryBytes;      // Bytes per entry
+        final long rowBytes;       // Bytes per row
+        final int rowsPerSegment;  // Rows per segment
+        final int segmentCount;    // Number of segments
+
+        /**
+         * Computes the layout of the matrix of a dictionary.
+         *
+         * @param dictionary The equation dictionary.
+         */
+        Layout(EquationDictionary dictionary) {
+            count = dictionary.size();
+            entryBytes = dictionary.width() * Feedback.BITS_PER_POSITION <= 16 ? 2 : 4;
+            rowBytes = (long) count * entryBytes;
+            rowsPerSegment = (int) Math.max(1, SEGMENT_LIMIT / Math.max(1, rowBytes));
+            segmentCount = Math.max(1, (count + rowsPerSegment - 1) / rowsPerSegment);
+        }
+
+        /**
+         * Gets the size of one segment.
+         *
+         * @param segment The index of the segment.
+         * @return The size of the segment in bytes.
+         */
+        long segmentSize(int segment) {
+            int rows = Math.min(rowsPerSegment, count - segment * rowsPerSegment);
+            return Math.max(0, rows) * rowBytes;
+        }
+
+        /**
+         * Maps every segment of a matrix file.
+         *
+         * @param channel The channel of the matrix file.
+         * @param mode    The mapping mode.
+         * @throws IOException If the file cannot be mapped.
+         * @return The mapped segments.
+         */
+        ByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode) throws IOException {
+            ByteBuffer[] segments = new ByteBuffer[segmentCount];
+            for (int s = 0; s < segmentCount; s++) {
+                long position = HEADER_SIZE + (long) s * rowsPerSegment * rowBytes;
+                segments[s] = channel.map(mode, position, segmentSize(s));
+            }
+            return segments;
+        }
+    }
+
+    /**
+     * Computes every row in parallel.
+     * Each row is written by a single thread through absolute puts, so rows never overlap.
+     *
+     * @param dictionary The equation dictionary.
+     */
+    private void fill(EquationDictionary dictionary) {
+        int width = dictionary.width();
+        char[][] equations = new char[count][width];   // Decoded once so the inner loop only reads arrays
+        for (int i = 0; i < count; i++) {
+            dictionary.copyTo(i, equations[i]);
+        }
+        IntStream.range(0, count).parallel().forEach(target -> {
+            ByteBuffer segment = segments[target / rowsPerSegment];
+            int offset = (int) ((long) (target % rowsPerSegment) * count * entryBytes);
+            char[] targetChars = equations[target];
+            int[] counts = new int[Symbols.COUNT];   // Symbol counts, reused across the row
+            for (int guess = 0; guess < count; guess++) {
+                int feedback = Feedback.compute(targetChars, equations[guess], width, counts);
+                if (entryBytes == 2) {
+                    segment.putShort(offset + guess * 2, (short) feedback);
+                } else {
+                    segment.putInt(offset + guess * 4, feedback);
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the number of equations the matrix was built for.
+     *
+     * @return The number of rows and of columns.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Looks up the feedback of a guess against a target.
+     *
+     * @param target The dictionary index of the target.
+     * @param guess  The dictionary index of the guess.
+     * @requires 0 <= target && target < size() && 0 <= guess && guess < size()
+     * @return The packed feedback.
+     */
+    public int get(int target, int guess) {
+        ByteBuffer segment = segments[target / rowsPerSegment];
+        long offset = ((long) (target % rowsPerSegment) * count + guess) * entryBytes;
+        return entryBytes == 2 ? segment.getShort((int) offset) & 0xFFFF : segment.getInt((int) offset);
+    }
+
+    /**
+     * Builds the feedback matrix file for the default dictionary from the command line.
+     *
+     * @param args Optional arguments: dictionary file and matrix file.
+     * @throws IOException If the dictionary cannot be read or the matrix cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        EquationDictionary dictionary = args.length > 0
+                ? EquationDictionary.map(Paths.get(args[0]))
+                : EquationDictionary.shared();
+        Path output = Paths.get(args.length > 1 ? args[1] : "feedback.matrix");
+
+        long start = System.nanoTime();
+        build(dictionary, output);
+        System.out.printf("Wrote the %d x %d feedback matrix to %s in %.1f s%n",
+                dictionary.size(), dictionary.size(), output, (System.nanoTime() - start) / 1e9);
+    }
+}
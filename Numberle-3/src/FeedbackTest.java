@@ -0,0 +1,205 @@
+// Importing the necessary classes for JUnit testing
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+public class FeedbackTest {
+    /**
+     * Computes the feedback of a guess given as a string.
+     *
+     * @param target The target equation.
+     * @param guess  The guess.
+     * @return The packed feedback.
+     */
+    private static int compute(String target, String guess) {
+        return Feedback.compute(target.toCharArray(), guess.toCharArray(), target.length());
+    }
+
+    /**
+     * Test to verify that the packed feedback decodes to the symbols shown to the player.
+     *
+     * @ensures each position decodes to its expected symbol
+     */
+    @Test
+    public void compute_Symbols_Test() {
+        int feedback = compute("6+4=2*5", "1+2=3-0");
+        assertEquals("×√?√×××", Feedback.toString(feedback, 7));
+        assertEquals(Feedback.ABSENT, Feedback.get(feedback, 0));
+        assertEquals(Feedback.CORRECT, Feedback.get(feedback, 1));
+        assertEquals(Feedback.PRESENT, Feedback.get(feedback, 2));
+    }
+
+    /**
+     * Test to verify that a guess equal to the target gives the winning feedback.
+     *
+     * @ensures the feedback of the target against itself equals allCorrect
+     */
+    @Test
+    public void compute_AllCorrect_Test() {
+        assertEquals(Feedback.allCorrect(7), compute("6+4=2*5", "6+4=2*5"));
+        assertEquals("√√√√√√√", Feedback.toString(Feedback.allCorrect(7), 7));
+        assertTrue("Feedback values fit below valueCount", Feedback.allCorrect(7) < Feedback.valueCount(7));
+    }
+
+    /**
+     * Computes the feedback of a guess the plain way, as a reference for the counting implementation:
+     * correct positions first, then each misplaced symbol removes one matching unused symbol of the target.
+     *
+     * @param target The target equation.
+     * @param guess  The guess.
+     * @return The packed feedback.
+     */
+    private static int reference(String target, String guess) {
+        int[] codes = new int[guess.length()];
+        StringBuilder unused = new StringBuilder();   // Symbols of the target not matched at their position
+        for (int i = 0; i < guess.length(); i++) {
+            if (target.charAt(i) == guess.charAt(i)) {
+                codes[i] = Feedback.CORRECT;
+            } else {
+                unused.append(target.charAt(i));
+            }
+        }
+        int feedback = 0;
+        for (int i = 0; i < guess.length(); i++) {
+            if (codes[i] != Feedback.CORRECT) {
+                int at = unused.indexOf(String.valueOf(guess.charAt(i)));
+                if (at >= 0) {
+                    unused.deleteCharAt(at);
+                    codes[i] = Feedback.PRESENT;
+                } else {
+                    codes[i] = Feedback.ABSENT;
+                }
+            }
+            feedback |= codes[i] << (i * Feedback.BITS_PER_POSITION);
+        }
+        return feedback;
+    }
+
+    /**
+     * Test to verify that repeated symbols are marked as in Wordle: a symbol is only PRESENT as often
+     * as the target has unmatched copies of it, and a CORRECT copy is not counted again elsewhere.
+     *
+     * @ensures the extra copies of a repeated symbol are ABSENT
+     */
+    @Test
+    public void compute_RepeatedSymbols_Test() {
+        assertEquals("×√√√√√×", Feedback.toString(compute("6+4=2*5", "4+4=2*4"), 7));
+        assertEquals("?√×√?√×", Feedback.toString(compute("6+4=2*5", "2+2=4*4"), 7));
+        assertEquals("××√√×√×", Feedback.toString(compute("1+2=3+0", "2-2=2+2"), 7));
+        assertEquals("??√√√√√", Feedback.toString(compute("12+3=15", "21+3=15"), 7));
+    }
+
+    /**
+     * Property-based test comparing Feedback.compute with the reference implementation on random
+     * strings of every length, drawn from small alphabets so that symbols repeat often.
+     *
+     * @ensures the counting implementation agrees with the reference on every pair
+     */
+    @Test
+    public void compute_MatchesReference_Test() {
+        Random random = new Random(20);
+        int[] counts = new int[Symbols.COUNT];
+        for (int round = 0; round < 200_000; round++) {
+            int length = 1 + random.nextInt(NumberleVariant.MAX_LENGTH);
+            int symbols = 1 + random.nextInt(Symbols.COUNT);   // Few symbols give many repeats
+            char[] target = new char[length];
+            char[] guess = new char[length];
+            for (int i = 0; i < length; i++) {
+                target[i] = Symbols.ALPHABET[random.nextInt(symbols)];
+                guess[i] = Symbols.ALPHABET[random.nextInt(symbols)];
+            }
+            int expected = reference(new String(target), new String(guess));
+            assertEquals(new String(target) + " " + new String(guess), expected, Feedback.compute(target, guess, length, counts));
+        }
+    }
+
+    /**
+     * Test to verify that the model reports the same packed feedback as Feedback.compute.
+     *
+     * @requires an initialized instance of NumberleModel
+     * @ensures submitGuess returns the packed feedback and getCurrentGuess shows its symbols
+     */
+    @Test
+    public void submitGuess_MatchesCompute_Test() {
+        NumberleModel model = new NumberleModel();
+        model.initialize();
+
+        int feedback = model.submitGuess("1+2=3-0");
+        assertEquals(compute(model.getTargetNumber(), "1+2=3-0"), feedback);
+        assertEquals(feedback, model.getFeedback());
+        assertEquals(Feedback.toString(feedback, 7), model.getCurrentGuess().toString());
+        assertEquals(-EquationEvaluator.NOT_EQUAL, model.submitGuess("1+2=3-1"));
+    }
+
+    /**
+     * Test to verify that a matrix file is refused for a dictionary with the same size but other equations.
+     *
+     * @requires a matrix file built from the equations file
+     * @ensures opening it for a dictionary with one equation replaced throws an IOException
+     */
+    @Test
+    public void feedbackMatrix_RejectsChangedDictionary_Test() throws IOException {
+        EquationDictionary dictionary = EquationDictionary.importText(
+                Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+        Path file = Files.createTempFile("feedback", ".matrix");
+        Path text = Files.createTempFile("equations", ".txt");
+        try {
+            FeedbackMatrix.build(dictionary, file);
+            List<String> equations = new ArrayList<>();
+            for (int i = 1; i < dictionary.size(); i++) {
+                equations.add(dictionary.get(i));
+            }
+            equations.add("9+9=9+9");   // Same size, one equation different
+            Files.write(text, equations);
+            EquationDictionary changed = EquationDictionary.importText(text, INumberleModel.EQUATION_LENGTH);
+            assertEquals(dictionary.size(), changed.size());
+            assertEquals(dictionary.size(), FeedbackMatrix.open(dictionary, file).size());
+            try {
+                FeedbackMatrix.open(changed, file);
+                fail("A matrix built from another dictionary must not be opened");
+            } catch (IOException expected) {
+                // The checksum in the header does not match
+            }
+        } finally {
+            Files.delete(file);
+            Files.delete(text);
+        }
+    }
+
+    /**
+     * Test to verify that the feedback matrix, in memory and in a mapped file, agrees with Feedback.compute.
+     *
+     * @requires the equations file is present in the working directory
+     * @ensures every matrix entry equals the feedback computed for the same pair
+     */
+    @Test
+    public void feedbackMatrix_MatchesCompute_Test() throws IOException {
+        EquationDictionary dictionary = EquationDictionary.importText(
+                Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+        Path file = Files.createTempFile("feedback", ".matrix");
+        try {
+            FeedbackMatrix.build(dictionary, file);
+            FeedbackMatrix[] matrices = {FeedbackMatrix.build(dictionary), FeedbackMatrix.open(dictionary, file)};
+            for (FeedbackMatrix matrix : matrices) {
+                assertEquals(dictionary.size(), matrix.size());
+                for (int t = 0; t < dictionary.size(); t++) {
+                    for (int g = 0; g < dictionary.size(); g++) {
+                        assertEquals(compute(dictionary.get(t), dictionary.get(g)), matrix.get(t, g));
+                    }
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import javax.swing.*;
  * initializing the game model, controller, and view components.
  */
 public class GUIApp {
+    static final int ICON_SIZE = 80; // Size (in pixels) of the keyboard icons
 
     /**
      * The entry point of the GUIApp application.
@@ -17,6 +18,8 @@ public class GUIApp {
      *          "Ensures that all GUI components are created on the proper thread for thread safety."
      */
     public static void main(String[] args) {
+        IconCache.preload(ICON_SIZE); // Start decoding the button icons in the background
+        NumberleSolver.preload(); // Start searching for the best first guess, so Suggest answers at once
         SwingUtilities.invokeLater(GUIApp::createAndShowGUI);
     }
 
@@ -34,6 +37,7 @@ public class GUIApp {
     public static void createAndShowGUI() {
         // Initialize the model component of the game
         INumberleModel model = new NumberleModel();
+        GameHistoryLog.attachIfConfigured(model); // Record the games if a history directory is configured
 
         // Initialize the controller component, linking it with the model
         NumberleController controller = new NumberleController(model);
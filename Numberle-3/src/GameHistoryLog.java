@@ -0,0 +1,288 @@
+// GameHistoryLog.java
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Records every game, guess and outcome to an append-only binary log, so finished games
+ * can be replayed with {@link GameHistoryReader}. The log is a directory of segment files
+ * {@code history-<n>.log}. Each segment is memory-mapped at its full size when created, so
+ * appending a record is a copy into memory rather than a system call, and a new segment is
+ * started when the current one is full.
+ * Game IDs are only unique within one run of the JVM, so every log also has an epoch, the number of
+ * the first segment it wrote, which no other run writing to the directory can have; a game is
+ * identified by its epoch and ID together.
+ * A segment starts with a 24-byte header (magic number, format version, equation width and
+ * record size as big-endian ints, then the epoch as a big-endian long) followed by fixed-size records:
+ * <pre>
+ *   byte  type       1 new game, 2 guess, 3 game won, 4 game lost (the {@link ModelEvent.Type} ordinal plus one)
+ *   long  game ID
+ *   byte  attempt    index of the guess, or 0 for a new game
+ *   int   feedback   packed feedback of the guess (see {@link Feedback}), or 0 for a new game
+ *   byte[width]      the guess, or the target for a new game
+ * </pre>
+ * The unused rest of a segment is zero, so a reader stops at the first record of type 0, and
+ * closing the log cuts the last segment down to the records written.
+ * The log is a {@link ModelListener}, so it can be subscribed to any number of models at once,
+ * as a lossless listener so that no record is dropped.
+ */
+public class GameHistoryLog implements ModelListener, AutoCloseable {
+    public static final int MAGIC = 0x4E4D484C;              // "NMHL", identifies a history segment
+    public static final int VERSION = 2;                     // Version of the segment format
+    public static final int HEADER_BYTES = 24;               // Size of the segment header
+    public static final long DEFAULT_SEGMENT_BYTES = 64L << 20; // Size of each segment, unless chosen otherwise
+    public static final String PROPERTY = "numberle.history";   // System property naming the directory of the shared log
+    public static final long CLOSE_TIMEOUT_MILLIS = 5000;       // Longest wait at exit for events still being delivered
+
+    private final Path directory;       // Directory holding the segments
+    private final int width;            // Number of characters in every equation
+    private final int recordBytes;      // Size of one record
+    private final long segmentBytes;    // Size of each segment file
+    private final long epoch;           // Number of the first segment of this log, telling its games from those of other runs
+    private int segmentIndex;           // Number of the current segment
+    private MappedByteBuffer segment;   // The current segment, positioned after its last record
+    private boolean closed;             // Whether the log has been closed
+
+    /**
+     * Constructs a log for equations of the default length with segments of the default size.
+     *
+     * @param directory The directory of the segments, created if needed.
+     * @throws IOException If the first segment cannot be created.
+     */
+    public GameHistoryLog(Path directory) throws IOException {
+        this(directory, INumberleModel.EQUATION_LENGTH, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Constructs a log. Records are always appended to new segments, after any already in the directory.
+     *
+     * @param directory    The directory of the segments, created if needed.
+     * @param width        The number of characters in every equation.
+     * @param segmentBytes The size of each segment file.
+     * @throws IOException If the first segment cannot be created.
+     * @requires width > 0 && segmentBytes >= HEADER_BYTES + recordBytes(width) && segmentBytes <= Integer.MAX_VALUE
+     */
+    public GameHistoryLog(Path directory, int width, long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.width = width;
+        this.recordBytes = recordBytes(width);
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        this.segmentIndex = lastSegmentIndex(directory);
+        this.epoch = segmentIndex + 1;
+        startSegment();
+    }
+
+    /**
+     * Gets the epoch of this log, which together with a game ID identifies a game recorded in the directory.
+     *
+     * @return The number of the first segment written by this log.
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Gets the size of one record.
+     *
+     * @param width The number of characters in every equation.
+     * @return The size of a record, in bytes.
+     */
+    static int recordBytes(int width) {
+        return 1 + Long.BYTES + 1 + Integer.BYTES + width;
+    }
+
+    /**
+     * Gets the path of a segment.
+     *
+     * @param directory The directory of the segments.
+     * @param index     The number of the segment.
+     * @return The path of the segment file.
+     */
+    static Path segmentPath(Path directory, int index) {
+        return directory.resolve(String.format("history-%08d.log", index));
+    }
+
+    /**
+     * Lists the segments of a log in the order they were written.
+     *
+     * @param directory The directory of the segments.
+     * @return The segment files, oldest first.
+     * @throws IOException If the directory cannot be read.
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().matches("history-\\d{8}\\.log"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Gets the number of the newest segment in a directory.
+     *
+     * @param directory The directory of the segments.
+     * @return The number of the newest segment, or 0 if there is none.
+     * @throws IOException If the directory cannot be read.
+     */
+    private static int lastSegmentIndex(Path directory) throws IOException {
+        List<Path> existing = segments(directory);
+        if (existing.isEmpty()) {
+            return 0;
+        }
+        String name = existing.get(existing.size() - 1).getFileName().toString();
+        return Integer.parseInt(name.substring("history-".length(), name.length() - ".log".length()));
+    }
+
+    /**
+     * Creates and maps the next segment and writes its header.
+     *
+     * @throws IOException If the segment cannot be created.
+     */
+    private void startSegment() throws IOException {
+        segmentIndex++;
+        try (FileChannel channel = FileChannel.open(segmentPath(directory, segmentIndex),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        segment.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(recordBytes).putLong(epoch);
+    }
+
+    /**
+     * Appends the events of a batch. Events delivered after the log was closed, by a model still
+     * playing while the JVM exits, are dropped.
+     *
+     * @param events The events, in the order they happened.
+     */
+    @Override
+    public synchronized void onEvents(List<ModelEvent> events) {
+        if (closed) {
+            return;
+        }
+        for (ModelEvent event : events) {
+            append(event);
+        }
+    }
+
+    /**
+     * Appends one event, starting a new segment if the current one is full.
+     *
+     * @param event The event.
+     * @throws UncheckedIOException If a new segment cannot be created.
+     * @throws IllegalArgumentException If the equation of the event does not have the width of the log.
+     * @throws IllegalStateException If the log has been closed.
+     */
+    public synchronized void append(ModelEvent event) {
+        if (closed) {
+            throw new IllegalStateException("The game history log is closed");
+        }
+        String equation = event.getType() == ModelEvent.Type.NEW_GAME ? event.getTarget() : event.getGuess();
+        if (equation.length() != width) {
+            throw new IllegalArgumentException("Equation " + equation + " does not have " + width + " characters");
+        }
+        if (segment.remaining() < recordBytes) {
+            try {
+                segment.force();
+                startSegment();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        segment.put((byte) (event.getType().ordinal() + 1));
+        segment.putLong(event.getGameId());
+        segment.put((byte) event.getAttempt());
+        segment.putInt(event.getFeedback());
+        for (int i = 0; i < width; i++) {
+            segment.put((byte) equation.charAt(i));   // Equations only use ASCII symbols
+        }
+    }
+
+    /**
+     * Writes the records appended so far through to the disk.
+     */
+    public synchronized void flush() {
+        if (!closed) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Writes the records appended so far through to the disk and cuts the last segment down to them.
+     * Events appended afterwards are rejected.
+     *
+     * @throws UncheckedIOException If the last segment cannot be cut down.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        segment.force();
+        closed = true;   // Nothing touches the mapping again once the file is shorter than it
+        try (FileChannel channel = FileChannel.open(segmentPath(directory, segmentIndex), StandardOpenOption.WRITE)) {
+            channel.truncate(segment.position());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final Map<Integer, GameHistoryLog> SHARED = new ConcurrentHashMap<>(); // Shared logs by equation width
+
+    /**
+     * Gets the log shared by the whole JVM for equations of a width, opening it on first use in the
+     * directory named by the {@value #PROPERTY} system property, or in a {@code width-<n>} directory
+     * inside it for lengths other than the classic one. Shared logs are closed when the JVM exits, once
+     * the events already published have been delivered to them.
+     *
+     * @param width The number of characters in every equation.
+     * @return The log, or null if it cannot be opened.
+     */
+    private static GameHistoryLog shared(int width) {
+        return SHARED.computeIfAbsent(width, w -> {
+            try {
+                Path directory = Paths.get(System.getProperty(PROPERTY));
+                if (w != INumberleModel.EQUATION_LENGTH) {
+                    directory = directory.resolve("width-" + w);
+                }
+                GameHistoryLog log = new GameHistoryLog(directory, w, DEFAULT_SEGMENT_BYTES);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        ModelEventBus.awaitQuiescence(CLOSE_TIMEOUT_MILLIS);   // Events are delivered by daemon threads
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    log.close();
+                }, "numberle-history-flush"));
+                return log;
+            } catch (IOException e) {
+                System.err.println("Error opening game history: " + e.getMessage()); // The game works without history
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Records the games of a model in the shared log, if the {@value #PROPERTY} system property names a directory.
+     *
+     * @param model The model.
+     * @requires model != null
+     */
+    public static void attachIfConfigured(INumberleModel model) {
+        if (System.getProperty(PROPERTY) != null) {
+            GameHistoryLog log = shared(model.getEquationLength());
+            if (log != null) {
+                model.addLosslessModelListener(log);   // A log must not lose events to a full mailbox
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+// Importing the necessary classes for JUnit testing
+
+import org.junit.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+
+public class GameHistoryLogTest {
+    /**
+     * Test to verify that games played at the same time are replayed whole, across segment boundaries.
+     *
+     * @requires a log with room for five records per segment
+     * @ensures each game is delivered once with its guesses in order, finished games as they end
+     */
+    @Test
+    public void replay_InterleavedGamesAcrossSegments_Test() throws IOException {
+        Path directory = Files.createTempDirectory("history");
+        try {
+            int width = INumberleModel.EQUATION_LENGTH;
+            long segmentBytes = GameHistoryLog.HEADER_BYTES + 5L * GameHistoryLog.recordBytes(width); // Five records per segment
+            long epoch;
+            try (GameHistoryLog log = new GameHistoryLog(directory, width, segmentBytes)) {
+                epoch = log.getEpoch();
+                log.append(new ModelEvent(ModelEvent.Type.NEW_GAME, null, 1, 0, null, 0, "6+4=2*5"));
+                log.append(new ModelEvent(ModelEvent.Type.NEW_GAME, null, 2, 0, null, 0, "1+2=3+0"));
+                log.append(new ModelEvent(ModelEvent.Type.GUESS_APPLIED, null, 1, 0, "1+2=3-0", 0x1D7D, "6+4=2*5"));
+                log.append(new ModelEvent(ModelEvent.Type.GUESS_APPLIED, null, 2, 0, "1+2=3+0", 0x3FFF, "1+2=3+0"));
+                log.append(new ModelEvent(ModelEvent.Type.GAME_WON, null, 2, 0, "1+2=3+0", 0x3FFF, "1+2=3+0"));
+                log.append(new ModelEvent(ModelEvent.Type.GUESS_APPLIED, null, 1, 1, "6+4=2*5", 0x3FFF, "6+4=2*5"));
+                log.append(new ModelEvent(ModelEvent.Type.GAME_WON, null, 1, 1, "6+4=2*5", 0x3FFF, "6+4=2*5"));
+                log.append(new ModelEvent(ModelEvent.Type.NEW_GAME, null, 3, 0, null, 0, "9-8=1+0"));
+            }
+            List<Path> segments = GameHistoryLog.segments(directory);
+            assertEquals(2, segments.size());
+            assertEquals("The last segment is cut down to its records on close",
+                    GameHistoryLog.HEADER_BYTES + 3L * GameHistoryLog.recordBytes(width), Files.size(segments.get(1)));
+
+            List<GameHistoryReader.Game> games = new ArrayList<>();
+            GameHistoryReader.replay(directory, games::add);
+            assertEquals(3, games.size());
+            assertEquals(2, games.get(0).getGameId());
+            assertEquals(List.of("1+2=3-0", "6+4=2*5"), games.get(1).getGuesses());
+            assertEquals(0x1D7D, games.get(1).getFeedback(0));
+            assertTrue(games.get(1).isWon());
+            assertFalse(games.get(2).isFinished());
+
+            GameHistoryReader.Game game = GameHistoryReader.find(directory, epoch, 1);
+            assertEquals("6+4=2*5", game.getTarget());
+            assertNull(GameHistoryReader.find(directory, epoch, 4));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Test to verify that runs which reuse the same game IDs in one directory are kept apart.
+     *
+     * @requires two logs opened one after the other in the same directory, as by two runs of the game
+     * @ensures each game is found by its own epoch and ID, and the reused ID does not end the earlier game
+     */
+    @Test
+    public void replay_SameIdInTwoRuns_Test() throws IOException {
+        Path directory = Files.createTempDirectory("history");
+        try {
+            long firstEpoch;
+            long secondEpoch;
+            try (GameHistoryLog log = new GameHistoryLog(directory)) {
+                firstEpoch = log.getEpoch();
+                log.append(new ModelEvent(ModelEvent.Type.NEW_GAME, null, 1, 0, null, 0, "6+4=2*5"));
+                log.append(new ModelEvent(ModelEvent.Type.GUESS_APPLIED, null, 1, 0, "1+2=3-0", 0x1D7D, "6+4=2*5"));
+            }
+            try (GameHistoryLog log = new GameHistoryLog(directory)) {
+                secondEpoch = log.getEpoch();
+                log.append(new ModelEvent(ModelEvent.Type.NEW_GAME, null, 1, 0, null, 0, "1+2=3+0"));
+                log.append(new ModelEvent(ModelEvent.Type.GUESS_APPLIED, null, 1, 0, "1+2=3+0", 0x3FFF, "1+2=3+0"));
+                log.append(new ModelEvent(ModelEvent.Type.GAME_WON, null, 1, 0, "1+2=3+0", 0x3FFF, "1+2=3+0"));
+            }
+            assertTrue(firstEpoch != secondEpoch);
+
+            GameHistoryReader.Game first = GameHistoryReader.find(directory, firstEpoch, 1);
+            assertEquals("6+4=2*5", first.getTarget());
+            assertEquals(List.of("1+2=3-0"), first.getGuesses());
+            assertFalse(first.isFinished());
+            GameHistoryReader.Game second = GameHistoryReader.find(directory, secondEpoch, 1);
+            assertEquals("1+2=3+0", second.getTarget());
+            assertTrue(second.isWon());
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Test to verify that a log subscribed to a model records its games.
+     *
+     * @requires a model with the log as a lossless listener
+     * @ensures the won game can be found with its guess once the events have been delivered
+     */
+    @Test
+    public void log_RecordsModelGames_Test() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("history");
+        try {
+            NumberleModel model = new NumberleModel(EquationDictionary.shared());   // Creating an instance of the NumberleModel class
+            GameHistoryReader.Game game = null;
+            try (GameHistoryLog log = new GameHistoryLog(directory)) {
+                model.addLosslessModelListener(log);
+                model.startNewGame();
+                model.submitGuess(model.getTargetNumber());
+                for (int i = 0; i < 100 && (game == null || !game.isFinished()); i++) {
+                    Thread.sleep(50); // Events are delivered asynchronously
+                    game = GameHistoryReader.find(directory, log.getEpoch(), model.getGameId());
+                }
+            }
+            assertNotNull(game);
+            assertTrue(game.isWon());
+            assertEquals(List.of(model.getTargetNumber()), game.getGuesses());
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Test to verify that waiting for quiescence before closing keeps the events a slow delivery still holds.
+     *
+     * @requires a log behind a listener that takes a while over every batch, as the exit hook finds it
+     * @ensures awaitQuiescence returns once the game is in the log, and a batch after close is ignored
+     */
+    @Test
+    public void close_AfterQuiescence_Test() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("history");
+        try {
+            ModelEventBus bus = new ModelEventBus();
+            long epoch;
+            try (GameHistoryLog log = new GameHistoryLog(directory)) {
+                epoch = log.getEpoch();
+                bus.subscribeLossless(events -> {
+                    try {
+                        Thread.sleep(200);   // A delivery thread that has fallen behind
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    log.onEvents(events);
+                });
+                bus.publish(new ModelEvent(ModelEvent.Type.NEW_GAME, null, 1, 0, null, 0, "6+4=2*5"));
+                bus.publish(new ModelEvent(ModelEvent.Type.GUESS_APPLIED, null, 1, 0, "6+4=2*5", 0x3FFF, "6+4=2*5"));
+                bus.publish(new ModelEvent(ModelEvent.Type.GAME_WON, null, 1, 0, "6+4=2*5", 0x3FFF, "6+4=2*5"));
+                assertTrue(ModelEventBus.awaitQuiescence(5000));
+            }
+            GameHistoryReader.Game game = GameHistoryReader.find(directory, epoch, 1);
+            assertNotNull(game);
+            assertTrue(game.isWon());
+
+            bus.publish(new ModelEvent(ModelEvent.Type.NEW_GAME, null, 2, 0, null, 0, "1+2=3+0"));
+            assertTrue("A batch after close is dropped without an error", ModelEventBus.awaitQuiescence(5000));
+            assertNull(GameHistoryReader.find(directory, epoch, 2));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Test to verify that the games played in batch mode are all in the log once the JVM has exited.
+     *
+     * @requires a separate JVM running CLIApp in batch mode with the history property set
+     * @ensures every guess is replayed, including the last game's, and closing the log at exit reports no error
+     */
+    @Test
+    public void log_CompleteAfterBatchExit_Test() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("history");
+        Path output = Files.createTempFile("batch", ".txt");   // Written to a file, so the pipes cannot fill up and stall
+        try {
+            ProcessBuilder builder = new ProcessBuilder(
+                    Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", System.getProperty("java.class.path"),
+                    "-D" + GameHistoryLog.PROPERTY + "=" + directory,
+                    "CLIApp", "--batch");
+            builder.redirectErrorStream(true);
+            builder.redirectOutput(output.toFile());
+            Process process = builder.start();
+            int guessCount = 50_000;   // Enough that events are still waiting for delivery when main returns
+            try (Writer input = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8))) {
+                for (int i = 0; i < guessCount; i++) {
+                    input.write("1+2=3-0\n");
+                }
+            }
+            assertTrue("The batch should exit", process.waitFor(60, TimeUnit.SECONDS));
+            String errors = new String(Files.readAllBytes(output), StandardCharsets.UTF_8).replaceAll("(?m)^[NE0-9].*\n", "");
+            assertEquals("", errors);
+
+            List<GameHistoryReader.Game> games = new ArrayList<>();
+            GameHistoryReader.replay(directory, games::add);
+            int guesses = 0;
+            for (GameHistoryReader.Game game : games) {
+                guesses += game.getGuesses().size();
+            }
+            assertEquals(guessCount, guesses);
+        } finally {
+            delete(directory);
+            Files.delete(output);
+        }
+    }
+
+    /**
+     * Deletes a directory and everything in it.
+     *
+     * @param directory The directory.
+     * @throws IOException If the directory cannot be listed.
+     */
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,255 @@
+// GameHistoryReader.java
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Replays the games recorded by a {@link GameHistoryLog}. Segments are memory-mapped and scanned
+ * once from start to end, and records of games played at the same time in different sessions are
+ * gathered per game, so each game reaches the callback whole, in the order it finished.
+ * Games are told apart by the epoch of the log that recorded them together with their ID,
+ * since IDs start again with every run.
+ */
+public final class GameHistoryReader {
+    private static final ModelEvent.Type[] TYPES = ModelEvent.Type.values(); // Event types by record type minus one
+
+    /**
+     * This class only provides static helpers and is not meant to be instantiated.
+     */
+    private GameHistoryReader() {
+    }
+
+    /**
+     * Identifies a recorded game.
+     *
+     * @param epoch  The epoch of the log that recorded the game.
+     * @param gameId The ID of the game within that run.
+     */
+    private record Key(long epoch, long gameId) {
+    }
+
+    /**
+     * A replayed game.
+     */
+    public static final class Game {
+        private final long epoch;                               // The epoch of the log that recorded the game
+        private final long gameId;                              // The ID of the game, unique within the run that played it
+        private final String target;                            // The target number
+        private final List<String> guesses = new ArrayList<>(); // The valid guesses, in order
+        private final List<Integer> feedbacks = new ArrayList<>(); // The packed feedback of each guess
+        private ModelEvent.Type outcome;                        // GAME_WON or GAME_LOST, or null if the game did not finish
+
+        /**
+         * Constructs a game with no guesses yet.
+         *
+         * @param epoch  The epoch of the log that recorded the game.
+         * @param gameId The ID of the game.
+         * @param target The target number.
+         */
+        Game(long epoch, long gameId, String target) {
+            this.epoch = epoch;
+            this.gameId = gameId;
+            this.target = target;
+        }
+
+        /**
+         * Gets the epoch of the log that recorded the game.
+         *
+         * @return The epoch (see {@link GameHistoryLog#getEpoch()}).
+         */
+        public long getEpoch() {
+            return epoch;
+        }
+
+        /**
+         * Gets the ID of the game.
+         *
+         * @return The game ID.
+         */
+        public long getGameId() {
+            return gameId;
+        }
+
+        /**
+         * Gets the target number of the game.
+         *
+         * @return The target number.
+         */
+        public String getTarget() {
+            return target;
+        }
+
+        /**
+         * Gets the valid guesses of the game.
+         *
+         * @return The guesses, in order.
+         */
+        public List<String> getGuesses() {
+            return guesses;
+        }
+
+        /**
+         * Gets the packed feedback of one guess.
+         *
+         * @param attempt The index of the guess.
+         * @requires 0 <= attempt && attempt < getGuesses().size()
+         * @return The packed feedback (see {@link Feedback}).
+         */
+        public int getFeedback(int attempt) {
+            return feedbacks.get(attempt);
+        }
+
+        /**
+         * Checks whether the game was played to the end.
+         *
+         * @return True if the game was won or lost, false if it was abandoned.
+         */
+        public boolean isFinished() {
+            return outcome != null;
+        }
+
+        /**
+         * Checks whether the game was won.
+         *
+         * @return True if the game was won, otherwise false.
+         */
+        public boolean isWon() {
+            return outcome == ModelEvent.Type.GAME_WON;
+        }
+
+        /**
+         * Describes the game on one line.
+         *
+         * @return The epoch, game ID, target, guesses and outcome.
+         */
+        @Override
+        public String toString() {
+            return "Game " + epoch + "/" + gameId + " " + target + " " + guesses + " " + (outcome == null ? "UNFINISHED" : outcome);
+        }
+    }
+
+    /**
+     * Streams every recorded game to a callback. Finished games are delivered as they end, and games
+     * that were never finished are delivered after the last record.
+     *
+     * @param directory The directory of the log.
+     * @param callback  Receives each game.
+     * @throws IOException If a segment cannot be read or is not a history segment.
+     * @requires callback != null
+     */
+    public static void replay(Path directory, Consumer<Game> callback) throws IOException {
+        Map<Key, Game> open = new HashMap<>(); // Games started but not finished yet, by epoch and ID
+        for (Path file : GameHistoryLog.segments(directory)) {
+            MappedByteBuffer segment;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (segment.remaining() < GameHistoryLog.HEADER_BYTES || segment.getInt() != GameHistoryLog.MAGIC
+                    || segment.getInt() != GameHistoryLog.VERSION) {
+                throw new IOException(file + " is not a game history segment");
+            }
+            int width = segment.getInt();
+            int recordBytes = segment.getInt();
+            long epoch = segment.getLong();
+            byte[] equation = new byte[width];
+            while (segment.remaining() >= recordBytes) {
+                int type = segment.get();
+                if (type == 0) {
+                    break;   // The rest of the segment was never written
+                }
+                Key key = new Key(epoch, segment.getLong());
+                segment.get();   // The attempt index, implied by the order of the records
+                int feedback = segment.getInt();
+                segment.get(equation);
+                segment.position(segment.position() + recordBytes - GameHistoryLog.recordBytes(width));
+
+                switch (TYPES[type - 1]) {
+                    case NEW_GAME -> open.put(key, new Game(epoch, key.gameId(), ascii(equation)));
+                    case GUESS_APPLIED -> {
+                        Game game = open.get(key);
+                        if (game != null) {
+                            game.guesses.add(ascii(equation));
+                            game.feedbacks.add(feedback);
+                        }
+                    }
+                    case GAME_WON, GAME_LOST -> {
+                        Game game = open.remove(key);
+                        if (game != null) {
+                            game.outcome = TYPES[type - 1];
+                            callback.accept(game);
+                        }
+                    }
+                }
+            }
+        }
+        open.values().forEach(callback);
+    }
+
+    /**
+     * Rebuilds one recorded game.
+     *
+     * @param directory The directory of the log.
+     * @param epoch     The epoch of the log that recorded the game.
+     * @param gameId    The ID of the game.
+     * @return The game, or null if there is none.
+     * @throws IOException If a segment cannot be read.
+     */
+    public static Game find(Path directory, long epoch, long gameId) throws IOException {
+        Game[] found = new Game[1];
+        replay(directory, game -> {
+            if (game.epoch == epoch && game.gameId == gameId) {
+                found[0] = game;
+            }
+        });
+        return found[0];
+    }
+
+    /**
+     * Decodes an equation of ASCII symbols.
+     *
+     * @param bytes The symbols.
+     * @return The equation.
+     */
+    private static String ascii(byte[] bytes) {
+        char[] chars = new char[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i] = (char) bytes[i];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Prints a summary of a log: the number of games, the win rate and the distribution of guesses.
+     *
+     * @param args The directory of the log (default the {@value GameHistoryLog#PROPERTY} system property, or "history").
+     * @throws IOException If the log cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : System.getProperty(GameHistoryLog.PROPERTY, "history"));
+        long[] counts = new long[3];   // Games, finished games and wins
+        Map<Integer, Long> guessCounts = new HashMap<>();
+        long start = System.nanoTime();
+        replay(directory, game -> {
+            counts[0]++;
+            if (game.isFinished()) {
+                counts[1]++;
+            }
+            if (game.isWon()) {
+                counts[2]++;
+                guessCounts.merge(game.getGuesses().size(), 1L, Long::sum);
+            }
+        });
+        System.out.printf("games: %d, finished: %d, won: %d (read in %.2f s)%n", counts[0], counts[1], counts[2], (System.nanoTime() - start) / 1e9);
+        guessCounts.entrySet().stream().sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> System.out.println(entry.getKey() + ": " + entry.getValue()));
+    }
+}
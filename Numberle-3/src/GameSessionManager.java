@@ -0,0 +1,314 @@
+// GameSessionManager.java
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Hosts many independent Numberle games in one JVM, each in its own session.
+ * Every session owns a separate {@link NumberleModel}; the equation dictionary is shared and read-only.
+ * Work for a session is chained so it runs one task at a time in submission order, and each task
+ * runs on a virtual thread when the JVM supports them (Java 21 and later), otherwise on a small
+ * pool sized to the number of cores. Sessions that stay idle can be expired, and the manager
+ * keeps counters for the number of sessions and the guess throughput.
+ */
+public class GameSessionManager implements AutoCloseable {
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>(); // Live sessions by ID
+    private final EquationDictionary dictionary;       // Dictionary shared by every session
+    private final ExecutorService executor;            // Runs the tasks of every session
+    private ScheduledExecutorService expiryTimer;      // Expires idle sessions, or null if not started
+    private final GameStatistics statistics = new GameStatistics(); // Outcomes of the games of every session
+
+    private final LongAdder sessionsCreated = new LongAdder();   // Number of sessions created
+    private final LongAdder sessionsExpired = new LongAdder();   // Number of sessions expired for being idle
+    private final LongAdder guessesProcessed = new LongAdder();  // Number of guesses processed, valid or not
+    private final long startTime = System.nanoTime();            // When the manager was created
+
+    /**
+     * Constructs a manager whose sessions use the dictionary shared by the whole JVM.
+     */
+    public GameSessionManager() {
+        this(EquationDictionary.shared());
+    }
+
+    /**
+     * Constructs a manager whose sessions use the given dictionary.
+     *
+     * @param dictionary The dictionary of target numbers.
+     * @requires dictionary != null
+     */
+    public GameSessionManager(EquationDictionary dictionary) {
+        this.dictionary = dictionary;
+        this.executor = newExecutor();
+    }
+
+    /**
+     * A single game hosted by the manager.
+     */
+    private final class Session {
+        private final NumberleModel model = new NumberleModel(dictionary); // The game of this session
+        private CompletableFuture<?> tail = CompletableFuture.completedFuture(null); // The last task submitted
+        private volatile long lastAccess = System.nanoTime();                         // When the session was last used
+
+        /**
+         * Constructs a session whose games always have random targets, whatever the default of new models.
+         */
+        Session() {
+            model.setRandomSelect(true);
+        }
+
+        /**
+         * Runs an action on the model after every task submitted before it.
+         *
+         * @param action The action to run.
+         * @param <T>    The type of the result.
+         * @return A future completed with the result of the action.
+         */
+        synchronized <T> CompletableFuture<T> submit(Function<INumberleModel, T> action) {
+            lastAccess = System.nanoTime();
+            CompletableFuture<T> next = tail.handleAsync((ignored, error) -> action.apply(model), executor);
+            tail = next;
+            return next;
+        }
+    }
+
+    /**
+     * Creates the executor for session tasks: one virtual thread per task when the JVM has them,
+     * otherwise a fixed pool with one thread per core.
+     *
+     * @return The executor.
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+                Thread thread = new Thread(task, "numberle-session");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Creates a session for an anonymous player and starts its first game.
+     *
+     * @ensures getSessionCount() is one higher
+     * @return The ID of the new session.
+     */
+    public String createSession() {
+        return createSession(null);
+    }
+
+    /**
+     * Creates a session and starts its first game.
+     * The outcomes of its games are counted in {@link #getStatistics()}, for the player too if one is given.
+     *
+     * @param playerId The ID of the player, or null if the player is anonymous.
+     * @ensures getSessionCount() is one higher
+     * @return The ID of the new session.
+     */
+    public String createSession(String playerId) {
+        String id = UUID.randomUUID().toString();
+        Session session = new Session();
+        session.model.addLosslessModelListener(playerId != null ? statistics.forPlayer(playerId) : statistics);
+        sessions.put(id, session);
+        sessionsCreated.increment();
+        session.submit(model -> {
+            model.startNewGame();
+            return null;
+        });
+        return id;
+    }
+
+    /**
+     * Checks whether a session exists.
+     *
+     * @param id The ID of the session.
+     * @return True if the session exists and has not been closed or expired, otherwise false.
+     */
+    public boolean hasSession(String id) {
+        return sessions.containsKey(id);
+    }
+
+    /**
+     * Runs an action on the model of a session, after every task submitted to it before.
+     * The action may read or change the model, but must not keep it for use outside the action.
+     *
+     * @param id     The ID of the session.
+     * @param action The action to run.
+     * @param <T>    The type of the result.
+     * @return A future completed with the result of the action, or failed with
+     *         NoSuchElementException if there is no such session.
+     */
+    public <T> CompletableFuture<T> execute(String id, Function<INumberleModel, T> action) {
+        Session session = sessions.get(id);
+        if (session == null) {
+            return CompletableFuture.failedFuture(new NoSuchElementException("No session " + id));
+        }
+        return session.submit(action);
+    }
+
+    /**
+     * Submits a guess to a session.
+     *
+     * @param id    The ID of the session.
+     * @param guess The guess.
+     * @requires guess != null
+     * @return A future completed with the result of {@link INumberleModel#submitGuess(String)}.
+     */
+    public CompletableFuture<Integer> submitGuess(String id, String guess) {
+        return execute(id, model -> {
+            guessesProcessed.increment();
+            return model.submitGuess(guess);
+        });
+    }
+
+    /**
+     * Starts a new game in a session.
+     *
+     * @param id The ID of the session.
+     * @return A future completed once the new game has started.
+     */
+    public CompletableFuture<Void> startNewGame(String id) {
+        return execute(id, model -> {
+            model.startNewGame();
+            return null;
+        });
+    }
+
+    /**
+     * Starts a new game with a chosen target in a session, such as the puzzle of the day.
+     *
+     * @param id          The ID of the session.
+     * @param targetIndex The index of the target number in the dictionary.
+     * @return A future completed once the new game has started.
+     */
+    public CompletableFuture<Void> startNewGame(String id, int targetIndex) {
+        return execute(id, model -> {
+            model.startNewGame(targetIndex);
+            return null;
+        });
+    }
+
+    /**
+     * Closes a session. Tasks already submitted to it still run.
+     *
+     * @param id The ID of the session.
+     * @return True if the session existed, otherwise false.
+     */
+    public boolean closeSession(String id) {
+        return sessions.remove(id) != null;
+    }
+
+    /**
+     * Closes every session that has not been used for a while.
+     *
+     * @param maxIdleMillis The longest time a session may stay unused, in milliseconds.
+     * @return The number of sessions expired.
+     */
+    public int expireIdle(long maxIdleMillis) {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(maxIdleMillis);
+        int expired = 0;
+        for (Map.Entry<String, Session> entry : sessions.entrySet()) {
+            if (entry.getValue().lastAccess - cutoff < 0 && sessions.remove(entry.getKey(), entry.getValue())) {
+                expired++;
+            }
+        }
+        sessionsExpired.add(expired);
+        return expired;
+    }
+
+    /**
+     * Starts expiring idle sessions in the background.
+     *
+     * @param maxIdleMillis The longest time a session may stay unused, in milliseconds.
+     * @param periodMillis  How often to look for idle sessions, in milliseconds.
+     * @requires periodMillis > 0
+     */
+    public synchronized void startExpiry(long maxIdleMillis, long periodMillis) {
+        if (expiryTimer == null) {
+            expiryTimer = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "numberle-session-expiry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            expiryTimer.scheduleAtFixedRate(() -> expireIdle(maxIdleMillis), periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Gets the statistics of the games finished in every session.
+     *
+     * @return The statistics.
+     */
+    public GameStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Gets the number of live sessions.
+     *
+     * @return The number of sessions.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Gets the number of sessions created since the manager started.
+     *
+     * @return The number of sessions created.
+     */
+    public long getSessionsCreated() {
+        return sessionsCreated.sum();
+    }
+
+    /**
+     * Gets the number of sessions expired for being idle since the manager started.
+     *
+     * @return The number of sessions expired.
+     */
+    public long getSessionsExpired() {
+        return sessionsExpired.sum();
+    }
+
+    /**
+     * Gets the number of guesses processed since the manager started.
+     *
+     * @return The number of guesses, valid or not.
+     */
+    public long getGuessesProcessed() {
+        return guessesProcessed.sum();
+    }
+
+    /**
+     * Gets the average guess throughput since the manager started.
+     *
+     * @return The number of guesses processed per second.
+     */
+    public double getGuessesPerSecond() {
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        return seconds > 0 ? guessesProcessed.sum() / seconds : 0;
+    }
+
+    /**
+     * Stops the expiry timer and the session executor and drops every session.
+     */
+    @Override
+    public synchronized void close() {
+        if (expiryTimer != null) {
+            expiryTimer.shutdownNow();
+        }
+        executor.shutdown();
+        sessions.clear();
+    }
+}
@@ -0,0 +1,145 @@
+// Importing the necessary classes for JUnit testing
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+
+public class GameSessionManagerTest {
+    /**
+     * Test to verify that the tasks of one session run one at a time in the order they were submitted.
+     *
+     * @requires a session whose target is not the guess
+     * @ensures each guess sees the attempts left by the one before, and a guess after the game is rejected
+     */
+    @Test
+    public void submitGuess_PerSessionOrder_Test() throws Exception {
+        EquationDictionary dictionary = EquationDictionary.shared();
+        try (GameSessionManager manager = new GameSessionManager(dictionary)) {
+            String id = manager.createSession();
+            manager.startNewGame(id, 0);
+            String guess = dictionary.get(1);   // A valid equation that is not the target
+
+            List<CompletableFuture<Integer>> results = new ArrayList<>();
+            List<CompletableFuture<Integer>> remaining = new ArrayList<>();
+            for (int i = 0; i <= INumberleModel.MAX_ATTEMPTS; i++) {
+                results.add(manager.submitGuess(id, guess));
+                remaining.add(manager.execute(id, INumberleModel::getRemainingAttempts));
+            }
+            for (int i = 0; i < INumberleModel.MAX_ATTEMPTS; i++) {
+                assertTrue("Guess " + i + " should be accepted", results.get(i).get(5, TimeUnit.SECONDS) >= 0);
+                assertEquals(INumberleModel.MAX_ATTEMPTS - i - 1, (int) remaining.get(i).get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(-EquationEvaluator.GAME_OVER, (int) results.get(INumberleModel.MAX_ATTEMPTS).get(5, TimeUnit.SECONDS));
+            assertEquals(0, (int) remaining.get(INumberleModel.MAX_ATTEMPTS).get(5, TimeUnit.SECONDS));
+            assertEquals(INumberleModel.MAX_ATTEMPTS + 1, manager.getGuessesProcessed());
+        }
+    }
+
+    /**
+     * Test to verify that only sessions left unused for longer than the limit are expired.
+     *
+     * @requires two sessions, one of which is used again after a pause
+     * @ensures the idle session is expired and rejects further work, and the other one stays
+     */
+    @Test
+    public void expireIdle_Test() throws Exception {
+        try (GameSessionManager manager = new GameSessionManager(EquationDictionary.shared())) {
+            String idle = manager.createSession();
+            String active = manager.createSession();
+            Thread.sleep(200);
+            manager.execute(active, INumberleModel::getRemainingAttempts).get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, manager.expireIdle(100));
+            assertFalse(manager.hasSession(idle));
+            assertTrue(manager.hasSession(active));
+            assertEquals(1, manager.getSessionCount());
+            assertEquals(1, manager.getSessionsExpired());
+            try {
+                manager.submitGuess(idle, "1+2=3-0").get(5, TimeUnit.SECONDS);
+                fail("An expired session should not take guesses");
+            } catch (ExecutionException expected) {
+                assertTrue(expected.getCause() instanceof NoSuchElementException);
+            }
+        }
+    }
+
+    /**
+     * Test to verify that a closed session is gone while the others carry on.
+     *
+     * @requires two sessions
+     * @ensures closeSession removes only its session, once, and later work on it fails
+     */
+    @Test
+    public void closeSession_Test() throws Exception {
+        try (GameSessionManager manager = new GameSessionManager(EquationDictionary.shared())) {
+            String closed = manager.createSession();
+            String open = manager.createSession();
+            assertTrue(manager.closeSession(closed));
+            assertFalse("A session can only be closed once", manager.closeSession(closed));
+
+            assertFalse(manager.hasSession(closed));
+            assertEquals(1, manager.getSessionCount());
+            assertEquals(2, manager.getSessionsCreated());
+            assertTrue(manager.execute(closed, INumberleModel::getRemainingAttempts).isCompletedExceptionally());
+            assertEquals(INumberleModel.MAX_ATTEMPTS, (int) manager.execute(open, INumberleModel::getRemainingAttempts).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Test to verify that many sessions played at the same time from several threads keep their own games.
+     *
+     * @requires sixteen sessions, each won with its own target from its own thread
+     * @ensures every game is won in one guess and counted once in the statistics of its player
+     */
+    @Test
+    public void concurrentSessions_Test() throws Exception {
+        int sessions = 16;
+        try (GameSessionManager manager = new GameSessionManager(EquationDictionary.shared())) {
+            List<Thread> players = new ArrayList<>();
+            List<Throwable> failures = new ArrayList<>();
+            for (int s = 0; s < sessions; s++) {
+                String playerId = "player" + s;
+                Thread player = new Thread(() -> {
+                    try {
+                        String id = manager.createSession(playerId);
+                        String target = manager.execute(id, INumberleModel::getTargetNumber).get(5, TimeUnit.SECONDS);
+                        int result = manager.submitGuess(id, target).get(5, TimeUnit.SECONDS);
+                        assertEquals(Feedback.allCorrect(INumberleModel.EQUATION_LENGTH), result);
+                        assertTrue(manager.execute(id, INumberleModel::isGameWon).get(5, TimeUnit.SECONDS));
+                    } catch (Throwable e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                    }
+                });
+                players.add(player);
+                player.start();
+            }
+            for (Thread player : players) {
+                player.join(10_000);
+            }
+            assertTrue("Every session should be won: " + failures, failures.isEmpty());
+            assertEquals(sessions, manager.getSessionCount());
+            assertEquals(sessions, manager.getGuessesProcessed());
+
+            for (int s = 0; s < sessions; s++) {
+                GameStatistics.PlayerStats player = null;
+                for (int i = 0; i < 100 && (player == null || player.getWon() == 0); i++) {
+                    Thread.sleep(50);   // Outcomes are delivered asynchronously
+                    player = manager.getStatistics().getPlayer("player" + s);
+                }
+                assertNotNull(player);
+                assertEquals(1, player.getPlayed());
+                assertEquals(1, player.getWon());
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+// GameSimulator.java
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays complete games headlessly, without Swing or the console, to measure throughput and difficulty.
+ * Games are split evenly across worker threads, each with its own model over the shared read-only
+ * dictionary, so nothing is read from disk and nothing is printed while the games run. Every worker
+ * counts its own results and the counts are merged once at the end.
+ */
+public class GameSimulator {
+    private final NumberleVariant variant;       // The rules of every game
+    private final EquationDictionary dictionary; // The dictionary every model picks targets from
+    private final GuessStrategy strategy;        // Picks the guesses of every game
+    private final int threads;                   // Number of worker threads
+
+    /**
+     * Constructs a simulator of classic games.
+     *
+     * @param dictionary The dictionary of target numbers.
+     * @param strategy   The strategy that picks the guesses.
+     * @param threads    The number of worker threads.
+     * @requires dictionary != null && strategy != null && threads > 0
+     */
+    public GameSimulator(EquationDictionary dictionary, GuessStrategy strategy, int threads) {
+        this(NumberleVariant.CLASSIC, dictionary, strategy, threads);
+    }
+
+    /**
+     * Constructs a simulator of games of a variant.
+     *
+     * @param variant    The equation length and number of guesses.
+     * @param dictionary The dictionary of target numbers, with equations of the variant's length.
+     * @param strategy   The strategy that picks the guesses.
+     * @param threads    The number of worker threads.
+     * @requires variant != null && dictionary != null && strategy != null && threads > 0
+     */
+    public GameSimulator(NumberleVariant variant, EquationDictionary dictionary, GuessStrategy strategy, int threads) {
+        this.variant = variant;
+        this.dictionary = dictionary;
+        this.strategy = strategy;
+        this.threads = threads;
+    }
+
+    /**
+     * The outcome of a simulation run.
+     */
+    public static final class Result {
+        private final long[] guessCounts; // Games won by number of guesses
+        private long games;        // Number of games played
+        private long wins;         // Number of games won
+        private long elapsedNanos; // Wall-clock time of the run
+
+        /**
+         * Constructs an empty result.
+         *
+         * @param maxAttempts The number of guesses in a game.
+         */
+        private Result(int maxAttempts) {
+            guessCounts = new long[maxAttempts + 1];
+        }
+
+        /**
+         * Adds the counts of another result to this one.
+         *
+         * @param other The other result.
+         */
+        private void merge(Result other) {
+            games += other.games;
+            wins += other.wins;
+            for (int i = 0; i < guessCounts.length; i++) {
+                guessCounts[i] += other.guessCounts[i];
+            }
+        }
+
+        /**
+         * Gets the number of games played.
+         *
+         * @return The number of games.
+         */
+        public long getGames() {
+            return games;
+        }
+
+        /**
+         * Gets the number of games won.
+         *
+         * @return The number of wins.
+         */
+        public long getWins() {
+            return wins;
+        }
+
+        /**
+         * Gets the share of games won.
+         *
+         * @return The win rate, between 0 and 1.
+         */
+        public double getWinRate() {
+            return games > 0 ? (double) wins / games : 0;
+        }
+
+        /**
+         * Gets the number of games won with a given number of guesses.
+         *
+         * @param guesses The number of guesses.
+         * @requires 1 <= guesses && guesses <= the number of guesses in a game
+         * @return The number of games won with exactly that many guesses.
+         */
+        public long getWinsInGuesses(int guesses) {
+            return guessCounts[guesses];
+        }
+
+        /**
+         * Gets the average number of guesses in the games won.
+         *
+         * @return The average number of guesses, or 0 if no game was won.
+         */
+        public double getAverageGuesses() {
+            long total = 0;
+            for (int i = 1; i < guessCounts.length; i++) {
+                total += i * guessCounts[i];
+            }
+            return wins > 0 ? (double) total / wins : 0;
+        }
+
+        /**
+         * Gets the throughput of the run.
+         *
+         * @return The number of games played per second.
+         */
+        public double getGamesPerSecond() {
+            return elapsedNanos > 0 ? games * 1e9 / elapsedNanos : 0;
+        }
+
+        /**
+         * Describes the result in a few lines: throughput, win rate and the distribution of guesses.
+         *
+         * @return The description.
+         */
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append(String.format("games: %d in %.2f s (%.0f games/s)%n", games, elapsedNanos / 1e9, getGamesPerSecond()));
+            builder.append(String.format("win rate: %.4f, average guesses: %.3f%n", getWinRate(), getAverageGuesses()));
+            for (int i = 1; i < guessCounts.length; i++) {
+                builder.append(String.format("%d: %d%n", i, guessCounts[i]));
+            }
+            builder.append(String.format("lost: %d", games - wins));
+            return builder.toString();
+        }
+    }
+
+    /**
+     * Plays a number of complete games and counts the results.
+     *
+     * @param games The number of games to play.
+     * @requires games >= 0
+     * @return The result of the run.
+     * @throws InterruptedException If the run is interrupted.
+     */
+    public Result run(long games) throws InterruptedException {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "numberle-simulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Result result = new Result(variant.getMaxAttempts());
+        try {
+            List<Future<Result>> parts = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                long share = games / threads + (i < games % threads ? 1 : 0);   // Spreads the remainder over the first workers
+                parts.add(executor.submit(() -> play(share)));
+            }
+            for (Future<Result> part : parts) {
+                result.merge(part.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    /**
+     * Plays games on the current thread with a model of its own.
+     *
+     * @param games The number of games to play.
+     * @return The counts of these games.
+     */
+    private Result play(long games) {
+        NumberleModel model = new NumberleModel(variant, dictionary);
+        model.setRandomSelect(true);   // Every game needs a dictionary target
+        Result result = new Result(variant.getMaxAttempts());
+        for (long g = 0; g < games; g++) {
+            model.startNewGame();
+            while (!model.isGameOver()) {
+                String guess = strategy.nextGuess(model);
+                if (guess == null || model.submitGuess(guess) < 0) {
+                    break;   // The strategy gave up or made an invalid guess, which counts as a loss
+                }
+            }
+            result.games++;
+            if (model.isGameWon()) {
+                result.wins++;
+                result.guessCounts[model.getMaxAttempts() - model.getRemainingAttempts()]++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Runs a simulation from the command line and prints its result.
+     *
+     * @param args The number of games (default 100000), the strategy "first", "random" or "solver"
+     *             (default "first"), the number of threads (default one per core) and the variant (default "7x6").
+     * @throws InterruptedException If the run is interrupted.
+     * @throws IOException If the dictionary of the variant cannot be generated or loaded.
+     */
+    public static void main(String[] args) throws InterruptedException, IOException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        String strategyName = args.length > 1 ? args[1] : "first";
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        NumberleVariant variant = args.length > 3 ? NumberleVariant.parse(args[3]) : NumberleVariant.CLASSIC;
+
+        EquationDictionary dictionary = variant.generateDictionary(System.out);   // Generated once if missing
+        GameSimulator simulator = new GameSimulator(variant, dictionary, GuessStrategy.named(strategyName, dictionary), threads);
+        System.out.println("variant: " + variant + ", strategy: " + strategyName + ", threads: " + threads + ", dictionary: " + dictionary.size());
+        System.out.println(simulator.run(games));
+    }
+}
@@ -0,0 +1,46 @@
+// Importing the necessary classes for JUnit testing
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.*;
+
+
+public class GameSimulatorTest {
+    /**
+     * Test to verify that every simulated game is counted once, and every win under the number of guesses it took.
+     *
+     * @requires the equations file is present in the working directory
+     * @ensures the simulator plays exactly the games asked for, and the wins per number of guesses add up
+     */
+    @Test
+    public void simulator_CountsEveryGame_Test() throws IOException, InterruptedException {
+        EquationDictionary dictionary = EquationDictionary.importText(
+                Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+        GameSimulator.Result result = new GameSimulator(dictionary, GuessStrategy.randomCandidate(), 3).run(1000);
+        assertEquals(1000, result.getGames());
+        long won = 0;
+        for (int i = 1; i <= INumberleModel.MAX_ATTEMPTS; i++) {
+            won += result.getWinsInGuesses(i);
+        }
+        assertEquals(result.getWins(), won);
+        assertTrue(result.getWinRate() > 0.5);
+    }
+
+    /**
+     * Test to verify that games played with the solver's suggestions are all won.
+     *
+     * @requires the equations file is present in the working directory
+     * @ensures every game is won within MAX_ATTEMPTS guesses
+     */
+    @Test
+    public void simulator_SolverAlwaysWins_Test() throws IOException, InterruptedException {
+        EquationDictionary dictionary = EquationDictionary.importText(
+                Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+        GameSimulator.Result result = new GameSimulator(dictionary, GuessStrategy.named("solver", dictionary), 2).run(50);
+        assertEquals(50, result.getWins());
+        assertTrue(result.getAverageGuesses() <= INumberleModel.MAX_ATTEMPTS);
+    }
+}
@@ -0,0 +1,246 @@
+// GameStatistics.java
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps live statistics of finished games: per target number, how often it was played, won and in how
+ * many guesses, and per player, the games played and won and the current and best winning streaks.
+ * It listens to the outcomes of any number of models at once and updates the numbers as each game ends,
+ * with striped counters and per-key entries so concurrent sessions never wait on a global lock.
+ * Subscribe it as a lossless listener, so no outcome is lost when events pile up.
+ * Looking up a target or a player is a single hash lookup; history is never rescanned.
+ */
+public class GameStatistics implements ModelListener {
+    private final Map<String, TargetStats> targets = new ConcurrentHashMap<>(); // Statistics by target number
+    private final Map<String, PlayerStats> players = new ConcurrentHashMap<>(); // Statistics by player ID
+    private final int maxAttempts;                                            // Most guesses a game can take
+
+    /**
+     * Constructs statistics for games of the default number of attempts.
+     */
+    public GameStatistics() {
+        this(INumberleModel.MAX_ATTEMPTS);
+    }
+
+    /**
+     * Constructs statistics for games of a given number of attempts.
+     *
+     * @param maxAttempts The most guesses a game can take.
+     * @requires maxAttempts > 0
+     */
+    public GameStatistics(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * The statistics of one target number.
+     */
+    public static final class TargetStats {
+        private final LongAdder plays = new LongAdder();     // Finished games with this target
+        private final LongAdder wins = new LongAdder();      // Games won
+        private final LongAdder guessSum = new LongAdder();  // Total guesses of the games won
+        private final LongAdder[] guessCounts;               // Games won by number of guesses
+
+        /**
+         * Constructs empty statistics.
+         *
+         * @param maxAttempts The most guesses a game can take.
+         */
+        TargetStats(int maxAttempts) {
+            guessCounts = new LongAdder[maxAttempts + 1];
+            for (int i = 0; i < guessCounts.length; i++) {
+                guessCounts[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Gets the number of finished games with this target.
+         *
+         * @return The number of plays.
+         */
+        public long getPlays() {
+            return plays.sum();
+        }
+
+        /**
+         * Gets the number of games with this target that were won.
+         *
+         * @return The number of wins.
+         */
+        public long getWins() {
+            return wins.sum();
+        }
+
+        /**
+         * Gets the share of games with this target that were won.
+         *
+         * @return The win rate, between 0 and 1.
+         */
+        public double getWinRate() {
+            long n = plays.sum();
+            return n > 0 ? (double) wins.sum() / n : 0;
+        }
+
+        /**
+         * Gets the average number of guesses in the games won.
+         *
+         * @return The mean number of guesses, or 0 if no game was won.
+         */
+        public double getMeanGuesses() {
+            long n = wins.sum();
+            return n > 0 ? (double) guessSum.sum() / n : 0;
+        }
+
+        /**
+         * Gets the number of games won with a given number of guesses.
+         *
+         * @param guesses The number of guesses.
+         * @return The number of games won with exactly that many guesses.
+         */
+        public long getWinsInGuesses(int guesses) {
+            return guesses >= 0 && guesses < guessCounts.length ? guessCounts[guesses].sum() : 0;
+        }
+    }
+
+    /**
+     * The statistics of one player.
+     */
+    public static final class PlayerStats {
+        private final LongAdder played = new LongAdder();                 // Finished games
+        private final LongAdder won = new LongAdder();                    // Games won
+        private final AtomicInteger currentStreak = new AtomicInteger();  // Games won in a row up to the last one
+        private final AtomicInteger bestStreak = new AtomicInteger();     // Longest winning streak
+
+        /**
+         * Gets the number of games the player finished.
+         *
+         * @return The number of games played.
+         */
+        public long getPlayed() {
+            return played.sum();
+        }
+
+        /**
+         * Gets the number of games the player won.
+         *
+         * @return The number of games won.
+         */
+        public long getWon() {
+            return won.sum();
+        }
+
+        /**
+         * Gets the number of games the player has won in a row, up to the last one.
+         *
+         * @return The current winning streak.
+         */
+        public int getCurrentStreak() {
+            return currentStreak.get();
+        }
+
+        /**
+         * Gets the longest winning streak of the player.
+         *
+         * @return The best winning streak.
+         */
+        public int getBestStreak() {
+            return bestStreak.get();
+        }
+    }
+
+    /**
+     * Counts the outcomes in a batch of events that are not tied to a player.
+     *
+     * @param events The events, in the order they happened.
+     */
+    @Override
+    public void onEvents(List<ModelEvent> events) {
+        for (ModelEvent event : events) {
+            record(event, null);
+        }
+    }
+
+    /**
+     * Gets a listener that counts the outcomes of a player's games, both per target and for the player.
+     * Subscribe it to the model the player plays on with {@link INumberleModel#addLosslessModelListener(ModelListener)}.
+     *
+     * @param playerId The ID of the player.
+     * @requires playerId != null
+     * @return The listener.
+     */
+    public ModelListener forPlayer(String playerId) {
+        PlayerStats player = players.computeIfAbsent(playerId, id -> new PlayerStats());
+        return events -> {
+            for (ModelEvent event : events) {
+                record(event, player);
+            }
+        };
+    }
+
+    /**
+     * Counts an event if it ends a game.
+     *
+     * @param event  The event.
+     * @param player The player of the game, or null if unknown.
+     */
+    private void record(ModelEvent event, PlayerStats player) {
+        boolean won = event.getType() == ModelEvent.Type.GAME_WON;
+        if (!won && event.getType() != ModelEvent.Type.GAME_LOST) {
+            return;
+        }
+        TargetStats target = targets.computeIfAbsent(event.getTarget(), t -> new TargetStats(maxAttempts));
+        target.plays.increment();
+        if (won) {
+            int guesses = event.getAttempt() + 1;
+            target.wins.increment();
+            target.guessSum.add(guesses);
+            if (guesses < target.guessCounts.length) {
+                target.guessCounts[guesses].increment();
+            }
+        }
+
+        if (player != null) {
+            player.played.increment();
+            if (won) {
+                player.won.increment();
+                int streak = player.currentStreak.incrementAndGet();
+                player.bestStreak.accumulateAndGet(streak, Math::max);
+            } else {
+                player.currentStreak.set(0);
+            }
+        }
+    }
+
+    /**
+     * Gets the statistics of a target number.
+     *
+     * @param target The target number.
+     * @return The statistics, or null if no game with that target has finished.
+     */
+    public TargetStats getTarget(String target) {
+        return targets.get(target);
+    }
+
+    /**
+     * Gets the statistics of a player.
+     *
+     * @param playerId The ID of the player.
+     * @return The statistics, or null if the player is unknown.
+     */
+    public PlayerStats getPlayer(String playerId) {
+        return players.get(playerId);
+    }
+
+    /**
+     * Gets the number of target numbers with at least one finished game.
+     *
+     * @return The number of targets.
+     */
+    public int getTargetCount() {
+        return targets.size();
+    }
+}
@@ -0,0 +1,97 @@
+// Importing the necessary classes for JUnit testing
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+
+public class GameStatisticsTest {
+    /**
+     * Test to verify that the outcomes of games are counted per target, and other events are ignored.
+     *
+     * @requires statistics that have not seen any game
+     * @ensures plays, wins, the mean number of guesses and the wins per number of guesses match the outcomes
+     */
+    @Test
+    public void target_CountsOutcomes_Test() {
+        GameStatistics statistics = new GameStatistics();
+        statistics.onEvents(List.of(
+                new ModelEvent(ModelEvent.Type.NEW_GAME, null, 1, 0, null, 0, "6+4=2*5"),
+                outcome(true, 1, "6+4=2*5"),
+                outcome(true, 3, "6+4=2*5"),
+                outcome(false, 5, "6+4=2*5"),
+                outcome(true, 0, "1+2=3+0")));
+        GameStatistics.TargetStats target = statistics.getTarget("6+4=2*5");
+        assertEquals(3, target.getPlays());
+        assertEquals(2, target.getWins());
+        assertEquals(2.0 / 3, target.getWinRate(), 1e-9);
+        assertEquals(3.0, target.getMeanGuesses(), 1e-9);
+        assertEquals(1, target.getWinsInGuesses(2));
+        assertEquals(1, target.getWinsInGuesses(4));
+        assertEquals(0, target.getWinsInGuesses(6));
+        assertEquals(2, statistics.getTargetCount());
+        assertNull(statistics.getTarget("9-8=1+0"));
+    }
+
+    /**
+     * Test to verify that a player's winning streaks carry across batches of events.
+     *
+     * @requires statistics that have not seen any game
+     * @ensures a loss ends the current streak and the best streak is kept
+     */
+    @Test
+    public void player_Streaks_Test() {
+        GameStatistics statistics = new GameStatistics();
+        ModelListener alice = statistics.forPlayer("alice");
+        alice.onEvents(List.of(outcome(true, 2, "6+4=2*5"), outcome(true, 2, "6+4=2*5"), outcome(true, 2, "6+4=2*5")));
+        alice.onEvents(List.of(outcome(false, 5, "6+4=2*5"), outcome(true, 2, "6+4=2*5")));
+        GameStatistics.PlayerStats player = statistics.getPlayer("alice");
+        assertEquals(5, player.getPlayed());
+        assertEquals(4, player.getWon());
+        assertEquals(1, player.getCurrentStreak());
+        assertEquals(3, player.getBestStreak());
+        assertEquals(5, statistics.getTarget("6+4=2*5").getPlays());
+    }
+
+    /**
+     * Test to verify that a game played on a model is counted once, however many guesses follow its end.
+     *
+     * @requires a model with the statistics as a lossless listener
+     * @ensures guesses after the win are rejected and do not count as new plays
+     */
+    @Test
+    public void model_GuessesAfterWin_Test() throws InterruptedException {
+        GameStatistics statistics = new GameStatistics();
+        NumberleModel model = new NumberleModel();   // Creating an instance of the NumberleModel class
+        model.addLosslessModelListener(statistics.forPlayer("bob"));
+        model.startNewGame();
+        String target = model.getTargetNumber();
+        model.submitGuess(target);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(-EquationEvaluator.GAME_OVER, model.submitGuess(target));
+        }
+
+        GameStatistics.PlayerStats player = statistics.getPlayer("bob");
+        for (int i = 0; i < 100 && player.getPlayed() == 0; i++) {
+            Thread.sleep(50);   // Outcomes are delivered asynchronously
+        }
+        Thread.sleep(100);   // Leaves time for any wrongly published outcome to arrive
+        assertEquals(1, player.getPlayed());
+        assertEquals(1, player.getWon());
+        assertEquals(1, statistics.getTarget(target).getPlays());
+    }
+
+    /**
+     * Creates the event that ends a game.
+     *
+     * @param won     True if the game was won, false if it was lost.
+     * @param attempt The index of the last guess.
+     * @param target  The target number.
+     * @return A GAME_WON or GAME_LOST event.
+     */
+    private static ModelEvent outcome(boolean won, int attempt, String target) {
+        return new ModelEvent(won ? ModelEvent.Type.GAME_WON : ModelEvent.Type.GAME_LOST, null, 1, attempt, target, 0, target);
+    }
+}
@@ -0,0 +1,83 @@
+// GuessStrategy.java
+
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the next guess of a game, for players that are programs rather than people.
+ * A strategy may be called from many threads at once, each with its own model.
+ */
+public interface GuessStrategy {
+    /**
+     * Picks the next guess for the current game of a model.
+     *
+     * @param model The game model, with the guesses and feedback so far.
+     * @requires model != null && !model.isGameOver()
+     * @return The guess, or null to give up the game.
+     */
+    String nextGuess(INumberleModel model);
+
+    /**
+     * Gets the strategy that always guesses the first equation still consistent with the feedback.
+     *
+     * @return The strategy.
+     */
+    static GuessStrategy firstCandidate() {
+        return model -> {
+            PrimitiveIterator.OfInt candidates = model.getRemainingCandidates().iterator();
+            return candidates.hasNext() ? model.getDictionary().get(candidates.nextInt()) : null;
+        };
+    }
+
+    /**
+     * Gets the strategy that guesses a random equation still consistent with the feedback.
+     *
+     * @return The strategy.
+     */
+    static GuessStrategy randomCandidate() {
+        return model -> {
+            CandidateIndex.Candidates candidates = model.getRemainingCandidates();
+            int count = candidates.count();
+            if (count == 0) {
+                return null;
+            }
+            PrimitiveIterator.OfInt iterator = candidates.iterator();
+            for (int skip = ThreadLocalRandom.current().nextInt(count); skip > 0; skip--) {
+                iterator.nextInt();
+            }
+            return model.getDictionary().get(iterator.nextInt());
+        };
+    }
+
+    /**
+     * Gets the strategy that guesses the suggestion of a solver.
+     *
+     * @param solver The solver, built over the same dictionary as the models.
+     * @requires solver != null
+     * @return The strategy.
+     */
+    static GuessStrategy solver(NumberleSolver solver) {
+        return solver::suggest;
+    }
+
+    /**
+     * Gets a built-in strategy by name.
+     *
+     * @param name One of "first", "random" or "solver".
+     * @param dictionary The dictionary the models use.
+     * @return The strategy.
+     * @throws IllegalArgumentException If there is no strategy with that name.
+     */
+    static GuessStrategy named(String name, EquationDictionary dictionary) {
+        switch (name) {
+            case "first":
+                return firstCandidate();
+            case "random":
+                return randomCandidate();
+            case "solver":
+                return solver(NumberleSolver.of(dictionary));
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+}
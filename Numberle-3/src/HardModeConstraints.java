@@ -0,0 +1,143 @@
+// HardModeConstraints.java
+
+import java.util.Arrays;
+
+/**
+ * What the feedback of a game so far says about its target, for hard mode, where every guess must
+ * be consistent with all earlier feedback. The constraints are kept compactly and updated with each
+ * guess instead of replaying the history: one mask per position of the symbols still allowed there,
+ * and for each symbol the least and greatest number of times it can appear. A CORRECT symbol is the
+ * only one allowed at its position; a PRESENT or ABSENT one is not allowed at its position. A symbol
+ * appears at least as often as it was CORRECT or PRESENT in one guess, and exactly that often if
+ * another copy of it was ABSENT. These are exactly the targets that would have given the same
+ * feedback (see {@link Feedback#compute(char[], char[], int, int[])}), so checking a guess costs
+ * the same however long the game has been going.
+ * Constraints are not thread-safe; each model keeps its own.
+ */
+public final class HardModeConstraints {
+    private static final int ALL_SYMBOLS = (1 << Symbols.COUNT) - 1; // Mask with every symbol allowed
+
+    private final int width;         // Number of characters in every equation
+    private final int[] allowed;     // [position]: mask of the symbol indexes still allowed there
+    private final byte[] minCount;   // [symbol]: least number of times the symbol appears in the target
+    private final byte[] maxCount;   // [symbol]: greatest number of times the symbol appears in the target
+    private final int[] counts = new int[Symbols.COUNT]; // Reusable symbol counts of a guess
+
+    /**
+     * Constructs constraints that allow every equation of a width.
+     *
+     * @param width The number of characters in every equation.
+     * @requires 0 < width && width <= NumberleVariant.MAX_LENGTH
+     */
+    public HardModeConstraints(int width) {
+        this.width = width;
+        this.allowed = new int[width];
+        this.minCount = new byte[Symbols.COUNT];
+        this.maxCount = new byte[Symbols.COUNT];
+        reset();
+    }
+
+    /**
+     * Forgets every constraint, for the start of a new game.
+     *
+     * @ensures allows(guess) for every guess of the width made of alphabet symbols
+     */
+    public void reset() {
+        Arrays.fill(allowed, ALL_SYMBOLS);
+        Arrays.fill(minCount, (byte) 0);
+        Arrays.fill(maxCount, (byte) width);
+    }
+
+    /**
+     * Narrows the constraints by the feedback a guess received.
+     *
+     * @param guess    The characters of the guess.
+     * @param feedback The packed feedback of the guess.
+     * @requires guess.length >= width
+     */
+    public void apply(char[] guess, int feedback) {
+        Arrays.fill(counts, 0);
+        int absent = 0;   // Mask of the symbols with an ABSENT copy in this guess
+        for (int p = 0; p < width; p++) {
+            int symbol = Symbols.indexOf(guess[p]);
+            if (symbol < 0) {
+                continue;   // Not an equation symbol, so it says nothing about the target
+            }
+            int code = Feedback.get(feedback, p);
+            if (code == Feedback.CORRECT) {
+                allowed[p] = 1 << symbol;
+            } else {
+                allowed[p] &= ~(1 << symbol);
+            }
+            if (code == Feedback.ABSENT) {
+                absent |= 1 << symbol;
+            } else {
+                counts[symbol]++;
+            }
+        }
+        for (int symbol = 0; symbol < Symbols.COUNT; symbol++) {
+            if (counts[symbol] > minCount[symbol]) {
+                minCount[symbol] = (byte) counts[symbol];
+            }
+            if ((absent & (1 << symbol)) != 0 && counts[symbol] < maxCount[symbol]) {
+                maxCount[symbol] = (byte) counts[symbol];   // Every copy of the symbol in the target was matched
+            }
+        }
+    }
+
+    /**
+     * Checks whether a guess is consistent with all the feedback applied so far.
+     *
+     * @param guess The characters of the guess.
+     * @requires guess.length >= width
+     * @return True if the target could be the guess, otherwise false.
+     */
+    public boolean allows(char[] guess) {
+        Arrays.fill(counts, 0);
+        for (int p = 0; p < width; p++) {
+            int symbol = Symbols.indexOf(guess[p]);
+            if (symbol < 0 || (allowed[p] & (1 << symbol)) == 0) {
+                return false;
+            }
+            counts[symbol]++;
+        }
+        for (int symbol = 0; symbol < Symbols.COUNT; symbol++) {
+            if (counts[symbol] < minCount[symbol] || counts[symbol] > maxCount[symbol]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the symbols still allowed at a position.
+     *
+     * @param position The position.
+     * @return The mask with bit i set if symbol {@code Symbols.ALPHABET[i]} is allowed there.
+     */
+    public int allowedAt(int position) {
+        return allowed[position];
+    }
+
+    /**
+     * Gets the least number of times a symbol appears in the target.
+     *
+     * @param symbol The symbol.
+     * @requires symbol is in Symbols.ALPHABET
+     * @return The least count.
+     */
+    public int minCount(char symbol) {
+        return minCount[Symbols.indexOf(symbol)];
+    }
+
+    /**
+     * Gets the greatest number of times a symbol appears in the target.
+     *
+     * @param symbol The symbol.
+     * @requires symbol is in Symbols.ALPHABET
+     * @return The greatest count.
+     */
+    public int maxCount(char symbol) {
+        return maxCount[Symbols.indexOf(symbol)];
+    }
+}
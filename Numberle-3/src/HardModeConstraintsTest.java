@@ -0,0 +1,101 @@
+// Importing the necessary classes for JUnit testing
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+public class HardModeConstraintsTest {
+    /**
+     * Test to verify that the incremental constraints allow exactly the equations consistent with every
+     * earlier feedback, checked by replaying the whole history, over random games of the equations file.
+     *
+     * @requires the equations file is present in the working directory
+     * @ensures allows(candidate) holds exactly when the candidate would have given every feedback so far
+     */
+    @Test
+    public void allows_MatchesHistory_Test() throws IOException {
+        EquationDictionary dictionary = EquationDictionary.importText(
+                Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+        int size = dictionary.size();
+        char[][] equations = new char[size][7];
+        for (int i = 0; i < size; i++) {
+            dictionary.copyTo(i, equations[i]);
+        }
+        Random random = new Random(22);
+        HardModeConstraints constraints = new HardModeConstraints(7);
+
+        for (int game = 0; game < 300; game++) {
+            constraints.reset();
+            char[] target = equations[random.nextInt(size)];
+            char[][] guesses = new char[4][];
+            int[] feedbacks = new int[4];
+            for (int attempt = 0; attempt < guesses.length; attempt++) {
+                guesses[attempt] = equations[random.nextInt(size)];
+                feedbacks[attempt] = Feedback.compute(target, guesses[attempt], 7);
+                constraints.apply(guesses[attempt], feedbacks[attempt]);
+
+                assertTrue("The target is always allowed", constraints.allows(target));
+                for (char[] candidate : equations) {
+                    boolean consistent = true;
+                    for (int i = 0; i <= attempt && consistent; i++) {
+                        consistent = Feedback.compute(candidate, guesses[i], 7) == feedbacks[i];
+                    }
+                    assertEquals(new String(candidate), consistent, constraints.allows(candidate));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test to verify the masks and counts kept for a guess with a repeated symbol.
+     *
+     * @ensures a CORRECT symbol fixes its position and an ABSENT copy caps the count of its symbol
+     */
+    @Test
+    public void apply_Counts_Test() {
+        HardModeConstraints constraints = new HardModeConstraints(7);
+        char[] guess = "2+2=4*4".toCharArray();
+        constraints.apply(guess, Feedback.compute("6+4=2*5".toCharArray(), guess, 7));   // ?√×√?√×
+
+        assertEquals(1 << Symbols.indexOf('+'), constraints.allowedAt(1));
+        assertEquals(0, constraints.allowedAt(0) & (1 << Symbols.indexOf('2')));
+        assertEquals(1, constraints.minCount('2'));
+        assertEquals(1, constraints.maxCount('2'));
+        assertEquals(1, constraints.minCount('4'));
+        assertEquals(7, constraints.maxCount('9'));
+    }
+
+    /**
+     * Test to verify that a model in hard mode rejects a guess that ignores earlier feedback, without using an attempt.
+     *
+     * @requires a model whose target is the default target number
+     * @ensures the guess is rejected with HARD_MODE_VIOLATION and accepted again outside hard mode
+     */
+    @Test
+    public void model_HardMode_Test() {
+        NumberleModel model = new NumberleModel();
+        model.setRandomSelect(false);   // The target is 6+4=2*5
+        model.setHardMode(true);
+        model.initialize();
+        assertTrue(model.processInput("1+2=3-0"));   // ×√?√×××
+        int remaining = model.getRemainingAttempts();
+
+        assertEquals(-EquationEvaluator.HARD_MODE_VIOLATION, model.submitGuess("1+2=3-0"));   // Uses grey symbols again
+        assertEquals(-EquationEvaluator.HARD_MODE_VIOLATION, model.submitGuess("9-7=2+0"));   // Drops the green '+'
+        assertEquals(remaining, model.getRemainingAttempts());
+        assertEquals(-EquationEvaluator.HARD_MODE_VIOLATION, model.submitGuess("2+4=6*1"));   // Uses the grey '1'
+        assertTrue(model.processInput("8+4=6*2"));   // Keeps '+' and '=', and moves '2'
+        assertTrue(model.processInput("6+4=2*5"));
+        assertTrue(model.isGameWon());
+
+        model.startNewGame();
+        assertTrue("Constraints are cleared by a new game", model.processInput("1+2=3-0"));
+        model.setHardMode(false);
+        assertTrue(model.processInput("1+2=3-0"));
+    }
+}
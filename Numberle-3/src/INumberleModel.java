@@ -8,9 +8,10 @@ import java.util.Set;
  * necessary for managing game states and player interactions.
  */
 public interface INumberleModel {
-    int MAX_ATTEMPTS = 6; // Maximum number of attempts in the game
-    int EQUATION_LENGTH = 7; // Length of the number puzzle
+    int MAX_ATTEMPTS = 6; // Maximum number of attempts in the classic game (see NumberleVariant)
+    int EQUATION_LENGTH = 7; // Length of the number puzzle in the classic game
     String GUESS_EQUATIONS_FILE = "equations.txt"; // File name to store guessed equations
+    String GUESS_EQUATIONS_DICTIONARY = "equations.bin"; // Binary equation dictionary, used instead of the text file when present
     boolean FLAG_SHOW_ERROR_EQUATION = true; // Whether to show incorrect equations
 
 
@@ -30,6 +31,61 @@ public interface INumberleModel {
      */
     boolean processInput(String input);
 
+    /**
+     * Processes user input and returns the feedback as a packed int with two bits per position.
+     *
+     * @param input the user input string
+     * @requires input != null
+     * @ensures \result >= 0 if input is valid according to game rules
+     * @return the packed feedback (see {@link Feedback}) if the input is valid,
+     *         otherwise the negated {@link EquationEvaluator} result code, {@link EquationEvaluator#GAME_OVER}
+     *         once the game has been won or lost
+     */
+    int submitGuess(String input);
+
+    /**
+     * Retrieves the packed feedback of the last valid guess, the canonical form of {@link #getCurrentGuess()}.
+     *
+     * @ensures \result >= 0
+     * @return the packed feedback, or 0 if no guess has been made in this game
+     */
+    int getFeedback();
+
+    /**
+     * Retrieves one of the valid guesses made in the current game.
+     *
+     * @param attempt the index of the guess, starting at 0
+     * @requires 0 <= attempt && attempt < getMaxAttempts() - getRemainingAttempts()
+     * @ensures \result != null
+     * @return the guess
+     */
+    String getGuess(int attempt);
+
+    /**
+     * Retrieves the packed feedback of one of the valid guesses made in the current game.
+     *
+     * @param attempt the index of the guess, starting at 0
+     * @requires 0 <= attempt && attempt < getMaxAttempts() - getRemainingAttempts()
+     * @return the packed feedback of the guess
+     */
+    int getFeedback(int attempt);
+
+    /**
+     * Retrieves the dictionary the target equations are picked from.
+     *
+     * @ensures \result != null
+     * @return the equation dictionary
+     */
+    EquationDictionary getDictionary();
+
+    /**
+     * Retrieves the dictionary equations still consistent with the feedback of the current game.
+     *
+     * @ensures \result.contains(index of the target) if the target was picked from the dictionary
+     * @return a candidate set of the caller's own, which it may narrow further
+     */
+    CandidateIndex.Candidates getRemainingCandidates();
+
     /**
      * Checks if the game is over, either by reaching the maximum number of attempts
      * or by solving the puzzle.
@@ -71,12 +127,74 @@ public interface INumberleModel {
      */
     int getRemainingAttempts();
 
+    /**
+     * Retrieves the number of characters in every equation of the game.
+     *
+     * @ensures \result > 0
+     * @return the equation length, EQUATION_LENGTH for the classic game
+     */
+    int getEquationLength();
+
+    /**
+     * Retrieves the number of guesses the player has in a game.
+     *
+     * @ensures \result > 0
+     * @return the number of attempts, MAX_ATTEMPTS for the classic game
+     */
+    int getMaxAttempts();
+
     /**
      * Resets the game to its initial state for a new round.
      * @ensures the game is reset to start conditions
      */
     void startNewGame();
 
+    /**
+     * Starts a new game whose target is a chosen dictionary equation, such as the puzzle of the day.
+     * @param targetIndex the index of the target number in the dictionary
+     * @ensures the game is reset to start conditions with that target
+     */
+    void startNewGame(int targetIndex);
+
+    /**
+     * Switches hard mode on or off. In hard mode, a guess that contradicts earlier feedback of the game is
+     * rejected with {@link EquationEvaluator#HARD_MODE_VIOLATION}.
+     *
+     * @param hardMode true for hard mode, false for normal play
+     */
+    void setHardMode(boolean hardMode);
+
+    /**
+     * Checks whether the game is in hard mode.
+     *
+     * @return true if every guess must be consistent with earlier feedback, false otherwise
+     */
+    boolean isHardMode();
+
+    /**
+     * Gets the keyboard colour of a symbol, which only ever moves from grey to yellow to green within a game.
+     *
+     * @param symbol the symbol
+     * @return the best feedback code the symbol has had in this game (see {@link Feedback}), or NONE if not guessed yet
+     */
+    int getKeyState(char symbol);
+
+    /**
+     * Gets the keyboard colours of every symbol as one value.
+     *
+     * @ensures \result == 0 at the start of a game
+     * @return the packed keyboard state, two bits per symbol in the order of {@link Symbols#ALPHABET}
+     */
+    int getKeyboardState();
+
+    /**
+     * Gets the symbols with one keyboard colour as a bitmask.
+     *
+     * @param code the feedback code of the colour, such as {@link Feedback#CORRECT}
+     * @return the mask with bit i set if symbol {@code Symbols.ALPHABET[i]} has that colour
+     */
+    int getKeyMask(int code);
+
     /**
      * Gets the set of grey letters indicating incorrect guesses.
      *
@@ -100,4 +218,31 @@ public interface INumberleModel {
      * @return the set of green letters
      */
     Set<String> getGreenLetters();
+
+    /**
+     * Adds a listener that is told about new games, applied guesses, wins and losses.
+     * Listeners are called asynchronously and never block the model.
+     *
+     * @param listener the listener
+     * @param coalesce true to deliver only the latest event of each burst, false to deliver every event
+     * @requires listener != null
+     */
+    void addModelListener(ModelListener listener, boolean coalesce);
+
+    /**
+     * Adds a listener that must be told about every event, such as a game log or statistics.
+     * Like other listeners it is called asynchronously, but its events are never dropped, however far it falls behind.
+     *
+     * @param listener the listener
+     * @requires listener != null
+     */
+    void addLosslessModelListener(ModelListener listener);
+
+    /**
+     * Removes a listener added with {@link #addModelListener(ModelListener, boolean)} or
+     * {@link #addLosslessModelListener(ModelListener)}.
+     *
+     * @param listener the listener
+     */
+    void removeModelListener(ModelListener listener);
 }
\ No newline at end of file
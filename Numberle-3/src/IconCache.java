@@ -0,0 +1,235 @@
+// IconCache.java
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Decodes and scales the button icons once per size and keeps them for the whole process.
+ * Icons are read from a single sprite atlas when one has been packed (see {@link #main(String[])}),
+ * otherwise from the individual PNG files. Decoding can be started in the background at startup
+ * with {@link #preload(int...)}, and the Event Dispatch Thread is handed each icon when it is ready
+ * instead of waiting for it.
+ */
+public final class IconCache {
+    public static final String DIRECTORY = "./resources/buttons/";   // Directory of the button images
+    public static final String ATLAS_IMAGE = DIRECTORY + "atlas.png";             // The packed sprite atlas
+    public static final String ATLAS_INDEX = DIRECTORY + "atlas.properties";      // Position of each icon in the atlas
+    public static final String[] ICON_NAMES = {   // Every button icon, by file name without ".png"
+            "0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "+", "-", "×", "÷", "=", "Enter", "◀——"
+    };
+
+    private static final Map<String, CompletableFuture<ImageIcon>> ICONS = new ConcurrentHashMap<>(); // Icons by name and size
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "numberle-icons");
+        thread.setDaemon(true);
+        return thread;
+    }); // Decodes icons in the background
+    private static volatile CompletableFuture<Source> source; // The decoded atlas or the individual files
+
+    /**
+     * This class only provides static helpers and is not meant to be instantiated.
+     */
+    private IconCache() {
+    }
+
+    /**
+     * Starts decoding and scaling every button icon for the given sizes in the background.
+     *
+     * @param sizes The icon sizes, in pixels.
+     */
+    public static void preload(int... sizes) {
+        for (int size : sizes) {
+            for (String name : ICON_NAMES) {
+                future(name, size);
+            }
+        }
+    }
+
+    /**
+     * Hands a button icon scaled to a size to an action on the Event Dispatch Thread, once it has been decoded.
+     * If the icon is ready and this is called on the Event Dispatch Thread, the action runs at once;
+     * otherwise it is queued, so the caller never waits for decoding.
+     *
+     * @param name   The name of the icon, its file name without ".png".
+     * @param size   The width and height of the icon, in pixels.
+     * @param action What to do with the icon, which is null if the image could not be loaded.
+     */
+    public static void whenReady(String name, int size, Consumer<ImageIcon> action) {
+        CompletableFuture<ImageIcon> icon = future(name, size);
+        if (icon.isDone() && SwingUtilities.isEventDispatchThread()) {
+            action.accept(icon.join());
+        } else {
+            icon.thenAccept(result -> SwingUtilities.invokeLater(() -> action.accept(result)));
+        }
+    }
+
+    /**
+     * Gets the pending or finished icon for a name and size, starting to load it if needed.
+     *
+     * @param name The name of the icon.
+     * @param size The size of the icon.
+     * @return The future icon.
+     */
+    private static CompletableFuture<ImageIcon> future(String name, int size) {
+        return ICONS.computeIfAbsent(name + '@' + size, key -> source().thenApplyAsync(src -> {
+            BufferedImage image = src.image(name);
+            return image == null ? null : new ImageIcon(scale(image, size));
+        }, LOADER));
+    }
+
+    /**
+     * Gets the source of the images, reading the atlas on first use.
+     *
+     * @return The future source.
+     */
+    private static CompletableFuture<Source> source() {
+        CompletableFuture<Source> result = source;
+        if (result == null) {
+            synchronized (IconCache.class) {
+                result = source;
+                if (result == null) {
+                    result = CompletableFuture.supplyAsync(Source::load, LOADER);
+                    source = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Scales an image to a square of the given size with bicubic interpolation.
+     *
+     * @param image The image.
+     * @param size  The width and height of the result, in pixels.
+     * @return The scaled image, fully decoded.
+     */
+    private static BufferedImage scale(BufferedImage image, int size) {
+        BufferedImage scaled = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(image, 0, 0, size, size, null);
+        g.dispose();
+        return scaled;
+    }
+
+    /**
+     * Where the unscaled images come from: the sprite atlas if it exists, otherwise one file per icon.
+     */
+    private static final class Source {
+        private final BufferedImage atlas;   // The sprite atlas, or null to read individual files
+        private final Properties index;      // Position of each icon in the atlas
+
+        /**
+         * Constructs a source.
+         *
+         * @param atlas The sprite atlas, or null.
+         * @param index The atlas index, or null.
+         */
+        private Source(BufferedImage atlas, Properties index) {
+            this.atlas = atlas;
+            this.index = index;
+        }
+
+        /**
+         * Reads the sprite atlas if it has been packed.
+         *
+         * @return The source.
+         */
+        static Source load() {
+            File image = new File(ATLAS_IMAGE);
+            File indexFile = new File(ATLAS_INDEX);
+            if (image.exists() && indexFile.exists()) {
+                try (Reader reader = new FileReader(indexFile, StandardCharsets.UTF_8)) {
+                    Properties index = new Properties();
+                    index.load(reader);
+                    return new Source(ImageIO.read(image), index);
+                } catch (IOException e) {
+                    System.err.println("Error loading icon atlas: " + e.getMessage()); // Fall back to the individual files
+                }
+            }
+            return new Source(null, null);
+        }
+
+        /**
+         * Gets the unscaled image of an icon.
+         *
+         * @param name The name of the icon.
+         * @return The image, or null if it could not be loaded.
+         */
+        BufferedImage image(String name) {
+            if (atlas != null && index.containsKey(name)) {
+                String[] bounds = index.getProperty(name).split(",");
+                return atlas.getSubimage(Integer.parseInt(bounds[0]), Integer.parseInt(bounds[1]),
+                        Integer.parseInt(bounds[2]), Integer.parseInt(bounds[3]));
+            }
+            try {
+                BufferedImage image = ImageIO.read(new File(DIRECTORY + name + ".png"));
+                if (image == null) {
+                    throw new IOException("Unsupported image format");
+                }
+                return image;
+            } catch (IOException e) {
+                System.err.println("Error loading image " + name + ": " + e.getMessage()); // Print an error message if there was an exception
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Packs every button image into one sprite atlas and writes its index.
+     * The images are placed side by side in a single row.
+     *
+     * @param args The command-line arguments, not used.
+     * @throws IOException If an image cannot be read or the atlas cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        List<BufferedImage> images = new ArrayList<>();
+        int width = 0;
+        int height = 0;
+        for (String name : ICON_NAMES) {
+            BufferedImage image = ImageIO.read(new File(DIRECTORY + name + ".png"));
+            images.add(image);
+            width += image.getWidth();
+            height = Math.max(height, image.getHeight());
+        }
+
+        BufferedImage atlas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Properties index = new Properties();
+        Graphics2D g = atlas.createGraphics();
+        int x = 0;
+        for (int i = 0; i < ICON_NAMES.length; i++) {
+            BufferedImage image = images.get(i);
+            g.drawImage(image, x, 0, null);
+            index.setProperty(ICON_NAMES[i], x + "," + 0 + "," + image.getWidth() + "," + image.getHeight());
+            x += image.getWidth();
+        }
+        g.dispose();
+
+        ImageIO.write(atlas, "png", new File(ATLAS_IMAGE));
+        try (Writer writer = new FileWriter(ATLAS_INDEX, StandardCharsets.UTF_8)) {
+            index.store(writer, "Position of each button icon in " + ATLAS_IMAGE + ": x,y,width,height");
+        }
+        System.out.println("Packed " + ICON_NAMES.length + " icons into " + ATLAS_IMAGE);
+    }
+}
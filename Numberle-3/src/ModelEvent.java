@@ -0,0 +1,116 @@
+// ModelEvent.java
+
+/**
+ * Describes a change in a game model, delivered to listeners by a {@link ModelEventBus}.
+ * Events carry the values of the change itself, so listeners that run later, on another thread,
+ * do not have to read the model again.
+ */
+public final class ModelEvent {
+    /**
+     * The kinds of change a model reports.
+     */
+    public enum Type {
+        NEW_GAME,       // A new game has started
+        GUESS_APPLIED,  // A valid guess has been applied
+        GAME_WON,       // The last guess won the game
+        GAME_LOST       // The last guess used up the attempts without winning
+    }
+
+    private final Type type;              // The kind of change
+    private final INumberleModel source;  // The model that changed
+    private final long gameId;            // The ID of the game, unique within the JVM
+    private final int attempt;            // The index of the guess, or the number of guesses made for NEW_GAME
+    private final String guess;           // The guess, or null for NEW_GAME
+    private final int feedback;           // The packed feedback of the guess, or 0 for NEW_GAME
+    private final String target;          // The target number of the game
+
+    /**
+     * Constructs an event.
+     *
+     * @param type     The kind of change.
+     * @param source   The model that changed.
+     * @param gameId   The ID of the game.
+     * @param attempt  The index of the guess, starting at 0, or the number of guesses made.
+     * @param guess    The guess, or null if the event is not about a guess.
+     * @param feedback The packed feedback of the guess.
+     * @param target   The target number of the game.
+     */
+    public ModelEvent(Type type, INumberleModel source, long gameId, int attempt, String guess, int feedback, String target) {
+        this.type = type;
+        this.source = source;
+        this.gameId = gameId;
+        this.attempt = attempt;
+        this.guess = guess;
+        this.feedback = feedback;
+        this.target = target;
+    }
+
+    /**
+     * Gets the kind of change.
+     *
+     * @return The type of the event.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the model that changed.
+     *
+     * @return The source model.
+     */
+    public INumberleModel getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the ID of the game, unique among all games started in this JVM.
+     *
+     * @return The game ID.
+     */
+    public long getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Gets the index of the guess the event is about.
+     * For GAME_WON and GAME_LOST this is the index of the last guess; for NEW_GAME it is 0.
+     *
+     * @return The attempt index, starting at 0.
+     */
+    public int getAttempt() {
+        return attempt;
+    }
+
+    /**
+     * Gets the guess the event is about.
+     *
+     * @return The guess, or null for NEW_GAME.
+     */
+    public String getGuess() {
+        return guess;
+    }
+
+    /**
+     * Gets the packed feedback of the guess the event is about.
+     *
+     * @return The packed feedback, or 0 for NEW_GAME.
+     */
+    public int getFeedback() {
+        return feedback;
+    }
+
+    /**
+     * Gets the target number of the game.
+     *
+     * @return The target number.
+     */
+    public String getTarget() {
+        return target;
+    }
+
+    @Override
+    public String toString() {
+        return type + "[game " + gameId + ", attempt " + attempt + (guess != null ? ", " + guess : "") + "]";
+    }
+}
@@ -0,0 +1,203 @@
+// ModelEventBus.java
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers the events of a game model to its listeners without blocking the model.
+ * Each listener has its own bounded mailbox. Publishing only adds the event to the mailboxes,
+ * and a shared pool of daemon threads drains each mailbox, handing the listener everything that
+ * has piled up as one batch. A coalescing listener only receives the latest event of each batch,
+ * which suits listeners such as views that redraw from the model's current state. When a slow
+ * listener's mailbox is full, new events for it are dropped and counted rather than waited for.
+ * Listeners that must see every event, such as logs and statistics, are subscribed as lossless
+ * instead: their mailboxes have no bound, so they never lose an event however far they fall behind.
+ * Because the delivery threads are daemons, code that is about to exit, such as a shutdown hook
+ * closing a log, calls {@link #awaitQuiescence(long)} first so the last events are not lost.
+ */
+public class ModelEventBus {
+    public static final int DEFAULT_CAPACITY = 4096; // Largest number of events waiting for one listener
+
+    private static final ExecutorService DISPATCHER = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), task -> {
+                Thread thread = new Thread(task, "numberle-events");
+                thread.setDaemon(true);
+                return thread;
+            }); // Drains the mailboxes of every bus
+
+    private static final AtomicInteger ACTIVE = new AtomicInteger(); // Mailboxes of every bus with a drain pending or running
+    private static final Object QUIET = new Object();                // Notified when the last active mailbox goes idle
+
+    private final List<Mailbox> mailboxes = new CopyOnWriteArrayList<>(); // One mailbox per listener
+    private final LongAdder dropped = new LongAdder();                     // Events dropped because a mailbox was full
+
+    /**
+     * The pending events of one listener.
+     */
+    private final class Mailbox implements Runnable {
+        private final ModelListener listener;                            // The listener the events are for
+        private final boolean coalesce;                                  // Whether only the latest event of a batch is delivered
+        private final boolean lossless;                                  // Whether the mailbox grows instead of dropping events
+        private final Queue<ModelEvent> queue = new ConcurrentLinkedQueue<>(); // Events waiting to be delivered
+        private final AtomicInteger size = new AtomicInteger();          // Number of events in the queue
+        private final AtomicBoolean scheduled = new AtomicBoolean();     // Whether a drain is pending or running
+
+        /**
+         * Constructs a mailbox.
+         *
+         * @param listener The listener the events are for.
+         * @param coalesce Whether only the latest event of a batch is delivered.
+         * @param lossless Whether the mailbox grows instead of dropping events.
+         */
+        Mailbox(ModelListener listener, boolean coalesce, boolean lossless) {
+            this.listener = listener;
+            this.coalesce = coalesce;
+            this.lossless = lossless;
+        }
+
+        /**
+         * Adds an event and makes sure a drain is scheduled.
+         *
+         * @param event The event.
+         */
+        void offer(ModelEvent event) {
+            if (size.incrementAndGet() > DEFAULT_CAPACITY && !lossless) {
+                size.decrementAndGet();
+                dropped.increment();
+                return;
+            }
+            queue.offer(event);
+            if (scheduled.compareAndSet(false, true)) {
+                ACTIVE.incrementAndGet();
+                DISPATCHER.execute(this);
+            }
+        }
+
+        /**
+         * Delivers everything that is waiting as one batch.
+         */
+        @Override
+        public void run() {
+            List<ModelEvent> batch = new ArrayList<>();
+            ModelEvent event;
+            while ((event = queue.poll()) != null) {
+                batch.add(event);
+            }
+            size.addAndGet(-batch.size());
+            try {
+                if (!batch.isEmpty()) {
+                    listener.onEvents(coalesce ? List.of(batch.get(batch.size() - 1)) : batch);
+                }
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // A failing listener must not stop delivery to the others
+            } finally {
+                scheduled.set(false);
+                if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                    DISPATCHER.execute(this); // Events arrived while the listener was busy; the mailbox stays active
+                } else if (ACTIVE.decrementAndGet() == 0) {
+                    synchronized (QUIET) {
+                        QUIET.notifyAll();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a listener that receives every event.
+     *
+     * @param listener The listener.
+     * @requires listener != null
+     */
+    public void subscribe(ModelListener listener) {
+        subscribe(listener, false);
+    }
+
+    /**
+     * Adds a listener.
+     *
+     * @param listener The listener.
+     * @param coalesce True to deliver only the latest event of each batch, false to deliver every event.
+     * @requires listener != null
+     */
+    public void subscribe(ModelListener listener, boolean coalesce) {
+        mailboxes.add(new Mailbox(listener, coalesce, false));
+    }
+
+    /**
+     * Adds a listener that receives every event, with a mailbox that is never full.
+     * Publishing still does not wait for the listener; its pending events are kept in memory until delivered.
+     *
+     * @param listener The listener.
+     * @requires listener != null
+     */
+    public void subscribeLossless(ModelListener listener) {
+        mailboxes.add(new Mailbox(listener, false, true));
+    }
+
+    /**
+     * Removes a listener. Events already waiting for it may still be delivered.
+     *
+     * @param listener The listener.
+     */
+    public void unsubscribe(ModelListener listener) {
+        mailboxes.removeIf(mailbox -> mailbox.listener == listener);
+    }
+
+    /**
+     * Checks whether any listener is subscribed, so publishers can skip building events nobody receives.
+     *
+     * @return True if there is at least one listener, otherwise false.
+     */
+    public boolean hasListeners() {
+        return !mailboxes.isEmpty();
+    }
+
+    /**
+     * Publishes an event to every listener without waiting for them.
+     *
+     * @param event The event.
+     * @requires event != null
+     */
+    public void publish(ModelEvent event) {
+        for (Mailbox mailbox : mailboxes) {
+            mailbox.offer(event);
+        }
+    }
+
+    /**
+     * Waits until every event published so far, on any bus, has been delivered to its listener.
+     *
+     * @param timeoutMillis The longest time to wait, in milliseconds.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     * @return True if every mailbox is empty and idle, false if the time ran out first.
+     */
+    public static boolean awaitQuiescence(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        synchronized (QUIET) {
+            long remaining;
+            while (ACTIVE.get() > 0 && (remaining = deadline - System.nanoTime()) > 0) {
+                QUIET.wait(Math.max(1, remaining / 1_000_000));
+            }
+        }
+        return ACTIVE.get() == 0;
+    }
+
+    /**
+     * Gets the number of events dropped because a listener's mailbox was full.
+     * Lossless listeners never add to it.
+     *
+     * @return The number of dropped events.
+     */
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,18 @@
+// ModelListener.java
+
+import java.util.List;
+
+/**
+ * Receives the events of a game model from a {@link ModelEventBus}.
+ * Events are delivered in batches on a bus thread, never on the thread that changed the model,
+ * and a listener never receives two batches at the same time.
+ */
+public interface ModelListener {
+    /**
+     * Handles a batch of events, in the order they happened.
+     *
+     * @param events the events
+     * @requires events != null && !events.isEmpty()
+     */
+    void onEvents(List<ModelEvent> events);
+}
@@ -1,8 +1,23 @@
+import javax.swing.SwingUtilities;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
 /**
  * The controller class for the Numberle game. This class mediates interactions between the view and the model.
+ * Guesses can be submitted asynchronously, so that validating and applying them never blocks the Swing
+ * Event Dispatch Thread: they run one at a time, in order, on a single worker thread, and their results
+ * are handed back to the thread of the caller's choice.
  */
 public class NumberleController {
     private final INumberleModel model;
+    private final ExecutorService guessWorker = Executors.newSingleThreadExecutor(NumberleController::newWorkerThread); // Applies submitted guesses, one at a time
+    private final AtomicInteger pendingGuesses = new AtomicInteger(); // Guesses submitted whose result has not been delivered
 
     /**
      * Constructs a controller for managing the Numberle game.
@@ -13,6 +28,17 @@ public class NumberleController {
         this.model = model;
     }
 
+    /**
+     * Creates the worker thread that applies submitted guesses.
+     * @param task The task of the worker.
+     * @return A daemon thread, so it never keeps the application alive.
+     */
+    private static Thread newWorkerThread(Runnable task) {
+        Thread thread = new Thread(task, "numberle-guess");
+        thread.setDaemon(true);
+        return thread;
+    }
+
     /**
      * Sets the view for the controller. Currently does not link a specific view component.
      * @todo Implement linking to a specific view component.
@@ -32,6 +58,56 @@ public class NumberleController {
         return !model.processInput(input);
     }
 
+    /**
+     * Submits the player's guess to be processed on the worker thread, and delivers the result on the
+     * Event Dispatch Thread. Results arrive in the order the guesses were submitted.
+     * @param input The player's input guess.
+     * @param onResult Receives the packed feedback, or the negated result code if the guess is invalid.
+     * @param onFailure Receives the exception instead if the model failed to process the guess.
+     * @requires input != null && onResult != null && onFailure != null "The input and the callbacks cannot be null."
+     * @return A future completed with the result once onResult has run.
+     * @ensures isGuessPending() until onResult or onFailure has run "The guess is pending until its outcome is delivered."
+     */
+    public CompletableFuture<Integer> submitGuessAsync(String input, IntConsumer onResult, Consumer<Throwable> onFailure) {
+        return submitGuessAsync(input, SwingUtilities::invokeLater, onResult, onFailure);
+    }
+
+    /**
+     * Submits the player's guess to be processed on the worker thread, and delivers the result through an executor.
+     * Results are handed to the executor in the order the guesses were submitted, so an executor that runs
+     * tasks in order, such as the Event Dispatch Thread, delivers them in that order.
+     * @param input The player's input guess.
+     * @param resultExecutor Runs the callbacks.
+     * @param onResult Receives the packed feedback, or the negated result code if the guess is invalid.
+     * @param onFailure Receives the exception instead if the model failed to process the guess.
+     * @requires input != null && resultExecutor != null && onResult != null && onFailure != null "The arguments cannot be null."
+     * @return A future completed with the result once onResult has run, or failed once onFailure has run.
+     * @ensures isGuessPending() until onResult or onFailure has run "The guess is pending until its outcome is delivered."
+     */
+    public CompletableFuture<Integer> submitGuessAsync(String input, Executor resultExecutor, IntConsumer onResult,
+                                                       Consumer<Throwable> onFailure) {
+        pendingGuesses.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> model.submitGuess(input), guessWorker)
+                .handleAsync((result, error) -> {
+                    pendingGuesses.decrementAndGet();
+                    if (error != null) {
+                        onFailure.accept(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                        throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+                    }
+                    onResult.accept(result);
+                    return result;
+                }, resultExecutor);
+    }
+
+    /**
+     * Checks whether a submitted guess is still waiting for its result.
+     * @return True if a guess is being processed or its result has not been delivered yet, otherwise false.
+     * @ensures \result == (number of pending guesses > 0) "The result reflects the submitted guesses."
+     */
+    public boolean isGuessPending() {
+        return pendingGuesses.get() > 0;
+    }
+
     /**
      * Checks if the game is over.
      * @return True if the game is over, otherwise false.
@@ -68,6 +144,15 @@ public class NumberleController {
         return model.getCurrentGuess();
     }
 
+    /**
+     * Gets the packed feedback of the last valid guess.
+     * @return The packed feedback, two bits per position.
+     * @ensures \result == model.getFeedback() "Returns the current packed feedback from the model."
+     */
+    public int getFeedback() {
+        return model.getFeedback();
+    }
+
     /**
      * Gets the number of remaining attempts for the player.
      * @return The number of remaining attempts.
@@ -77,6 +162,71 @@ public class NumberleController {
         return model.getRemainingAttempts();
     }
 
+    /**
+     * Suggests the guess that is expected to narrow down the target the most.
+     * @return The suggested guess, or null if no equation is consistent with the feedback so far.
+     * @ensures \result == null || \result.length() == getEquationLength() "Returns a full equation when one is found."
+     */
+    public String suggestGuess() {
+        return NumberleSolver.forModel(model).suggest(model);
+    }
+
+    /**
+     * Suggests a guess on the worker thread, after every guess submitted before, and delivers it on the
+     * Event Dispatch Thread, since searching for the suggestion can take a while.
+     * @param onSuggestion Receives the suggested guess, or null if no equation is consistent with the feedback so far.
+     * @param onFailure Receives the exception instead if the search failed.
+     * @requires onSuggestion != null && onFailure != null "The callbacks cannot be null."
+     * @return A future completed with the suggestion once onSuggestion has run, or failed once onFailure has run.
+     */
+    public CompletableFuture<String> suggestGuessAsync(Consumer<String> onSuggestion, Consumer<Throwable> onFailure) {
+        return CompletableFuture.supplyAsync(this::suggestGuess, guessWorker)
+                .handleAsync((suggestion, error) -> {
+                    if (error != null) {
+                        onFailure.accept(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                        throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+                    }
+                    onSuggestion.accept(suggestion);
+                    return suggestion;
+                }, SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Gets the number of characters in every equation of the game.
+     * @return The equation length.
+     * @ensures \result == model.getEquationLength() "Returns the equation length of the model's variant."
+     */
+    public int getEquationLength() {
+        return model.getEquationLength();
+    }
+
+    /**
+     * Gets the number of guesses in a game.
+     * @return The number of attempts.
+     * @ensures \result == model.getMaxAttempts() "Returns the number of attempts of the model's variant."
+     */
+    public int getMaxAttempts() {
+        return model.getMaxAttempts();
+    }
+
+    /**
+     * Switches hard mode on or off.
+     * @param hardMode True if every guess must agree with earlier feedback.
+     * @ensures model.isHardMode() == hardMode "The model plays in the chosen mode."
+     */
+    public void setHardMode(boolean hardMode) {
+        model.setHardMode(hardMode);
+    }
+
+    /**
+     * Checks whether the game is in hard mode.
+     * @return True if every guess must agree with earlier feedback, otherwise false.
+     * @ensures \result == model.isHardMode() "The result reflects the mode of the model."
+     */
+    public boolean isHardMode() {
+        return model.isHardMode();
+    }
+
     /**
      * Starts a new game by instructing the model to reset.
      * @ensures model conditions are reset "Ensures the model starts a new game, resetting all necessary attributes."
@@ -0,0 +1,96 @@
+// Importing the necessary classes for JUnit testing
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+
+public class NumberleControllerTest {
+    private final ExecutorService callbacks = Executors.newSingleThreadExecutor(); // Stands in for the Event Dispatch Thread
+
+    /**
+     * Stops the callback thread.
+     */
+    @After
+    public void tearDown() {
+        callbacks.shutdownNow();
+    }
+
+    /**
+     * Test to verify that guesses submitted asynchronously are applied on the worker and their results are
+     * delivered on the callback thread in the order they were submitted.
+     *
+     * @requires a model whose target is the default target number
+     * @ensures every result arrives in order, invalid guesses included, and nothing is pending afterwards
+     */
+    @Test
+    public void submitGuessAsync_Ordered_Test() throws Exception {
+        NumberleModel model = new NumberleModel();
+        model.setRandomSelect(false);   // The target is 6+4=2*5
+        NumberleController controller = new NumberleController(model);
+        controller.startNewGame();
+        Thread callbackThread = callbacks.submit(Thread::currentThread).get();
+
+        String[] guesses = {"1+2=3-0", "1+2=3-1", "8+4=6*2", "6+4=2*5"};
+        List<Integer> results = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[guesses.length];
+        for (int i = 0; i < guesses.length; i++) {
+            futures[i] = controller.submitGuessAsync(guesses[i], callbacks, result -> {
+                results.add(result);
+                threads.add(Thread.currentThread());
+            }, error -> results.add(Integer.MIN_VALUE));
+        }
+        CompletableFuture.allOf(futures).get(5, TimeUnit.SECONDS);
+
+        assertEquals(4, results.size());
+        assertEquals("×√?√×××", Feedback.toString(results.get(0), 7));
+        assertEquals(-EquationEvaluator.NOT_EQUAL, (int) results.get(1));
+        assertEquals(Feedback.allCorrect(7), (int) results.get(3));
+        for (Thread thread : threads) {
+            assertSame("Results are delivered on the callback thread", callbackThread, thread);
+        }
+        assertFalse(controller.isGuessPending());
+        assertTrue(controller.isGameWon());
+        assertEquals(3, model.getMaxAttempts() - model.getRemainingAttempts());
+    }
+
+    /**
+     * Test to verify that a guess the model fails on is reported through the failure callback.
+     *
+     * @requires a model that throws while processing a guess
+     * @ensures onFailure receives the exception, onResult is not called and nothing is pending afterwards
+     */
+    @Test
+    public void submitGuessAsync_Failure_Test() throws Exception {
+        NumberleModel model = new NumberleModel() {
+            @Override
+            public int submitGuess(String input) {
+                throw new IllegalStateException("broken model");
+            }
+        };
+        NumberleController controller = new NumberleController(model);
+        List<Object> outcomes = new CopyOnWriteArrayList<>();
+        CompletableFuture<Integer> future = controller.submitGuessAsync("1+2=3-0", callbacks, outcomes::add, outcomes::add);
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("The future should fail with the model's exception");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+        }
+
+        assertEquals(1, outcomes.size());
+        assertTrue("Only the failure callback runs", outcomes.get(0) instanceof IllegalStateException);
+        assertEquals("broken model", ((Throwable) outcomes.get(0)).getMessage());
+        assertFalse(controller.isGuessPending());
+    }
+}
@@ -0,0 +1,344 @@
+// NumberleMetrics.java
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts what the game engine does: guesses by outcome, games won and lost, and how long guesses,
+ * new games and dictionary loads take. Metrics are switched on with the system property
+ * {@code -Dnumberle.metrics=true}. The switch is a static final constant, so when it is off the
+ * JIT removes the instrumentation from the hot paths entirely. When it is on, the metrics are
+ * registered as the JMX MBean {@value #OBJECT_NAME}, and {@code -Dnumberle.metrics.dumpMillis=<period>}
+ * also prints a snapshot to standard error at that period.
+ * Counters are {@link LongAdder}s so concurrent games do not contend, and latencies go into
+ * histograms with one bucket per power of two nanoseconds.
+ */
+public final class NumberleMetrics implements NumberleMetricsMBean {
+    public static final boolean ENABLED = Boolean.getBoolean("numberle.metrics"); // Whether the engine records metrics
+    public static final String OBJECT_NAME = "Numberle:type=Metrics";            // Name of the MBean
+
+    private static final int REASONS = EquationEvaluator.GAME_OVER + 1;         // Number of evaluator result codes
+    private static final LongAdder[] invalid = adders(REASONS);                  // Rejected guesses by evaluator result code
+    private static final LongAdder wins = new LongAdder();                       // Games won
+    private static final LongAdder losses = new LongAdder();                     // Games lost
+    private static final Histogram guessLatency = new Histogram();               // Time to process a guess
+    private static final Histogram initializeLatency = new Histogram();          // Time to start a game
+    private static final Histogram dictionaryLoad = new Histogram();             // Time to load a dictionary
+    private static volatile long startTime = System.nanoTime();                  // When the metrics were last reset
+    private static final NumberleMetrics INSTANCE = new NumberleMetrics();       // The registered MBean
+
+    static {
+        if (ENABLED) {
+            register();
+            long period = Long.getLong("numberle.metrics.dumpMillis", 0);
+            if (period > 0) {
+                startDump(period, System.err);
+            }
+        }
+    }
+
+    /**
+     * Only the registered instance exists; the engine records through the static methods.
+     */
+    private NumberleMetrics() {
+    }
+
+    /**
+     * Counts of values in buckets of powers of two. Bucket i holds values below 2^i
+     * and at least 2^(i-1), so recording is a leading-zero count and an add.
+     */
+    static final class Histogram {
+        private final LongAdder[] buckets = adders(Long.SIZE + 1); // Values by bucket
+        private final LongAdder count = new LongAdder();           // Number of values
+        private final LongAdder sum = new LongAdder();             // Sum of the values
+
+        /**
+         * Records a value.
+         *
+         * @param value The value, not negative.
+         */
+        void record(long value) {
+            buckets[Long.SIZE - Long.numberOfLeadingZeros(value)].increment();
+            count.increment();
+            sum.add(value);
+        }
+
+        /**
+         * Gets the number of values recorded.
+         *
+         * @return The number of values.
+         */
+        long count() {
+            return count.sum();
+        }
+
+        /**
+         * Gets the mean of the values recorded.
+         *
+         * @return The mean, or 0 if nothing was recorded.
+         */
+        double mean() {
+            long n = count.sum();
+            return n > 0 ? (double) sum.sum() / n : 0;
+        }
+
+        /**
+         * Gets an upper bound of a percentile of the values recorded.
+         *
+         * @param fraction The percentile as a fraction, such as 0.99.
+         * @return The upper bound of the bucket holding the percentile, or 0 if nothing was recorded.
+         */
+        long percentile(double fraction) {
+            long[] counts = new long[buckets.length];
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+            long rank = (long) Math.ceil(total * fraction);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) {
+                    return i == Long.SIZE ? Long.MAX_VALUE : (1L << i) - 1;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Sets every bucket back to zero.
+         */
+        void reset() {
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+            count.reset();
+            sum.reset();
+        }
+    }
+
+    /**
+     * Records a processed guess.
+     *
+     * @param result       The result of {@link INumberleModel#submitGuess(String)}.
+     * @param nanos        How long the guess took, in nanoseconds.
+     * @param endedGame    Whether the guess ended the game.
+     * @param won          Whether the game was won, if it ended.
+     */
+    static void recordGuess(int result, long nanos, boolean endedGame, boolean won) {
+        guessLatency.record(nanos);
+        if (result < 0) {
+            invalid[-result].increment();
+        } else if (endedGame) {
+            (won ? wins : losses).increment();
+        }
+    }
+
+    /**
+     * Records a started game.
+     *
+     * @param nanos How long starting the game took, in nanoseconds.
+     */
+    static void recordInitialize(long nanos) {
+        initializeLatency.record(nanos);
+    }
+
+    /**
+     * Records a loaded dictionary.
+     *
+     * @param nanos How long loading took, in nanoseconds.
+     */
+    static void recordDictionaryLoad(long nanos) {
+        dictionaryLoad.record(nanos);
+    }
+
+    /**
+     * Gets the metrics as seen through JMX.
+     *
+     * @return The metrics.
+     */
+    public static NumberleMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, unless they already are.
+     */
+    public static synchronized void register() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, name);
+            }
+        } catch (JMException e) {
+            System.err.println("Error registering metrics: " + e.getMessage()); // The game works without JMX
+        }
+    }
+
+    /**
+     * Prints a snapshot of the metrics periodically from a daemon thread.
+     *
+     * @param periodMillis How often to print, in milliseconds.
+     * @param out          Where to print.
+     * @requires periodMillis > 0 && out != null
+     */
+    public static void startDump(long periodMillis, PrintStream out) {
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "numberle-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(() -> out.println(INSTANCE.getSnapshot()), periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates an array of counters.
+     *
+     * @param n The number of counters.
+     * @return The counters.
+     */
+    private static LongAdder[] adders(int n) {
+        LongAdder[] adders = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    @Override
+    public long getGuesses() {
+        return guessLatency.count();
+    }
+
+    @Override
+    public double getGuessesPerSecond() {
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        return seconds > 0 ? getGuesses() / seconds : 0;
+    }
+
+    @Override
+    public long getInvalidGuesses() {
+        long total = 0;
+        for (LongAdder reason : invalid) {
+            total += reason.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public double getInvalidRate() {
+        long guesses = getGuesses();
+        return guesses > 0 ? (double) getInvalidGuesses() / guesses : 0;
+    }
+
+    @Override
+    public long getInvalidShape() {
+        return invalid[EquationEvaluator.INVALID_SHAPE].sum();
+    }
+
+    @Override
+    public long getDivisionByZero() {
+        return invalid[EquationEvaluator.DIVISION_BY_ZERO].sum();
+    }
+
+    @Override
+    public long getNonIntegerDivision() {
+        return invalid[EquationEvaluator.NON_INTEGER_DIVISION].sum();
+    }
+
+    @Override
+    public long getLeadingZero() {
+        return invalid[EquationEvaluator.LEADING_ZERO].sum();
+    }
+
+    @Override
+    public long getNotEqual() {
+        return invalid[EquationEvaluator.NOT_EQUAL].sum();
+    }
+
+    @Override
+    public long getHardModeViolation() {
+        return invalid[EquationEvaluator.HARD_MODE_VIOLATION].sum();
+    }
+
+    @Override
+    public double getValidationCacheHitRate() {
+        return ValidationCache.ENABLED ? ValidationCache.shared().getHitRate() : 0;
+    }
+
+    @Override
+    public long getGamesStarted() {
+        return initializeLatency.count();
+    }
+
+    @Override
+    public long getWins() {
+        return wins.sum();
+    }
+
+    @Override
+    public long getLosses() {
+        return losses.sum();
+    }
+
+    @Override
+    public double getGuessLatencyMean() {
+        return guessLatency.mean();
+    }
+
+    @Override
+    public long getGuessLatencyP50() {
+        return guessLatency.percentile(0.5);
+    }
+
+    @Override
+    public long getGuessLatencyP99() {
+        return guessLatency.percentile(0.99);
+    }
+
+    @Override
+    public double getInitializeLatencyMean() {
+        return initializeLatency.mean();
+    }
+
+    @Override
+    public long getDictionaryLoads() {
+        return dictionaryLoad.count();
+    }
+
+    @Override
+    public double getDictionaryLoadMean() {
+        return dictionaryLoad.mean();
+    }
+
+    @Override
+    public String getSnapshot() {
+        return String.format("guesses=%d rate=%.0f/s invalid=%d (shape=%d div0=%d nonint=%d lead0=%d unequal=%d hard=%d) cache_hit=%.3f "
+                        + "games=%d won=%d lost=%d guess_ns(mean=%.0f p50<=%d p99<=%d) init_ns(mean=%.0f) "
+                        + "dictionary_loads=%d load_ns(mean=%.0f)",
+                getGuesses(), getGuessesPerSecond(), getInvalidGuesses(), getInvalidShape(), getDivisionByZero(),
+                getNonIntegerDivision(), getLeadingZero(), getNotEqual(), getHardModeViolation(), getValidationCacheHitRate(), getGamesStarted(), getWins(), getLosses(),
+                getGuessLatencyMean(), getGuessLatencyP50(), getGuessLatencyP99(), getInitializeLatencyMean(),
+                getDictionaryLoads(), getDictionaryLoadMean());
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder reason : invalid) {
+            reason.reset();
+        }
+        wins.reset();
+        losses.reset();
+        guessLatency.reset();
+        initializeLatency.reset();
+        dictionaryLoad.reset();
+        startTime = System.nanoTime();
+    }
+}
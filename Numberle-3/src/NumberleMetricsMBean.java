@@ -0,0 +1,159 @@
+// NumberleMetricsMBean.java
+
+/**
+ * The management interface of {@link NumberleMetrics}, as seen by JMX clients such as JConsole.
+ * Latencies are in nanoseconds; percentiles are the upper bounds of power-of-two buckets.
+ */
+public interface NumberleMetricsMBean {
+    /**
+     * Gets the number of guesses submitted, valid or not.
+     *
+     * @return The number of guesses submitted, valid or not.
+     */
+    long getGuesses();
+
+    /**
+     * Gets the average number of guesses per second since the metrics were last reset.
+     *
+     * @return The average number of guesses per second since the metrics were last reset.
+     */
+    double getGuessesPerSecond();
+
+    /**
+     * Gets the number of guesses rejected for any reason.
+     *
+     * @return The number of guesses rejected for any reason.
+     */
+    long getInvalidGuesses();
+
+    /**
+     * Gets the share of guesses that were rejected, between 0 and 1.
+     *
+     * @return The share of guesses that were rejected, between 0 and 1.
+     */
+    double getInvalidRate();
+
+    /**
+     * Gets the number of guesses rejected for not being a single equation of the right length.
+     *
+     * @return The number of guesses rejected for not being a single equation of the right length.
+     */
+    long getInvalidShape();
+
+    /**
+     * Gets the number of guesses rejected for dividing by zero.
+     *
+     * @return The number of guesses rejected for dividing by zero.
+     */
+    long getDivisionByZero();
+
+    /**
+     * Gets the number of guesses rejected for a division with a remainder.
+     *
+     * @return The number of guesses rejected for a division with a remainder.
+     */
+    long getNonIntegerDivision();
+
+    /**
+     * Gets the number of guesses rejected for a number with a leading zero.
+     *
+     * @return The number of guesses rejected for a number with a leading zero.
+     */
+    long getLeadingZero();
+
+    /**
+     * Gets the number of guesses rejected because the two sides differ.
+     *
+     * @return The number of guesses rejected because the two sides differ.
+     */
+    long getNotEqual();
+
+    /**
+     * Gets the number of guesses rejected in hard mode for contradicting earlier feedback.
+     *
+     * @return The number of guesses rejected in hard mode for contradicting earlier feedback.
+     */
+    long getHardModeViolation();
+
+    /**
+     * Gets the share of guess validations answered by the shared validation cache.
+     *
+     * @return The hit rate of the validation cache, between 0 and 1.
+     */
+    double getValidationCacheHitRate();
+
+    /**
+     * Gets the number of games started.
+     *
+     * @return The number of games started.
+     */
+    long getGamesStarted();
+
+    /**
+     * Gets the number of games won.
+     *
+     * @return The number of games won.
+     */
+    long getWins();
+
+    /**
+     * Gets the number of games lost.
+     *
+     * @return The number of games lost.
+     */
+    long getLosses();
+
+    /**
+     * Gets the mean time to process a guess.
+     *
+     * @return The mean time to process a guess.
+     */
+    double getGuessLatencyMean();
+
+    /**
+     * Gets the median time to process a guess.
+     *
+     * @return The median time to process a guess.
+     */
+    long getGuessLatencyP50();
+
+    /**
+     * Gets the 99th percentile of the time to process a guess.
+     *
+     * @return The 99th percentile of the time to process a guess.
+     */
+    long getGuessLatencyP99();
+
+    /**
+     * Gets the mean time to start a game.
+     *
+     * @return The mean time to start a game.
+     */
+    double getInitializeLatencyMean();
+
+    /**
+     * Gets the number of dictionaries loaded.
+     *
+     * @return The number of dictionaries loaded.
+     */
+    long getDictionaryLoads();
+
+    /**
+     * Gets the mean time to load a dictionary.
+     *
+     * @return The mean time to load a dictionary.
+     */
+    double getDictionaryLoadMean();
+
+    /**
+     * Gets every metric on one line.
+     *
+     * @return Every metric on one line.
+     */
+    String getSnapshot();
+
+    /**
+     * Sets every counter and histogram back to zero.
+     */
+    void reset();
+}
@@ -0,0 +1,55 @@
+// Importing the necessary classes for JUnit testing
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+
+public class NumberleMetricsTest {
+    /**
+     * Test to verify that guesses are counted by outcome and rejected guesses by reason.
+     *
+     * @requires freshly reset metrics
+     * @ensures every recorded guess, rejection reason, win and loss is counted once
+     */
+    @Test
+    public void recordGuess_CountsByOutcome_Test() {
+        NumberleMetrics metrics = NumberleMetrics.get();
+        metrics.reset();   // The metrics are shared by the whole JVM
+        try {
+            NumberleMetrics.recordGuess(-EquationEvaluator.NOT_EQUAL, 100, false, false);
+            NumberleMetrics.recordGuess(-EquationEvaluator.LEADING_ZERO, 100, false, false);
+            NumberleMetrics.recordGuess(0x3FFF, 100, true, true);
+            NumberleMetrics.recordGuess(0x1555, 100, true, false);
+            assertEquals(4, metrics.getGuesses());
+            assertEquals(2, metrics.getInvalidGuesses());
+            assertEquals(1, metrics.getNotEqual());
+            assertEquals(1, metrics.getLeadingZero());
+            assertEquals(0.5, metrics.getInvalidRate(), 1e-9);
+            assertEquals(1, metrics.getWins());
+            assertEquals(1, metrics.getLosses());
+        } finally {
+            metrics.reset();
+        }
+    }
+
+    /**
+     * Test to verify that the latency histogram reports percentiles at the top of their power-of-two bucket.
+     *
+     * @requires a histogram of 99 samples of 100 ns and one of 5000 ns
+     * @ensures the median and 99th percentile fall in the 100 ns bucket and the maximum in the 5000 ns one
+     */
+    @Test
+    public void histogram_Percentiles_Test() {
+        NumberleMetrics.Histogram histogram = new NumberleMetrics.Histogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+        assertEquals(100, histogram.count());
+        assertEquals(127, histogram.percentile(0.5));
+        assertEquals(127, histogram.percentile(0.99));
+        assertEquals(8191, histogram.percentile(1.0));
+        assertEquals(149, histogram.mean(), 1e-9);
+    }
+}
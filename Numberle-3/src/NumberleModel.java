@@ -1,92 +1,370 @@
 // NumberleModel.java
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents the model of the Numberle game, responsible for managing the game state,
  * processing user inputs, and storing the results of the game.
  */
-public class NumberleModel extends Observable implements INumberleModel {
-    private String targetNumber;               // The target number that the player needs to guess
-    private StringBuilder currentGuess;        // The current guess made by the player
+public class NumberleModel implements INumberleModel {
+    private final NumberleVariant variant;       // The rules of the game: equation length and number of guesses
+    private final int length;                    // Number of characters in every equation of this variant
+    private final int maxAttempts;               // Number of guesses in a game of this variant
+    private final EquationDictionary dictionary; // The dictionary the target numbers are picked from
+    private final char[] target;                 // The target number that the player needs to guess
+    private int targetIndex;                   // Index of the target number in the dictionary, or -1 if it is not from the dictionary
+    private String targetNumber;               // The target number as a string, created on demand
+    private final StringBuilder currentGuess;  // The feedback of the current guess as symbols
+    private int feedback;                      // The packed feedback of the current guess, the canonical form of currentGuess
+    private final char[][] guesses;            // The valid guesses of this game, in order
+    private final int[] feedbacks;             // The packed feedback of each guess
+    private final ModelEventBus eventBus = new ModelEventBus(); // Delivers the changes of this model to its listeners
+    private long gameId;                       // The ID of the current game, unique within the JVM
+    private static final AtomicLong NEXT_GAME_ID = new AtomicLong(); // Source of game IDs
     private int remainingAttempts;             // The number of remaining attempts for the player
     private boolean gameWon;                   // Indicates whether the game has been won
 
-    private final Set<String> greyLetters = new HashSet<>();    // Set of characters that are not in the target number
-    private final Set<String> yellowLetters = new HashSet<>();  // Set of characters that are in the target number but not in the correct position
-    private final Set<String> greenLetters = new HashSet<>();   // Set of characters that are in the correct position
+    private final byte[] keyStates = new byte[Symbols.COUNT]; // Best feedback code of each symbol in this game, by symbol index
     public char symbolMatched = '√';             // Symbol to represent a character that is in the correct position
     public char symbolNotInThePlace = '?';       // Symbol to represent a character that is in the target number but not in the correct position
     public char symbolNotExist = '×';            // Symbol to represent a character that is not in the target number
+    private final char[] guessBuffer;            // Reusable buffer holding the guess being validated
+    private final int[] symbolCounts = new int[Symbols.COUNT]; // Reusable symbol counts for computing feedback
+    private final HardModeConstraints constraints;   // What the feedback of this game says about the target
+    private boolean hardMode;                        // Whether every guess must be consistent with earlier feedback
+    private ValidityBitmap validityBitmap;           // Answers whether a guess is valid with one bit, or null to evaluate it
+    private CandidateIndex.Candidates candidates;    // Dictionary equations consistent with this game's feedback, or null until asked for
+
+    public static boolean FLAG_RANDOM_SELECT = true; // Whether new models select equations randomly
+    private boolean randomSelect = FLAG_RANDOM_SELECT; // Whether this model selects equations randomly
+    private final int winningFeedback;               // Feedback of a guess equal to the target
+
+    /**
+     * Constructs a model that picks its target numbers from the dictionary shared by the whole JVM.
+     */
+    public NumberleModel() {
+        this(EquationDictionary.shared());
+    }
+
+    /**
+     * Constructs a model that picks its target numbers from the given dictionary.
+     *
+     * @param dictionary The dictionary of target numbers.
+     * @requires dictionary != null && dictionary.width() == EQUATION_LENGTH
+     */
+    public NumberleModel(EquationDictionary dictionary) {
+        this(NumberleVariant.CLASSIC, dictionary);
+    }
+
+    /**
+     * Constructs a model for a variant of the game, with the dictionary of that variant.
+     *
+     * @param variant The equation length and number of guesses.
+     * @requires variant != null
+     */
+    public NumberleModel(NumberleVariant variant) {
+        this(variant, variant.dictionary());
+    }
+
+    /**
+     * Constructs a model for a variant of the game that picks its target numbers from the given dictionary.
+     *
+     * @param variant    The equation length and number of guesses.
+     * @param dictionary The dictionary of target numbers.
+     * @throws IllegalArgumentException If the dictionary's equations do not have the variant's length.
+     * @requires variant != null && dictionary != null
+     */
+    public NumberleModel(NumberleVariant variant, EquationDictionary dictionary) {
+        if (dictionary.width() != variant.getEquationLength()) {
+            throw new IllegalArgumentException("The dictionary holds equations of " + dictionary.width()
+                    + " characters, not " + variant.getEquationLength());
+        }
+        this.variant = variant;
+        this.length = variant.getEquationLength();
+        this.maxAttempts = variant.getMaxAttempts();
+        this.dictionary = dictionary;
+        this.target = new char[length];
+        this.currentGuess = new StringBuilder(" ".repeat(length));
+        this.guesses = new char[maxAttempts][length];
+        this.feedbacks = new int[maxAttempts];
+        this.guessBuffer = new char[length];
+        this.winningFeedback = Feedback.allCorrect(length);
+        this.constraints = new HardModeConstraints(length);
+        this.validityBitmap = ValidityBitmap.sharedFor(length);   // Only if -Dnumberle.validityBitmap names a file of this length
+    }
 
-    public static boolean FLAG_RANDOM_SELECT = true; // Whether to select equations randomly
     /**
      * Initializes the game model by setting up the target number, resetting game state,
      * and preparing the game for a new start.
-     * @ensures gameWon == false && remainingAttempts == MAX_ATTEMPTS
-     *          && currentGuess.length() == EQUATION_LENGTH
-     *          && greyLetters.isEmpty() && yellowLetters.isEmpty() && greenLetters.isEmpty()
+     * @ensures gameWon == false && remainingAttempts == maxAttempts
+     *          && currentGuess.length() == length
+     *          && getKeyboardState() == 0
      */
     @Override
     public void initialize() {
-        if (!FLAG_RANDOM_SELECT) {
-            targetNumber = "6+4=2*5";   // Default target number if random selection is disabled
+        if (randomSelect) {
+            start(dictionary.randomIndex());   // Randomly selects a target number from the shared dictionary
         } else {
-            Set<String> equations = readFile();
-            Random rand = new Random();
-            int index = rand.nextInt(equations.size());
-            targetNumber = new ArrayList<>(equations).get(index);   // Randomly selects a target number from the set of equations
+            start(variant.isClassicLength() ? -1 : 0);   // The default target number, or the first equation of other lengths
         }
+    }
 
-        currentGuess = new StringBuilder("       ");   // Initializes the current guess with spaces
-        remainingAttempts = MAX_ATTEMPTS;   // Sets the remaining attempts to the maximum allowed
-        gameWon = false;   // Initializes the game as not won
-        setChanged();
-        notifyObservers();
+    /**
+     * Starts a new game whose target is a chosen dictionary equation, such as the puzzle of the day.
+     * @param targetIndex The index of the target number in the dictionary.
+     * @requires 0 <= targetIndex && targetIndex < getDictionary().size()
+     * @ensures getTargetIndex() == targetIndex && getRemainingAttempts() == getMaxAttempts()
+     */
+    @Override
+    public void startNewGame(int targetIndex) {
+        if (targetIndex < 0 || targetIndex >= dictionary.size()) {
+            throw new IndexOutOfBoundsException("No equation " + targetIndex + " in the dictionary");
+        }
+        start(targetIndex);
+    }
 
+    /**
+     * Resets the game state for a new target.
+     * @param index The index of the target number in the dictionary, or -1 for the default target number.
+     */
+    private void start(int index) {
+        long start = NumberleMetrics.ENABLED ? System.nanoTime() : 0;   // Only timed when metrics are on
+        targetIndex = index;
+        if (index < 0) {
+            "6+4=2*5".getChars(0, length, target, 0);   // Default target number if random selection is disabled
+        } else {
+            dictionary.copyTo(index, target);
+        }
+        targetNumber = null;   // The string form of the target is only created when it is asked for
+
+        feedback = 0;   // No feedback has been given in this game yet
+        Arrays.fill(keyStates, (byte) Feedback.NONE);   // Every key starts uncoloured
+        constraints.reset();   // Nothing is known about the new target
+        candidates = null;   // Only built for players that ask for the candidates
+        decodeFeedback();   // Initializes the current guess with spaces
+        remainingAttempts = maxAttempts;   // Sets the remaining attempts to the maximum allowed
+        gameWon = false;   // Initializes the game as not won
+        gameId = NEXT_GAME_ID.incrementAndGet();
+        if (NumberleMetrics.ENABLED) {
+            NumberleMetrics.recordInitialize(System.nanoTime() - start);
+        }
+        if (eventBus.hasListeners()) {
+            eventBus.publish(new ModelEvent(ModelEvent.Type.NEW_GAME, this, gameId, 0, null, 0, getTargetNumber()));
+        }
     }
 
     /**
      * Processes the player's input guess.
      * @param input The player's input guess.
-     * @requires input != null && input.length() == EQUATION_LENGTH
+     * @requires input != null && input.length() == getEquationLength()
      * @ensures \result != gameWon
-     * @return true if the input is a valid guess, false if the guess is invalid.
+     * @return true if the input is a valid guess, false if the guess is invalid or breaks hard mode.
      */
     @Override
     public boolean processInput(String input) {
+        return submitGuess(input) >= 0;
+    }
+
+    /**
+     * Processes the player's input guess and returns its packed feedback.
+     * @param input The player's input guess.
+     * @requires input != null
+     * @ensures \result >= 0 ==> \result == getFeedback()
+     * @return The packed feedback of the guess (see {@link Feedback}), or the negated
+     *         {@link EquationEvaluator} result code if the guess is invalid or the game is over.
+     */
+    @Override
+    public int submitGuess(String input) {
+        if (!NumberleMetrics.ENABLED) {
+            return applyGuess(input);
+        }
+        boolean wasOver = isGameOver();
+        long start = System.nanoTime();
+        int result = applyGuess(input);
+        NumberleMetrics.recordGuess(result, System.nanoTime() - start, !wasOver && isGameOver(), gameWon);
+        return result;
+    }
+
+    /**
+     * Validates a guess and, if it is valid, applies it to the game.
+     * @param input The player's input guess.
+     * @return The packed feedback of the guess, or the negated {@link EquationEvaluator} result code.
+     */
+    private int applyGuess(String input) {
+        if (isGameOver()) {
+            return -EquationEvaluator.GAME_OVER;   // A finished game takes no more guesses until a new one starts
+        }
+        if (input.length() != length) {
+            return -EquationEvaluator.INVALID_SHAPE;   // The guess must be exactly as long as the equations of the variant
+        }
+        input.getChars(0, length, guessBuffer, 0);   // Copy the guess without allocating
+
         if (FLAG_SHOW_ERROR_EQUATION) {
-            if (!validEquation(input)) {
-                return false;
+            int code = checkEquation(guessBuffer);
+            if (code != EquationEvaluator.VALID) {
+                return -code;
             }
         }
+        if (hardMode && !constraints.allows(guessBuffer)) {
+            return -EquationEvaluator.HARD_MODE_VIOLATION;   // The guess contradicts feedback the player already has
+        }
 
-        char[] targetArray = targetNumber.toCharArray();
-        char[] inputArray = input.toCharArray();
-
-        for (int i = 0; i < targetArray.length; i++) {
-            if (targetArray[i] == inputArray[i]) {
-                currentGuess.setCharAt(i, symbolMatched);   // Sets the symbol for a character in the correct position
-                greenLetters.add(String.valueOf(inputArray[i]));   // Adds the character to the set of characters in the correct position
-            } else if (targetNumber.contains(String.valueOf(inputArray[i]))) {
-                currentGuess.setCharAt(i, symbolNotInThePlace);   // Sets the symbol for a character in the target number but not in the correct position
-                yellowLetters.add(String.valueOf(inputArray[i]));   // Adds the character to the set of characters not in the correct position
-            } else {
-                currentGuess.setCharAt(i, symbolNotExist);   // Sets the symbol for a character not in the target number
-                greyLetters.add(String.valueOf(inputArray[i]));   // Adds the character to the set of characters not in the target number
+        feedback = Feedback.compute(target, guessBuffer, length, symbolCounts);
+        constraints.apply(guessBuffer, feedback);   // Kept up to date even outside hard mode, so it can be switched on mid-game
+        for (int i = 0; i < length; i++) {
+            int symbol = Symbols.indexOf(guessBuffer[i]);
+            int code = Feedback.get(feedback, i);
+            if (symbol >= 0 && code > keyStates[symbol]) {
+                keyStates[symbol] = (byte) code;   // A key only moves up, from grey to yellow to green
             }
         }
+        decodeFeedback();   // Shows the feedback as symbols in the current guess
+
+        int attempt = maxAttempts - remainingAttempts;
+        if (attempt >= 0 && attempt < maxAttempts) {
+            System.arraycopy(guessBuffer, 0, guesses[attempt], 0, length);   // Records the guess in the history
+            feedbacks[attempt] = feedback;
+        }
+        if (candidates != null) {
+            candidates.apply(guessBuffer, feedback);   // Narrowed once per guess rather than replayed on every request
+        }
         remainingAttempts--;   // Decreases the remaining attempts
 
-        if (currentGuess.toString().equals("√".repeat(EQUATION_LENGTH))) {
-            gameWon = true;   // If the current guess matches the target number, the game is won
+        if (feedback == winningFeedback) {
+            gameWon = true;   // If every position is correct, the game is won
         }
-        setChanged();
-        notifyObservers();
+        if (eventBus.hasListeners()) {
+            publishGuess(attempt);
+        }
+
+        return feedback;
+    }
+
+    /**
+     * Publishes the events for a guess that has just been applied.
+     *
+     * @param attempt The index of the guess.
+     */
+    private void publishGuess(int attempt) {
+        String guess = new String(guessBuffer);
+        String target = getTargetNumber();
+        eventBus.publish(new ModelEvent(ModelEvent.Type.GUESS_APPLIED, this, gameId, attempt, guess, feedback, target));
+        if (gameWon) {
+            eventBus.publish(new ModelEvent(ModelEvent.Type.GAME_WON, this, gameId, attempt, guess, feedback, target));
+        } else if (remainingAttempts == 0) {
+            eventBus.publish(new ModelEvent(ModelEvent.Type.GAME_LOST, this, gameId, attempt, guess, feedback, target));
+        }
+    }
 
-        return true;
+    /**
+     * Adds a listener for the changes of this model.
+     *
+     * @param listener The listener.
+     * @param coalesce True to deliver only the latest event of each batch, false to deliver every event.
+     */
+    @Override
+    public void addModelListener(ModelListener listener, boolean coalesce) {
+        eventBus.subscribe(listener, coalesce);
     }
+
+    /**
+     * Adds a listener that receives every event of this model, however far it falls behind.
+     *
+     * @param listener The listener.
+     */
+    @Override
+    public void addLosslessModelListener(ModelListener listener) {
+        eventBus.subscribeLossless(listener);
+    }
+
+    /**
+     * Removes a listener for the changes of this model.
+     *
+     * @param listener The listener.
+     */
+    @Override
+    public void removeModelListener(ModelListener listener) {
+        eventBus.unsubscribe(listener);
+    }
+
+    /**
+     * Gets the ID of the current game.
+     *
+     * @return The game ID, unique among all games started in this JVM.
+     */
+    public long getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Gets the packed feedback of the last valid guess.
+     *
+     * @return The packed feedback (see {@link Feedback}), or 0 if no guess has been made in this game.
+     */
+    @Override
+    public int getFeedback() {
+        return feedback;
+    }
+
+    /**
+     * Gets one of the valid guesses made in this game.
+     *
+     * @param attempt The index of the guess, starting at 0.
+     * @requires 0 <= attempt && attempt < getMaxAttempts() - getRemainingAttempts()
+     * @return The guess.
+     */
+    @Override
+    public String getGuess(int attempt) {
+        return new String(guesses[attempt]);
+    }
+
+    /**
+     * Gets the packed feedback of one of the valid guesses made in this game.
+     *
+     * @param attempt The index of the guess, starting at 0.
+     * @requires 0 <= attempt && attempt < getMaxAttempts() - getRemainingAttempts()
+     * @return The packed feedback of the guess.
+     */
+    @Override
+    public int getFeedback(int attempt) {
+        return feedbacks[attempt];
+    }
+
+    /**
+     * Gets the dictionary equations that are still consistent with the feedback of this game.
+     * The candidates are built from the guesses so far on the first request of a game, and then
+     * narrowed as each later guess is applied.
+     *
+     * @ensures \result.contains(getTargetIndex()) if the target was picked from the dictionary
+     * @return A copy of the candidate set, narrowed by every valid guess of this game.
+     */
+    @Override
+    public CandidateIndex.Candidates getRemainingCandidates() {
+        if (candidates == null) {
+            candidates = CandidateIndex.of(dictionary).all();
+            int attempts = Math.min(maxAttempts, maxAttempts - remainingAttempts);
+            for (int i = 0; i < attempts; i++) {
+                candidates.apply(guesses[i], feedbacks[i]);
+            }
+        }
+        return candidates.copy();   // The caller may narrow its copy without changing the game
+    }
+
+    /**
+     * Writes the symbols of the packed feedback into the current guess.
+     */
+    private void decodeFeedback() {
+        for (int i = 0; i < length; i++) {
+            char symbol = switch (Feedback.get(feedback, i)) {
+                case Feedback.CORRECT -> symbolMatched;        // The character is in the correct position
+                case Feedback.PRESENT -> symbolNotInThePlace;  // The character is in the target number but not in the correct position
+                case Feedback.ABSENT -> symbolNotExist;        // The character is not in the target number
+                default -> ' ';                                // No guess has been made yet
+            };
+            currentGuess.setCharAt(i, symbol);
+        }
+    }
+
     /**
      * Checks if the game is over.
      *
@@ -116,8 +394,58 @@ public class NumberleModel extends Observable implements INumberleModel {
      */
     @Override
     public String getTargetNumber() {
-        // Returns the target number
-        return targetNumber;
+        if (targetNumber == null) {
+            targetNumber = new String(target);   // Creates the string form of the target on first use
+        }
+        return targetNumber;   // Returns the target number
+    }
+
+    /**
+     * Gets the index of the target number in the equation dictionary.
+     *
+     * @return The index of the target number, or -1 if it was not picked from the dictionary.
+     */
+    public int getTargetIndex() {
+        return targetIndex;
+    }
+
+    /**
+     * Gets the rules of this game.
+     *
+     * @return The variant.
+     */
+    public NumberleVariant getVariant() {
+        return variant;
+    }
+
+    /**
+     * Gets the number of characters in every equation of this game.
+     *
+     * @return The equation length.
+     */
+    @Override
+    public int getEquationLength() {
+        return length;
+    }
+
+    /**
+     * Gets the number of guesses in a game.
+     *
+     * @return The number of attempts.
+     */
+    @Override
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Gets the equation dictionary the target numbers are picked from.
+     *
+     * @return The dictionary.
+     */
+    @Override
+    public EquationDictionary getDictionary() {
+        return dictionary;
     }
 
     /**
@@ -151,168 +479,174 @@ public class NumberleModel extends Observable implements INumberleModel {
     }
 
     /**
-     * Gets the set of grey letters in the current guess.
+     * Chooses how this model picks the target of each new game, whatever {@link #FLAG_RANDOM_SELECT} says.
      *
-     * @return The set of grey letters.
+     * @param randomSelect True to pick a random dictionary equation, false for the default target number.
      */
-    @Override
-    public Set<String> getGreyLetters() {
-        return greyLetters;   // Returns the set of characters not in the target number
+    public void setRandomSelect(boolean randomSelect) {
+        this.randomSelect = randomSelect;
     }
 
     /**
-     * Gets the set of gold letters in the current guess.
+     * Switches hard mode on or off. In hard mode a guess must be consistent with all earlier feedback of the game.
      *
-     * @return The set of gold letters.
+     * @param hardMode True for hard mode, false for normal play.
      */
     @Override
-    public Set<String> getYellowLetters() {
-        return yellowLetters;   // Returns the set of characters in the target number but not in the correct position
+    public void setHardMode(boolean hardMode) {
+        this.hardMode = hardMode;
     }
 
     /**
-     * Gets the set of green letters in the current guess.
+     * Checks whether the game is in hard mode.
      *
-     * @return The set of green letters.
+     * @return True if every guess must be consistent with earlier feedback, otherwise false.
      */
     @Override
-    public Set<String> getGreenLetters() {
-        return greenLetters;   // Returns the set of characters in the correct position
+    public boolean isHardMode() {
+        return hardMode;
     }
 
     /**
-     * Reads equations from a file and returns them as a set of strings.
+     * Switches the validator to a precomputed validity bitmap, or back to evaluating guesses.
      *
-     * @return A set of equations read from a file.
+     * @param bitmap The bitmap of guesses of this model's equation length, or null to evaluate every guess.
+     * @throws IllegalArgumentException If the bitmap is for another equation length.
      */
-    private Set<String> readFile() {
-        Set<String> result = new HashSet<>(); // Create a new HashSet to store the read equations.
-        try {
-            Scanner sc = new Scanner(new File(GUESS_EQUATIONS_FILE));// Create a new Scanner to read the file.
-            // Iterate over each line in the file.
-            while (sc.hasNextLine()) {
-                String line = sc.nextLine().strip(); // Read the next line and remove leading/trailing whitespace.
-                if (!line.isEmpty()) { // Check if the line is not empty.
-                    result.add(line); // Add the non-empty line to the set of equations.
-                }
-            }
-        } catch (FileNotFoundException e) { // Handle the case where the file is not found.
-            e.printStackTrace(); // Print the error stack trace.
+    public void setValidityBitmap(ValidityBitmap bitmap) {
+        if (bitmap != null && bitmap.getLength() != length) {
+            throw new IllegalArgumentException("The validity bitmap is for equations of length " + bitmap.getLength()
+                    + ", not " + length);
         }
-        return result; // Return the set of non-empty equations.
+        this.validityBitmap = bitmap;
     }
 
     /**
-     * Checks if the provided equation is valid.
+     * Gets the validity bitmap the model checks guesses with.
      *
-     * @param equation The equation to validate.
-     * @return True if the equation is valid, otherwise false.
+     * @return The bitmap, or null if every guess is evaluated.
      */
-    private boolean validEquation(String equation) {
-        //If any of these conditions are not met, the method returns false.
-        // The equation must be exactly 7 characters long and contain the equals sign "=".
-        if (equation.length() != 7 || !equation.contains("=")) {
-            return false;
-        }
+    public ValidityBitmap getValidityBitmap() {
+        return validityBitmap;
+    }
+
+    /**
+     * Gets the constraints that the feedback of this game puts on the target.
+     *
+     * @return The constraints, updated with every valid guess.
+     */
+    public HardModeConstraints getConstraints() {
+        return constraints;
+    }
+
+    /**
+     * Gets the keyboard colour of a symbol: the best feedback it has had in this game.
+     *
+     * @param symbol The symbol.
+     * @return {@link Feedback#CORRECT}, {@link Feedback#PRESENT} or {@link Feedback#ABSENT}, or
+     *         {@link Feedback#NONE} if the symbol has not been guessed or is not in the alphabet.
+     */
+    @Override
+    public int getKeyState(char symbol) {
+        int index = Symbols.indexOf(symbol);
+        return index >= 0 ? keyStates[index] : Feedback.NONE;
+    }
 
-        // The equation should not have "=" as the first or last character.
-        if (equation.charAt(0) == '=' || equation.charAt(6) == '=') {
-            return false;
+    /**
+     * Gets the keyboard colours of every symbol as one value.
+     *
+     * @return The packed keyboard state, two bits per symbol in the order of {@link Symbols#ALPHABET}.
+     */
+    @Override
+    public int getKeyboardState() {
+        int state = 0;
+        for (int i = 0; i < keyStates.length; i++) {
+            state |= keyStates[i] << (i * Feedback.BITS_PER_POSITION);
         }
+        return state;
+    }
 
-        String[] parts = equation.split("="); // Split the equation into two parts: left expression and right expression.
-        String leftExpression = parts[0]; // Extract the left expression.
-        String rightExpression = parts[1]; // Extract the right expression.
-
-        System.out.println("----------------------------------------\n"+"Left Expression: " + leftExpression); // Print the left expression for debugging.
-        System.out.println("Right Expression: " + rightExpression); // Print the right expression for debugging.
-
-        // Evaluate the left and right expressions and check if their values are equal.
-        return evaluateExpression(leftExpression) == evaluateExpression(rightExpression);
-    }
-
-    /**
-     * Evaluates the value of a mathematical expression.
-     *
-     * @param expression The mathematical expression to evaluate.
-     * @return The evaluated value of the expression.
-     */
-    private int evaluateExpression(String expression) {
-        int result = 0; // Stores the final result of the expression.
-        int num = 0; // Stores the currently parsed number.
-        int prevNum = 0; // Stores the previous number in the expression.
-        char operator = '+'; // Stores the current operator.
-        char prevOperator = '+'; // Stores the previous operator.
-
-        for (int i = 0; i < expression.length(); i++) {
-            char c = expression.charAt(i); // Get the current character in the expression.
-
-            if (Character.isDigit(c)) { // Check if the character is a digit.
-                num = num * 10 + (c - '0'); // Accumulate the digit to form a number.
-            } else if (c == '+' || c == '-') { // Check if the character is an addition or subtraction operator.
-                // Apply the previous operator to the previous number.
-                if (prevOperator == '*') {
-                    prevNum *= num;
-                } else if (prevOperator == '/') {
-                    if (num == 0) {
-                        throw new ArithmeticException("Division by zero"); // Division by zero is not allowed.
-                    }
-                    prevNum /= num;
-                } else {
-                    prevNum = num;
-                }
-
-                // Apply the current operator to the accumulated result.
-                if (operator == '+') {
-                    result += prevNum;
-                } else {
-                    result -= prevNum;
-                }
-
-                // Update the operators and reset the number.
-                operator = c;
-                prevOperator = '+';
-                num = 0;
-            } else if (c == '*' || c == '/') { // Check if the character is a multiplication or division operator.
-                // Apply the previous multiplication or division if any.
-                if (prevOperator == '*') {
-                    prevNum *= num;
-                } else if (prevOperator == '/') {
-                    if (num == 0) {
-                        throw new ArithmeticException("Division by zero"); // Division by zero is not allowed.
-                    }
-                    prevNum /= num;
-                } else {
-                    prevNum = num;
-                }
-
-                // Update the previous operator to the current one and reset the number.
-                prevOperator = c;
-                num = 0;
+    /**
+     * Gets the symbols with one keyboard colour as a bitmask.
+     *
+     * @param code The feedback code of the colour.
+     * @return The mask with bit i set if symbol {@code Symbols.ALPHABET[i]} has that colour.
+     */
+    @Override
+    public int getKeyMask(int code) {
+        int mask = 0;
+        for (int i = 0; i < keyStates.length; i++) {
+            if (keyStates[i] == code) {
+                mask |= 1 << i;
             }
         }
+        return mask;
+    }
 
-        // Apply the last number with the last operator
-        if (prevOperator == '*') {
-            prevNum *= num;
-        } else if (prevOperator == '/') {
-            if (num == 0) {
-                // Division by zero is not allowed.
-                throw new ArithmeticException("Division by zero");
+    /**
+     * Lists the symbols with one keyboard colour, as the letter sets did before the keyboard state was packed.
+     *
+     * @param code The feedback code of the colour.
+     * @return A new unmodifiable set of the symbols, as one-character strings.
+     */
+    private Set<String> lettersWithState(int code) {
+        Set<String> letters = new LinkedHashSet<>();
+        for (int i = 0; i < keyStates.length; i++) {
+            if (keyStates[i] == code) {
+                letters.add(String.valueOf(Symbols.ALPHABET[i]));
             }
-            prevNum /= num;
-        } else {
-            prevNum = num;
         }
+        return Collections.unmodifiableSet(letters);
+    }
 
-        // Apply the final result with the last operator
-        if (operator == '+') {
-            result += prevNum;
-        } else {
-            result -= prevNum;
-        }
+    /**
+     * Gets the set of grey letters in the current game.
+     *
+     * @return The set of grey letters.
+     */
+    @Override
+    public Set<String> getGreyLetters() {
+        return lettersWithState(Feedback.ABSENT);   // Returns the characters not in the target number
+    }
+
+    /**
+     * Gets the set of gold letters in the current game.
+     *
+     * @return The set of gold letters.
+     */
+    @Override
+    public Set<String> getYellowLetters() {
+        return lettersWithState(Feedback.PRESENT);   // Returns the characters in the target number but not yet in the correct position
+    }
+
+    /**
+     * Gets the set of green letters in the current game.
+     *
+     * @return The set of green letters.
+     */
+    @Override
+    public Set<String> getGreenLetters() {
+        return lettersWithState(Feedback.CORRECT);   // Returns the characters found in the correct position
+    }
 
-        return result; // Return the final result of the expression.
+    /**
+     * Checks if the provided equation is valid.
+     * The equation is checked in place by {@link EquationEvaluator}, through the cache shared
+     * by every model unless it is switched off. In bitmap mode a valid equation is recognised by
+     * testing its bit, and only a rejected one is evaluated, to find the reason.
+     *
+     * @param equation The characters of the equation to validate.
+     * @requires equation.length == getEquationLength()
+     * @return The result code of the evaluator, EquationEvaluator.VALID if the equation is valid.
+     */
+    private int checkEquation(char[] equation) {
+        if (validityBitmap != null && validityBitmap.isValid(equation)) {
+            return EquationEvaluator.VALID;   // One bit test, no arithmetic
+        }
+        if (ValidationCache.ENABLED) {
+            return ValidationCache.shared().check(equation, length);
+        }
+        return EquationEvaluator.check(equation, length);
     }
 
 }
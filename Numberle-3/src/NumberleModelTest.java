@@ -2,7 +2,14 @@
 
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Set;   // Importing the Set interface
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 
@@ -110,7 +117,7 @@ public class NumberleModelTest {
     public void testGameOverAfterMaxAttempts() {
         NumberleModel model = new NumberleModel();   // Creating an instance of the NumberleModel class
         model.initialize();   // Initializing the model
-        model.FLAG_RANDOM_SELECT = false;   // Setting the random selection flag to false
+        model.setRandomSelect(false);   // Setting the random selection flag to false
         for (int i = 0; i < 6; i++) {
             model.processInput("1+2=3+0");  // Incorrect guesses, each decrementing the attempt counter
         }
@@ -169,4 +176,186 @@ public class NumberleModelTest {
         System.out.println("greenLetters: " + greenLetters);
         assertTrue("Green letters should be empty at initialization", greenLetters.isEmpty());   // Asserting that the set of green letters is empty at initialization
     }
-}
\ No newline at end of file
+
+    /**
+     * Test to verify that the keyboard state keeps the best colour of every symbol and is cleared by a new game.
+     *
+     * @requires a model whose target is the default target number
+     * @ensures a key only moves up from grey to yellow to green, and the letter sets agree with the state
+     */
+    @Test
+    public void keyboardState_Test() {
+        NumberleModel model = new NumberleModel();
+        model.setRandomSelect(false);   // The target is 6+4=2*5
+        model.initialize();
+        assertEquals(0, model.getKeyboardState());
+
+        model.processInput("1+2=3-0");   // ×√?√×××
+        assertEquals(Feedback.PRESENT, model.getKeyState('2'));
+        assertEquals(Feedback.CORRECT, model.getKeyState('+'));
+        assertEquals(Feedback.ABSENT, model.getKeyState('1'));
+        assertEquals(Feedback.NONE, model.getKeyState('9'));
+        assertEquals(Set.of("1", "3", "-", "0"), model.getGreyLetters());
+        assertEquals(Set.of("2"), model.getYellowLetters());
+
+        model.processInput("1+3=2+2");   // ×√×√√××: 2 becomes green even though a copy of it is grey
+        assertEquals(Feedback.CORRECT, model.getKeyState('2'));
+        assertEquals(Set.of("+", "=", "2"), model.getGreenLetters());
+        assertTrue(model.getYellowLetters().isEmpty());
+        int green = model.getKeyMask(Feedback.CORRECT);
+        assertEquals(3, Integer.bitCount(green));
+        assertTrue((green & (1 << Symbols.indexOf('2'))) != 0);
+        assertEquals(Feedback.CORRECT, Feedback.get(model.getKeyboardState(), Symbols.indexOf('=')));
+
+        model.startNewGame();
+        assertEquals(0, model.getKeyboardState());
+        assertTrue(model.getGreenLetters().isEmpty());
+    }
+
+    /**
+     * Test to verify that listeners receive the new-game, guess and win events in order.
+     *
+     * @requires an initialized instance of NumberleModel
+     * @ensures a non-coalescing listener receives every event of the game
+     */
+    @Test
+    public void modelListener_Events_Test() throws InterruptedException {
+        NumberleModel model = new NumberleModel();   // Creating an instance of the NumberleModel class
+        List<ModelEvent> received = new CopyOnWriteArrayList<>();
+        CountDownLatch won = new CountDownLatch(1);
+        model.addModelListener(events -> {
+            received.addAll(events);
+            if (events.get(events.size() - 1).getType() == ModelEvent.Type.GAME_WON) {
+                won.countDown();
+            }
+        }, false);
+
+        model.initialize();   // Initializing the model
+        model.processInput(model.getTargetNumber());   // Winning with the first guess
+        assertTrue("The win should be delivered", won.await(5, TimeUnit.SECONDS));
+
+        assertEquals(3, received.size());
+        assertEquals(ModelEvent.Type.NEW_GAME, received.get(0).getType());
+        assertEquals(ModelEvent.Type.GUESS_APPLIED, received.get(1).getType());
+        assertEquals(model.getTargetNumber(), received.get(1).getGuess());
+        assertEquals(model.getGameId(), received.get(2).getGameId());
+    }
+
+    /**
+     * Test to verify that a finished game rejects further guesses and announces its end only once.
+     *
+     * @requires an initialized instance of NumberleModel
+     * @ensures guesses after a win or a loss are rejected with GAME_OVER and change nothing
+     */
+    @Test
+    public void gameOver_RejectsGuesses_Test() throws InterruptedException {
+        NumberleModel model = new NumberleModel();   // Creating an instance of the NumberleModel class
+        List<ModelEvent> received = new CopyOnWriteArrayList<>();
+        CountDownLatch secondGame = new CountDownLatch(2);
+        model.addModelListener(events -> {
+            for (ModelEvent event : events) {
+                received.add(event);
+                if (event.getType() == ModelEvent.Type.NEW_GAME) {
+                    secondGame.countDown();
+                }
+            }
+        }, false);
+
+        model.initialize();   // Initializing the model
+        String target = model.getTargetNumber();
+        assertTrue(model.processInput(target));   // Winning with the first guess
+        assertEquals(-EquationEvaluator.GAME_OVER, model.submitGuess(target));
+        assertEquals(-EquationEvaluator.GAME_OVER, model.submitGuess("1+2=3-0"));
+        assertEquals(model.getMaxAttempts() - 1, model.getRemainingAttempts());
+        assertTrue(model.isGameWon());
+
+        model.startNewGame();   // The events of the first game are delivered before this one starts
+        assertTrue("The new game should be delivered", secondGame.await(5, TimeUnit.SECONDS));
+        int ends = 0;
+        for (ModelEvent event : received) {
+            if (event.getType() == ModelEvent.Type.GAME_WON || event.getType() == ModelEvent.Type.GAME_LOST) {
+                ends++;
+            }
+        }
+        assertEquals("Only the winning guess should end the game", 1, ends);
+
+        for (int i = 0; i < model.getMaxAttempts(); i++) {
+            model.submitGuess(model.getTargetNumber().equals("1+2=3-0") ? "1+3=4-0" : "1+2=3-0");
+        }
+        assertTrue(model.isGameOver());
+        assertEquals(-EquationEvaluator.GAME_OVER, model.submitGuess(model.getTargetNumber()));
+        assertEquals(0, model.getRemainingAttempts());
+        assertFalse("A lost game cannot be won afterwards", model.isGameWon());
+    }
+
+    /**
+     * Test to verify that a variant with shorter equations and more guesses plays by its own rules.
+     *
+     * @requires a dictionary of five-character equations
+     * @ensures guesses of the wrong length are rejected and the game ends after the variant's attempts
+     */
+    @Test
+    public void variant_ShortEquations_Test() throws IOException {
+        Path file = Files.createTempFile("equations", ".txt");
+        Files.write(file, List.of("1+2=3", "2*3=6", "9-8=1", "8/4=2"));
+        EquationDictionary dictionary = EquationDictionary.importText(file, 5);
+        Files.delete(file);
+
+        NumberleVariant variant = new NumberleVariant(5, 8);
+        NumberleModel model = new NumberleModel(variant, dictionary);
+        model.startNewGame(dictionary.indexOf("9-8=1"));
+        assertEquals(5, model.getEquationLength());
+        assertEquals(8, model.getMaxAttempts());
+        assertEquals(-EquationEvaluator.INVALID_SHAPE, model.submitGuess("1+2=3-0"));
+        for (int i = 0; i < 7; i++) {
+            assertTrue(model.processInput("1+2=3"));
+        }
+        assertFalse(model.isGameOver());
+        assertEquals("?××√×", model.getCurrentGuess().toString());
+        assertTrue(model.processInput("9-8=1"));
+        assertTrue(model.isGameWon());
+        assertEquals("9-8=1", model.getGuess(7));
+        try {
+            new NumberleModel(NumberleVariant.CLASSIC, dictionary);
+            fail("A dictionary of another length should be rejected");
+        } catch (IllegalArgumentException expected) {
+            // The classic variant needs seven-character equations
+        }
+        try {
+            new NumberleVariant(14, 6).dictionary();
+            fail("A dictionary that has not been generated should be reported at once");
+        } catch (IllegalStateException expected) {
+            // Generating it is left to generateDictionary, off the UI thread
+        }
+    }
+
+    /**
+     * Test to verify that the candidates kept by the model follow every guess of the game.
+     *
+     * @requires the equations file is present in the working directory
+     * @ensures the candidates match those narrowed from scratch and a caller's copy does not change the game
+     */
+    @Test
+    public void getRemainingCandidates_FollowsGuesses_Test() {
+        EquationDictionary dictionary = EquationDictionary.shared();
+        NumberleModel model = new NumberleModel(dictionary);
+        model.startNewGame(dictionary.size() - 1);
+        assertEquals(dictionary.size(), model.getRemainingCandidates().count());
+
+        CandidateIndex.Candidates expected = CandidateIndex.of(dictionary).all();
+        for (int guess = 0; guess < 3; guess++) {
+            String equation = dictionary.get(guess);
+            assertTrue(model.processInput(equation));
+            expected.apply(equation.toCharArray(), model.getFeedback());
+
+            CandidateIndex.Candidates candidates = model.getRemainingCandidates();
+            assertArrayEquals(expected.toArray(), candidates.toArray());
+            assertTrue("The target should stay a candidate", candidates.contains(model.getTargetIndex()));
+            candidates.apply(equation.toCharArray(), 0);   // Narrowing the copy must not reach the model
+        }
+        assertEquals(expected.count(), model.getRemainingCandidates().count());
+
+        model.startNewGame(0);
+        assertEquals("A new game should start with every equation", dictionary.size(), model.getRemainingCandidates().count());
+    }
+}
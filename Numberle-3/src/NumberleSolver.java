@@ -0,0 +1,291 @@
+// NumberleSolver.java
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+/**
+ * Suggests the next guess of a game from the guesses and feedback so far.
+ * The remaining candidates are the dictionary equations that would have given the same feedback
+ * to every earlier guess, and the suggested guess is the one whose feedback is expected to tell
+ * the most about which candidate is the target (the highest entropy of its feedback distribution).
+ * Guesses are scored in parallel, each against every remaining candidate, counting the candidates
+ * per feedback value in a small hash table, so the memory used does not grow with the equation length.
+ * Feedback is looked up in the {@link FeedbackMatrix} of the dictionary when its file has been built
+ * (see {@link FeedbackMatrix#openIfPresent(EquationDictionary)}), which is several times faster than
+ * computing it. The best first guess is the same in every game, so it is searched for once, in the
+ * background, and reused; {@link #preload()} starts that search at startup.
+ */
+public class NumberleSolver {
+    private static final long WORK_LIMIT = 20_000_000L; // Largest number of feedbacks computed for one suggestion
+    private static final Map<EquationDictionary, NumberleSolver> SOLVERS =
+            Collections.synchronizedMap(new WeakHashMap<>()); // Solvers by dictionary, dropped with their dictionary
+
+    private final FeedbackMatrix matrix;         // Precomputed feedback for the dictionary, or null to compute it
+    private final CandidateIndex index;          // Bitset index for narrowing the candidates
+    private final char[][] equations;            // Every dictionary equation, decoded once
+    private final int width;                     // Number of characters in every equation
+    private final ThreadLocal<int[][]> scratch;  // Per-thread hash table of feedback values, their counts, the slots used and symbol counts
+    private CompletableFuture<Integer> opening;  // The search for the best first guess, started once and then reused
+
+    /**
+     * Constructs a solver over a dictionary that computes feedback as it goes.
+     *
+     * @param dictionary The dictionary of candidate targets and guesses.
+     * @requires dictionary != null
+     */
+    public NumberleSolver(EquationDictionary dictionary) {
+        this(dictionary, null);
+    }
+
+    /**
+     * Constructs a solver over a dictionary that looks feedback up in a precomputed matrix.
+     *
+     * @param dictionary The dictionary of candidate targets and guesses.
+     * @param matrix     The feedback matrix of the dictionary, or null to compute feedback as needed.
+     * @requires dictionary != null && (matrix == null || matrix.size() == dictionary.size())
+     */
+    public NumberleSolver(EquationDictionary dictionary, FeedbackMatrix matrix) {
+        this.matrix = matrix;
+        this.index = CandidateIndex.of(dictionary);
+        this.width = dictionary.width();
+        this.equations = new char[dictionary.size()][width];
+        for (int i = 0; i < equations.length; i++) {
+            dictionary.copyTo(i, equations[i]);
+        }
+        this.scratch = ThreadLocal.withInitial(() -> new int[][]{new int[0], new int[0], new int[0], new int[Symbols.COUNT]});
+    }
+
+    /**
+     * Starts searching for the best first guess of the shared solver in the background,
+     * so the first suggestion of a game does not have to wait for it.
+     */
+    public static void preload() {
+        CompletableFuture.runAsync(() -> shared().openingGuess());
+    }
+
+    /**
+     * Starts searching for the best first guess for a model's dictionary in the background,
+     * so the first suggestion of a game does not have to wait for it.
+     *
+     * @param model The game model.
+     * @requires model != null
+     */
+    public static void preload(INumberleModel model) {
+        CompletableFuture.runAsync(() -> forModel(model).openingGuess());
+    }
+
+    /**
+     * Gets the solver over the dictionary shared by the whole JVM.
+     *
+     * @ensures \result != null && \result == shared()
+     * @return The shared solver.
+     */
+    public static NumberleSolver shared() {
+        return Holder.SHARED;
+    }
+
+    /**
+     * Holds the shared solver, which the JVM creates once when the holder is first used.
+     */
+    private static final class Holder {
+        static final NumberleSolver SHARED = of(EquationDictionary.shared());
+    }
+
+    /**
+     * Gets the solver over a dictionary, creating it on first use and sharing it afterwards.
+     * The solver uses the dictionary's feedback matrix file if there is one, and only lives as
+     * long as the dictionary is in use.
+     *
+     * @param dictionary The dictionary of candidate targets and guesses.
+     * @requires dictionary != null
+     * @ensures \result == of(dictionary)
+     * @return The solver of the dictionary.
+     */
+    public static NumberleSolver of(EquationDictionary dictionary) {
+        return SOLVERS.computeIfAbsent(dictionary, d -> new NumberleSolver(d, FeedbackMatrix.openIfPresent(d)));
+    }
+
+    /**
+     * Gets the solver for the dictionary a model plays with.
+     *
+     * @param model The game model.
+     * @requires model != null
+     * @return The solver of the model's dictionary.
+     */
+    public static NumberleSolver forModel(INumberleModel model) {
+        return of(model.getDictionary());
+    }
+
+    /**
+     * Suggests the next guess for the current game of a model.
+     *
+     * @param model The game model.
+     * @requires model != null && model plays with the dictionary of this solver
+     * @return The suggested guess, or null if no dictionary equation is consistent with the feedback so far
+     *         or the model plays equations of another length.
+     */
+    public String suggest(INumberleModel model) {
+        if (model.getEquationLength() != width) {
+            return null;
+        }
+        int best = bestGuess(model.getRemainingCandidates().toArray());   // The model keeps its candidates up to date
+        return best < 0 ? null : new String(equations[best]);
+    }
+
+    /**
+     * Finds the dictionary equations that are consistent with the feedback of earlier guesses.
+     *
+     * @param guesses   The earlier guesses.
+     * @param feedbacks The packed feedback of each earlier guess.
+     * @param attempts  The number of earlier guesses.
+     * @return The dictionary indices of the remaining candidates, in ascending order.
+     */
+    public int[] candidates(char[][] guesses, int[] feedbacks, int attempts) {
+        CandidateIndex.Candidates candidates = index.all();
+        for (int i = 0; i < attempts; i++) {
+            candidates.apply(guesses[i], feedbacks[i]);
+        }
+        return candidates.toArray();
+    }
+
+    /**
+     * Gets the best first guess, which is searched for on first use in the background and then reused.
+     *
+     * @ensures \result == openingGuess()
+     * @return A future completed with the dictionary index of the best first guess, or -1 if the dictionary is empty.
+     */
+    public synchronized CompletableFuture<Integer> openingGuess() {
+        if (opening == null) {
+            opening = CompletableFuture.supplyAsync(() -> search(IntStream.range(0, equations.length).toArray()));
+        }
+        return opening;
+    }
+
+    /**
+     * Finds the guess with the highest expected information over the remaining candidates.
+     * Every dictionary equation is scored while that stays within the work limit; otherwise only
+     * the candidates are scored, sampled evenly if there are too many of them.
+     *
+     * @param candidates The dictionary indices of the remaining candidates.
+     * @return The dictionary index of the best guess, or -1 if there are no candidates.
+     */
+    public int bestGuess(int[] candidates) {
+        if (candidates.length == equations.length) {
+            return openingGuess().join();   // Nothing has been guessed yet
+        }
+        return search(candidates);
+    }
+
+    /**
+     * Scores the guesses against the candidates and picks the best.
+     *
+     * @param candidates The dictionary indices of the remaining candidates.
+     * @return The dictionary index of the best guess, or -1 if there are no candidates.
+     */
+    private int search(int[] candidates) {
+        if (candidates.length <= 2) {
+            return candidates.length == 0 ? -1 : candidates[0]; // Any candidate is as good as the other
+        }
+
+        int[] scored = candidates;   // The candidates the guesses are scored against
+        int[] pool;                  // The guesses that are scored
+        if ((long) equations.length * candidates.length <= WORK_LIMIT) {
+            pool = IntStream.range(0, equations.length).toArray();
+        } else {
+            int sample = (int) Math.min(candidates.length, (long) Math.sqrt(WORK_LIMIT));
+            scored = sample(candidates, sample);
+            pool = scored;
+        }
+
+        int[] sampled = scored;
+        double[] scores = new double[pool.length];
+        IntStream.range(0, pool.length).parallel().forEach(i -> scores[i] = score(pool[i], sampled));
+
+        int best = 0;
+        for (int i = 1; i < pool.length; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        return pool[best];
+    }
+
+    /**
+     * Scores a guess by the entropy of the feedback it would get from the candidates.
+     * A guess that is itself a candidate gets a small bonus, since it may win outright.
+     *
+     * @param guess      The dictionary index of the guess.
+     * @param candidates The dictionary indices of the candidates.
+     * @return The score of the guess; higher is better.
+     */
+    private double score(int guess, int[] candidates) {
+        int[][] arrays = scratch.get();
+        if (arrays[0].length < 2 * candidates.length) {   // At most half full, since there are no more classes than candidates
+            int size = Math.max(8, Integer.highestOneBit(4 * candidates.length - 1));
+            arrays[0] = new int[size];
+            arrays[1] = new int[size];
+            arrays[2] = new int[size];
+        }
+        int[] values = arrays[0];  // Feedback value of each slot, or 0 if the slot is free (no feedback is 0)
+        int[] count = arrays[1];   // Number of candidates with the feedback value of each slot
+        int[] used = arrays[2];    // The slots that are taken
+        int[] symbols = arrays[3]; // Symbol counts for computing feedback
+        int shift = Integer.numberOfLeadingZeros(values.length) + 1;   // Keeps the top bits of the hash, one per level of the table
+        int classes = 0;
+        boolean isCandidate = false;
+        for (int candidate : candidates) {
+            int value = feedback(candidate, guess, symbols);
+            int slot = (value * 0x9E3779B9) >>> shift;   // Fibonacci hashing spreads neighbouring feedback values
+            while (values[slot] != value && values[slot] != 0) {
+                slot = (slot + 1) & (values.length - 1);
+            }
+            if (count[slot]++ == 0) {
+                values[slot] = value;
+                used[classes++] = slot;
+            }
+            isCandidate |= candidate == guess;
+        }
+
+        double sum = 0;   // Sum of n * log(n) over the feedback classes
+        for (int i = 0; i < classes; i++) {
+            int n = count[used[i]];
+            sum += n * Math.log(n);
+            count[used[i]] = 0;   // Clears the slot so the table is ready for the next guess
+            values[used[i]] = 0;
+        }
+        double total = candidates.length;
+        double entropy = Math.log(total) - sum / total;
+        return isCandidate ? entropy + 1 / total : entropy;
+    }
+
+    /**
+     * Gets the feedback of a dictionary guess against a dictionary target.
+     *
+     * @param target The dictionary index of the target.
+     * @param guess  The dictionary index of the guess.
+     * @param counts Scratch space for the symbol counts.
+     * @return The packed feedback.
+     */
+    private int feedback(int target, int guess, int[] counts) {
+        return matrix != null ? matrix.get(target, guess) : Feedback.compute(equations[target], equations[guess], width, counts);
+    }
+
+    /**
+     * Picks evenly spaced elements of an array.
+     *
+     * @param values The array.
+     * @param size   The number of elements to pick.
+     * @requires 0 < size && size <= values.length
+     * @return The picked elements, in their original order.
+     */
+    private static int[] sample(int[] values, int size) {
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = values[(int) ((long) i * values.length / size)];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+// Importing the necessary classes for JUnit testing
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+
+public class NumberleSolverTest {
+    /**
+     * Test to verify that following the solver's suggestions wins every game on the text dictionary.
+     *
+     * @requires the equations file is present in the working directory
+     * @ensures each game is won within MAX_ATTEMPTS guesses
+     */
+    @Test
+    public void suggest_WinsEveryGame_Test() throws IOException {
+        EquationDictionary dictionary = EquationDictionary.importText(
+                Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+        NumberleSolver solver = new NumberleSolver(dictionary);
+        NumberleModel model = new NumberleModel(dictionary);
+        model.setRandomSelect(true);   // The fixed target is not in the dictionary
+
+        for (int game = 0; game < 20; game++) {
+            model.initialize();
+            while (!model.isGameOver()) {
+                String suggestion = solver.suggest(model);
+                assertNotNull("A suggestion should exist while the target is in the dictionary", suggestion);
+                assertTrue("The suggestion should be accepted", model.processInput(suggestion));
+            }
+            assertTrue("The solver should win " + model.getTargetNumber(), model.isGameWon());
+        }
+    }
+
+    /**
+     * Test to verify that the bitset index keeps exactly the equations that give the same feedback.
+     *
+     * @requires the equations file is present in the working directory
+     * @ensures the narrowed candidates equal those found by comparing every equation
+     */
+    @Test
+    public void candidateIndex_MatchesFeedback_Test() throws IOException {
+        EquationDictionary dictionary = EquationDictionary.importText(
+                Paths.get(INumberleModel.GUESS_EQUATIONS_FILE), INumberleModel.EQUATION_LENGTH);
+        CandidateIndex index = CandidateIndex.of(dictionary);
+        char[] target = new char[7];
+        char[] guess = new char[7];
+        char[] candidate = new char[7];
+
+        for (int t = 0; t < dictionary.size(); t += 7) {
+            for (int g = 0; g < dictionary.size(); g += 5) {
+                dictionary.copyTo(t, target);
+                dictionary.copyTo(g, guess);
+                int feedback = Feedback.compute(target, guess, 7);
+                CandidateIndex.Candidates candidates = index.all();
+                candidates.apply(guess, feedback);
+
+                int expected = 0;
+                for (int c = 0; c < dictionary.size(); c++) {
+                    dictionary.copyTo(c, candidate);
+                    boolean consistent = Feedback.compute(candidate, guess, 7) == feedback;
+                    assertEquals(consistent, candidates.contains(c));
+                    expected += consistent ? 1 : 0;
+                }
+                assertEquals(expected, candidates.count());
+                assertEquals(expected, candidates.toArray().length);
+            }
+        }
+    }
+
+    /**
+     * Test to verify that the solver handles long equations and reuses its opening guess.
+     *
+     * @requires a dictionary of thirteen-character equations, whose feedback values do not fit a direct table
+     * @ensures the opening guess is a dictionary equation found once, and later guesses are scored without it
+     */
+    @Test
+    public void bestGuess_LongEquations_Test() throws IOException {
+        Path file = Files.createTempFile("equations", ".txt");
+        Files.write(file, List.of("1+1+1+1=2+2+0", "1+2+3+4=5+5+0", "2+2+3+4=5+5+1", "9+1+1+1=6+6+0"));
+        EquationDictionary dictionary = EquationDictionary.importText(file, 13);
+        Files.delete(file);
+
+        NumberleSolver solver = NumberleSolver.of(dictionary);
+        assertSame(solver, NumberleSolver.of(dictionary));
+        int opening = solver.bestGuess(new int[]{0, 1, 2, 3});
+        assertTrue(0 <= opening && opening < 4);
+        assertSame("The opening guess is searched for once", solver.openingGuess(), solver.openingGuess());
+        assertEquals(opening, (int) solver.openingGuess().join());
+        int next = solver.bestGuess(new int[]{1, 2, 3});
+        assertTrue(0 <= next && next < 4);
+    }
+}
@@ -0,0 +1,167 @@
+// NumberleVariant.java
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The rules of one kind of game: how long the equations are and how many guesses the player gets.
+ * Variants of different lengths can be played side by side in one JVM; each length has its own
+ * dictionary, loaded once on first use. The classic variant uses the shared dictionary, and every
+ * other length {@code n} maps {@code equations-<n>.bin}, which {@link EquationGenerator} writes
+ * (for example {@code java EquationGenerator 8 equations-8.bin}). Generating a dictionary can take
+ * minutes for long equations, so {@link #dictionary()} never does it; a missing file is generated
+ * only by an explicit call to {@link #generateDictionary(PrintStream)}, off the UI thread.
+ */
+public final class NumberleVariant {
+    public static final int MAX_LENGTH = 15; // Longest equation whose packed feedback stays a non-negative int
+
+    public static final NumberleVariant CLASSIC = new NumberleVariant(INumberleModel.EQUATION_LENGTH, INumberleModel.MAX_ATTEMPTS);
+    public static final NumberleVariant MINI = new NumberleVariant(5, 6);    // Five-character equations
+    public static final NumberleVariant LONG = new NumberleVariant(8, 6);    // Eight-character equations
+    public static final NumberleVariant EXTRA_LONG = new NumberleVariant(10, 7); // Ten-character equations, one more guess
+
+    private static final Map<Integer, EquationDictionary> DICTIONARIES = new ConcurrentHashMap<>(); // Loaded dictionaries by length
+    private static final Object GENERATION_LOCK = new Object(); // Held while a dictionary file is generated, apart from the map
+
+    private final int equationLength; // Number of characters in every equation
+    private final int maxAttempts;    // Number of guesses in a game
+
+    /**
+     * Constructs a variant.
+     *
+     * @param equationLength The number of characters in every equation.
+     * @param maxAttempts    The number of guesses in a game.
+     * @throws IllegalArgumentException If the length is outside 3 to {@value #MAX_LENGTH} or there are no guesses.
+     */
+    public NumberleVariant(int equationLength, int maxAttempts) {
+        if (equationLength < 3 || equationLength > MAX_LENGTH || maxAttempts < 1) {
+            throw new IllegalArgumentException("No variant with " + equationLength + " characters and " + maxAttempts + " guesses");
+        }
+        this.equationLength = equationLength;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Parses a variant written as by {@link #toString()}.
+     *
+     * @param text The equation length and number of guesses, such as "8x6".
+     * @throws IllegalArgumentException If the text does not describe a variant.
+     * @return The variant.
+     */
+    public static NumberleVariant parse(String text) {
+        String[] parts = text.split("x");
+        try {
+            return new NumberleVariant(Integer.parseInt(parts[0]), parts.length > 1 ? Integer.parseInt(parts[1]) : INumberleModel.MAX_ATTEMPTS);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a variant: " + text, e);
+        }
+    }
+
+    /**
+     * Gets the number of characters in every equation.
+     *
+     * @return The equation length.
+     */
+    public int getEquationLength() {
+        return equationLength;
+    }
+
+    /**
+     * Gets the number of guesses in a game.
+     *
+     * @return The number of attempts.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Checks whether this variant has the classic equation length, for which the engine has fast paths.
+     *
+     * @return True if the equations have {@link INumberleModel#EQUATION_LENGTH} characters.
+     */
+    public boolean isClassicLength() {
+        return equationLength == INumberleModel.EQUATION_LENGTH;
+    }
+
+    /**
+     * Gets the dictionary of this variant's equation length, mapping its file on first use.
+     *
+     * @throws IllegalStateException If the dictionary file has not been generated yet.
+     * @throws UncheckedIOException If the dictionary cannot be loaded.
+     * @return The dictionary.
+     */
+    public EquationDictionary dictionary() {
+        if (isClassicLength()) {
+            return EquationDictionary.shared();
+        }
+        EquationDictionary loaded = DICTIONARIES.get(equationLength);
+        if (loaded != null) {
+            return loaded;
+        }
+        Path file = dictionaryPath(equationLength);
+        if (!Files.exists(file)) {
+            throw new IllegalStateException("No dictionary of " + equationLength + "-character equations: generate "
+                    + file + " first with 'java EquationGenerator " + equationLength + " " + file + "'");
+        }
+        return DICTIONARIES.computeIfAbsent(equationLength, length -> {
+            try {
+                return EquationDictionary.map(file);   // Mapping is quick, so holding the map's lock is fine
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Gets the dictionary of this variant's equation length, generating its file first if it is missing.
+     * Generating can take minutes for long equations, so call this from a worker or the command line,
+     * never from the Event Dispatch Thread. Only one dictionary is generated at a time, and lookups of
+     * dictionaries that already exist never wait for it.
+     *
+     * @param progress The stream for progress reports of the generator, or null to report nothing.
+     * @throws IOException If the dictionary cannot be generated or loaded.
+     * @return The dictionary.
+     */
+    public EquationDictionary generateDictionary(PrintStream progress) throws IOException {
+        if (!isClassicLength()) {
+            synchronized (GENERATION_LOCK) {
+                Path file = dictionaryPath(equationLength);
+                if (!Files.exists(file)) {
+                    new EquationGenerator(equationLength, Paths.get("equations-" + equationLength + ".parts"), progress).generate(file);
+                }
+            }
+        }
+        try {
+            return dictionary();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Gets the path of the dictionary file of an equation length other than the classic one.
+     *
+     * @param length The equation length.
+     * @return The path of the dictionary file.
+     */
+    public static Path dictionaryPath(int length) {
+        return Paths.get("equations-" + length + ".bin");
+    }
+
+    /**
+     * Describes the variant.
+     *
+     * @return The equation length and number of guesses, such as "7x6".
+     */
+    @Override
+    public String toString() {
+        return equationLength + "x" + maxAttempts;
+    }
+}
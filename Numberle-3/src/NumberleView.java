@@ -5,16 +5,14 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Observer;
-import java.util.Set;
 
 /**
  * Represents the view of the Numberle game, managing GUI components and user interactions.
  */
-public class NumberleView implements Observer {
+public class NumberleView implements ModelListener {
     private final INumberleModel model; // Represents the Numberle model
     private final NumberleController controller; // Represents the Numberle controller
     private final JFrame frame = new JFrame("Numberle Game: Guess the Equation"); // The main game window frame
@@ -23,12 +21,18 @@ public class NumberleView implements Observer {
     private JLabel[] letterLabels; // Array of labels to display letters or symbols in the input panel
     private JPanel letterPanel; // Panel containing the letter buttons for the keyboard
     private JButton newGameButton; // Button to start a new game
+    private JButton suggestButton; // Button to fill the current row with a suggested guess
     private KeyAdapter inputPanelKeyListener; // Key listener for keyboard input events in the input panel
+    private final Map<Character, JButton> keyButtons = new HashMap<>(); // Keyboard buttons by the character they type
+    private int paintedAttempts; // Number of guesses already painted on the grid and keyboard
+    private boolean gameOverShown; // Whether the end of the current game has already been announced
+    private int inputRow; // Row the player is typing into, kept by the view so typing never waits for the model
+    private int pendingRow = -1; // Row of the guess being checked on the controller's worker, or -1 if none
+    private static final Color PENDING_COLOR = new Color(200, 220, 255); // Background of a row while its guess is checked
 
-    public String numberImagePath = "./resources/buttons/"; // Path to the directory of image icons
-    public Map<Character, ImageIcon> numberIcons = new HashMap<>(); // Map associating numbers with image icons
-    public Map<Character, ImageIcon> operatorIcons = new HashMap<>(); // Map associating operators with image icons
-    private final int iconSize = 80; // Size (in pixels) of the image icons
+    private final int iconSize = GUIApp.ICON_SIZE; // Size (in pixels) of the image icons
+    private final int rows;    // Number of guesses in a game, one grid row each
+    private final int columns; // Number of characters in every equation, one grid column each
 
 
     /**
@@ -41,55 +45,18 @@ public class NumberleView implements Observer {
     public NumberleView(INumberleModel model, NumberleController controller) {
         this.controller = controller; // Assign the provided controller to the 'controller' variable
         this.model = model; // Assign the provided model to the 'model' variable
+        this.rows = model.getMaxAttempts(); // The grid has one row per guess
+        this.columns = model.getEquationLength(); // and one column per character
         this.controller.startNewGame(); // Start a new game using the controller
-        ((NumberleModel) this.model).addObserver(this); // Add this view as an observer to the model
+        this.model.addModelListener(this, true); // Listen to the model, coalescing bursts into a single redraw
 
 
         initializeFrame(); // Initialize the game frame
 
         this.controller.setView(); // Set the view using the controller
-        update((NumberleModel) this.model, null); // Update the view with the initial model state
-
-        loadImages(); // Load the image icons for numbers and operators
-    }
-
-
-    /**
-     * Loads image icons for number and operator buttons.
-     * @ensures numberIcons and operatorIcons are loaded with respective images
-     */
-    private void loadImages() {
-        // Load image icons for numbers '0' to '9'
-        for (char c = '0'; c <= '9'; c++) {
-            numberIcons.put(c, new ImageIcon(numberImagePath + c + ".png"));
-        }
-
-        // Load image icons for operators '+', '-', '×', '÷', and '='
-        operatorIcons.put('+', new ImageIcon(numberImagePath + "+.png"));
-        operatorIcons.put('-', new ImageIcon(numberImagePath + "-.png"));
-        operatorIcons.put('×', new ImageIcon(numberImagePath + "×.png"));
-        operatorIcons.put('÷', new ImageIcon(numberImagePath + "÷.png"));
-        operatorIcons.put('=', new ImageIcon(numberImagePath + "=.png"));
+        update(); // Update the view with the initial model state
     }
 
-    /**
-     * Scales an image icon to a specified size.
-     * @param icon The icon to be scaled
-     * @ensures \result != null ==> \result.getIconWidth() == iconSize && \result.getIconHeight() == iconSize
-     * @return The scaled ImageIcon, or null if input icon is null.
-     */
-    private ImageIcon scaleIcon(ImageIcon icon) {
-        if (icon != null) {
-            // Get the image from the icon and scale it using the specified icon size
-            Image scaledImage = icon.getImage().getScaledInstance(iconSize, iconSize, Image.SCALE_SMOOTH);
-
-            // Create and return a new ImageIcon with the scaled image
-            return new ImageIcon(scaledImage);
-        }
-
-        // Return null if the provided icon is null
-        return null;
-    }
 
     /**
      * Initializes the frame for the game.
@@ -123,7 +90,7 @@ public class NumberleView implements Observer {
         // This method can achieve line wrapping of text
         attemptsLabel = new JLabel("<html>Welcome to<br> Numberle! "
                 + "<br><br> Attempts" + "<br> remaining: <br>"
-                + controller.getRemainingAttempts() + " / 6 </html>");
+                + controller.getRemainingAttempts() + " / " + rows + " </html>");
 
         attemptsLabel.setFont(labelFont); // Set the font for the attempts label
         attemptsPanel.add(attemptsLabel); // Add the attempts label to the attempts panel
@@ -136,13 +103,13 @@ public class NumberleView implements Observer {
      */
     private void setInputPanel() {
         inputPanel = new JPanel(); // Create a new panel for the input area
-        inputPanel.setLayout(new GridLayout(6, 7)); // Set the layout manager for the input panel as a 6x7 grid
+        inputPanel.setLayout(new GridLayout(rows, columns)); // Set the layout manager for the input panel as a grid of guesses
 
         Font labelFont = new Font("Axure handwriting", Font.BOLD, 40); // Create a custom font for the letter labels
 
-        letterLabels = new JLabel[42]; // Create an array of JLabels to store the letter labels
+        letterLabels = new JLabel[rows * columns]; // Create an array of JLabels to store the letter labels
 
-        for (int i = 0; i < 42; i++) {
+        for (int i = 0; i < letterLabels.length; i++) {
             JLabel label = new JLabel("", JLabel.CENTER); // Create a new JLabel with empty text, centered alignment
             label.setOpaque(true); // Set the label as opaque
             label.setBackground(Color.WHITE); // Set the background color of the label as white
@@ -171,10 +138,7 @@ public class NumberleView implements Observer {
         Character[] row1Letters = { '1', '2', '3', '4', '5', '6', '7', '8', '9', '0' }; // Define an array of characters for the first row of letters
 
         for (Character letter : row1Letters) {
-            ImageIcon icon = scaleIcon(loadImageIcon(numberImagePath + letter + ".png")); // Load the image icon for the current letter and scale it
-            if (icon != null) {
-                CreateNewButtonWithIcon(row1Panel, letter, icon);
-            }
+            CreateNewButtonWithIcon(row1Panel, String.valueOf(letter), letter);
         }
 
         letterPanel.add(row1Panel); // Add row1Panel to the letterPanel
@@ -182,92 +146,59 @@ public class NumberleView implements Observer {
         JPanel row2Panel = new JPanel(); // Create a new panel for the second row of letters
         row2Panel.setLayout(new GridLayout(1, 10)); // Set the layout manager for row2Panel as a 1x10 grid
 
-        JButton backspaceButton = new JButton(scaleIcon(loadImageIcon(numberImagePath + "◀——.png"))); // Create a backspace button with the backspace icon
-        if (backspaceButton.getIcon() != null) {
-            backspaceButton.setPreferredSize(new Dimension(iconSize * 5, iconSize)); // Set the preferred size for the backspace button
-            backspaceButton.setEnabled(true); // Enable the backspace button
-            backspaceButton.addActionListener(e -> {
-                String currentText = getInputText();
-                if (!currentText.isEmpty()) {
-                    updateInputPanel(currentText.substring(0, currentText.length() - 1)); // Remove the last character from the input panel
-                }
-            });
-            backspaceButton.setContentAreaFilled(false); // Make the backspace button background transparent
-            backspaceButton.setOpaque(false); // Ensure transparency of the backspace button
-            row2Panel.add(backspaceButton); // Add the backspace button to row2Panel
-        }
-
-        Character[] row2Letters = { '+', '-', '×', '÷', '=' }; // Define an array of characters for the second row of letters
-
-        for (Character letter : row2Letters) {
-            ImageIcon icon = scaleIcon(loadImageIcon(numberImagePath + letter + ".png")); // Load the image icon for the current letter and scale it
-            if (icon != null && (letter == '+' || letter == '-' || letter == '=')) {
-                CreateNewButtonWithIcon(row2Panel, letter, icon);
-            } else if (icon != null && (letter == '×')) {
-                JButton button = new JButton(icon); // Create a new button with the icon
-                button.setPreferredSize(new Dimension(iconSize, iconSize)); // Set the preferred size for the button
-                button.setEnabled(true); // Enable the button
-                button.addActionListener(e -> updateInputPanel(getInputText() + '*')); // Add an action listener to the button to update the input panel with '*'
-                button.setContentAreaFilled(false); // Make the button background transparent
-                button.setOpaque(false); // Ensure transparency of the button
-                row2Panel.add(button); // Add the button to row2Panel
-            } else if (icon != null) {
-                JButton button = new JButton(icon); // Create a new button with the icon
-                button.setPreferredSize(new Dimension(iconSize, iconSize)); // Set the preferred size for the button
-                button.setEnabled(true); // Enable the button
-                button.addActionListener(e -> updateInputPanel(getInputText() + '/')); // Add an action listener to the button to update the input panel with '/'
-                button.setContentAreaFilled(false); // Make the button background transparent
-                button.setOpaque(false); // Ensure transparency of the button
-                row2Panel.add(button); // Add the button to row2Panel
+        JButton backspaceButton = createIconButton("◀——", iconSize * 5); // Create a backspace button with the backspace icon
+        backspaceButton.addActionListener(e -> {
+            String currentText = getInputText();
+            if (!currentText.isEmpty()) {
+                updateInputPanel(currentText.substring(0, currentText.length() - 1)); // Remove the last character from the input panel
             }
-        }
+        });
+        row2Panel.add(backspaceButton); // Add the backspace button to row2Panel
 
-        JButton enterButton = new JButton(scaleIcon(loadImageIcon(numberImagePath + "Enter.png"))); // Create an enter button with the enter icon
-        if (enterButton.getIcon() != null) {
-            enterButton.setPreferredSize(new Dimension(iconSize * 5, iconSize)); // Set the preferred size for the enter button
-            enterButton.setEnabled(true); // Enable the enter button
-            enterButton.addActionListener(e -> {
-                if (controller.processInput(getInputText())) {
-                    JOptionPane.showMessageDialog(null, "Invalid input!"); // Display an error message if the input is invalid
-                }
-            });
-            enterButton.setContentAreaFilled(false); // Make the enter button background transparent
-            enterButton.setOpaque(false); // Ensure transparency of the enter button
-            row2Panel.add(enterButton); // Add the enter button to row2Panel
-        }
+        CreateNewButtonWithIcon(row2Panel, "+", '+');
+        CreateNewButtonWithIcon(row2Panel, "-", '-');
+        CreateNewButtonWithIcon(row2Panel, "×", '*'); // The multiplication key types '*'
+        CreateNewButtonWithIcon(row2Panel, "÷", '/'); // The division key types '/'
+        CreateNewButtonWithIcon(row2Panel, "=", '=');
+
+        JButton enterButton = createIconButton("Enter", iconSize * 5); // Create an enter button with the enter icon
+        enterButton.addActionListener(e -> submitInput()); // Check the guess off the Event Dispatch Thread
+        row2Panel.add(enterButton); // Add the enter button to row2Panel
 
         letterPanel.add(row2Panel); // Add row2Panel to the letterPanel
 
         frame.add(letterPanel, BorderLayout.SOUTH); // Add the letterPanel to the frame's south
     }
 
-    private void CreateNewButtonWithIcon(JPanel row1Panel, Character letter, ImageIcon icon) {
-        JButton button = new JButton(icon); // Create a new button with the icon
-        button.setPreferredSize(new Dimension(iconSize, iconSize)); // Set the preferred size for the button
-        button.setEnabled(true); // Enable the button
+    private void CreateNewButtonWithIcon(JPanel row1Panel, String iconName, char letter) {
+        JButton button = createIconButton(iconName, iconSize); // Create a new button with the icon
         button.addActionListener(e -> updateInputPanel(getInputText() + letter)); // Add an action listener to the button to update the input panel
-        button.setContentAreaFilled(false); // Make the button background transparent
-        button.setOpaque(false); // Ensure transparency of the button
         row1Panel.add(button); // Add the button to row1Panel
+        keyButtons.put(letter, button); // Remember the button so its colour can be updated
     }
 
     /**
-     * Loads an image icon from the specified path.
+     * Creates a transparent keyboard button whose icon is filled in once it has been decoded.
+     * Until then, or if the image cannot be loaded, the button shows the name of its icon,
+     * so building the keyboard never waits for the icons on the Event Dispatch Thread.
      *
-     * @param path The path to the image file.
-     * @return The loaded image icon, or null if there was an error.
+     * @param iconName The name of the icon, which is also the placeholder text.
+     * @param width    The preferred width of the button, in pixels.
+     * @return The button.
      */
-    private ImageIcon loadImageIcon(String path) {
-        try {
-            ImageIcon icon = new ImageIcon(path); // Create a new image icon using the specified path
-            if (icon.getImageLoadStatus() != MediaTracker.COMPLETE) { // Check if the image loading was successful
-                throw new IOException("Failed to load image at " + path); // Throw an exception if the image loading failed
+    private JButton createIconButton(String iconName, int width) {
+        JButton button = new JButton(iconName); // Show the name until the icon is ready
+        button.setPreferredSize(new Dimension(width, iconSize)); // Set the preferred size for the button
+        button.setEnabled(true); // Enable the button
+        button.setContentAreaFilled(false); // Make the button background transparent
+        button.setOpaque(false); // Ensure transparency of the button
+        IconCache.whenReady(iconName, iconSize, icon -> {
+            if (icon != null) {
+                button.setText(null); // The icon replaces the placeholder text
+                button.setIcon(icon);
             }
-            return icon; // Return the loaded image icon
-        } catch (Exception e) {
-            System.err.println("Error loading image: " + e.getMessage()); // Print an error message if there was an exception
-            return null; // Return null to indicate that there was an error loading the image
-        }
+        });
+        return button;
     }
 
     /**
@@ -276,10 +207,11 @@ public class NumberleView implements Observer {
      * @return The current text entered by the player.
      */
     private String getInputText() {
-        int currentGuess = INumberleModel.MAX_ATTEMPTS - controller.getRemainingAttempts(); // Calculate the current guess number
-        int startRow = currentGuess % 6; // Calculate the starting row index for the current guess
-        int startIndex = startRow * 7; // Calculate the starting index in the letterLabels array for the current guess
-        int endIndex = startIndex + 7; // Calculate the ending index in the letterLabels array for the current guess
+        if (inputRow >= rows) {
+            return ""; // Every row has been used
+        }
+        int startIndex = inputRow * columns; // Calculate the starting index in the letterLabels array for the current guess
+        int endIndex = startIndex + columns; // Calculate the ending index in the letterLabels array for the current guess
 
         StringBuilder sb = new StringBuilder(); // Create a StringBuilder to store the input text
         for (int i = startIndex; i < endIndex; i++) {
@@ -293,15 +225,15 @@ public class NumberleView implements Observer {
      * Updates the state of the input panel based on the current guess.
      */
     private void updateInputPanelState() {
-        int lastGuess = INumberleModel.MAX_ATTEMPTS - controller.getRemainingAttempts() - 1; // Calculate the index of the last guess
+        int lastGuess = rows - controller.getRemainingAttempts() - 1; // Calculate the index of the last guess
         if (lastGuess >= 0) {
-            int startRow = lastGuess % 6; // Calculate the starting row index for the last guess
-            int startIndex = startRow * 7; // Calculate the starting index in the letterLabels array for the last guess
-            int endIndex = startIndex + 7; // Calculate the ending index in the letterLabels array for the last guess
+            int startRow = lastGuess % rows; // Calculate the starting row index for the last guess
+            int startIndex = startRow * columns; // Calculate the starting index in the letterLabels array for the last guess
+            int endIndex = startIndex + columns; // Calculate the ending index in the letterLabels array for the last guess
 
             String currentGuess = controller.getCurrentGuess().toString(); // Get the current guess as a string
             for (int i = startIndex; i < endIndex; i++) {
-                switch (currentGuess.charAt(i % 7)) { // Retrieve the character at the corresponding index in the current guess
+                switch (currentGuess.charAt(i % columns)) { // Retrieve the character at the corresponding index in the current guess
                     case '√' -> letterLabels[i].setBackground(Color.GREEN); // Set the background color of the letter label to green if the character is '√'
                     case '?' -> letterLabels[i].setBackground(Color.YELLOW); // Set the background color of the letter label to yellow if the character is '?'
                     case '×' -> letterLabels[i].setBackground(Color.LIGHT_GRAY); // Set the background color of the letter label to light gray if the character is '×'
@@ -318,10 +250,11 @@ public class NumberleView implements Observer {
      * @param text The text to update the input panel with.
      */
     private void updateInputPanel(String text) {
-        int currentGuess = INumberleModel.MAX_ATTEMPTS - controller.getRemainingAttempts(); // Calculate the current guess number
-        int startRow = currentGuess % 6; // Calculate the starting row index for the current guess
-        int startIndex = startRow * 7; // Calculate the starting index in the letterLabels array for the current guess
-        int endIndex = startIndex + 7; // Calculate the ending index in the letterLabels array for the current guess
+        if (inputRow >= rows) {
+            return; // Every row has been used
+        }
+        int startIndex = inputRow * columns; // Calculate the starting index in the letterLabels array for the current guess
+        int endIndex = startIndex + columns; // Calculate the ending index in the letterLabels array for the current guess
 
         for (int i = startIndex; i < endIndex; i++) {
             if (i - startIndex < text.length()) { // Check if there are remaining characters in the provided text
@@ -333,6 +266,117 @@ public class NumberleView implements Observer {
     }
 
 
+    /**
+     * Submits the current row to the controller, which checks it on its worker thread.
+     * The row is shown as pending and typing moves on to the next row until the result arrives.
+     * Only one guess is checked at a time, so a second Enter while one is pending is ignored.
+     */
+    private void submitInput() {
+        if (pendingRow >= 0 || inputRow >= rows) {
+            return; // A guess is already being checked, or the game has no rows left
+        }
+        int row = inputRow;
+        String guess = getInputText();
+        pendingRow = row;
+        setRowBackground(row, PENDING_COLOR); // Show that the guess is being checked
+        inputRow++; // The player can type the next guess meanwhile
+        newGameButton.setEnabled(false); // The model must not change while the guess is checked
+        suggestButton.setEnabled(false);
+        attemptsLabel.setText("<html>Welcome to<br> Numberle! <br><br>Checking<br> guess...</html>");
+        controller.submitGuessAsync(guess, result -> onGuessResult(row, result), error -> onGuessFailed(row, error));
+    }
+
+    /**
+     * Shows the result of a submitted guess, on the Event Dispatch Thread.
+     *
+     * @param row    The row of the guess.
+     * @param result The packed feedback, or the negated result code if the guess was rejected.
+     */
+    private void onGuessResult(int row, int result) {
+        pendingRow = -1;
+        suggestButton.setEnabled(!gameOverShown);
+        if (result < 0) {
+            reopenRow(row);
+            JOptionPane.showMessageDialog(null, result == -EquationEvaluator.HARD_MODE_VIOLATION
+                    ? "The guess must agree with every hint so far!" : "Invalid input!"); // Display a message for invalid input
+            return;
+        }
+        if (controller.isGameOver() && row + 1 < rows) {
+            setRowText(row + 1, ""); // Nothing more is guessed in this game
+        }
+        update(); // Paint the feedback of the guess
+    }
+
+    /**
+     * Gives the row of a guess back to the player after the guess could not be checked, on the Event Dispatch Thread.
+     *
+     * @param row   The row of the guess.
+     * @param error Why the guess could not be checked.
+     */
+    private void onGuessFailed(int row, Throwable error) {
+        pendingRow = -1;
+        suggestButton.setEnabled(!gameOverShown);
+        reopenRow(row);
+        JOptionPane.showMessageDialog(null, "The guess could not be checked: " + error.getMessage());
+    }
+
+    /**
+     * Makes the row of a guess that was not accepted the input row again, so the guess can be edited.
+     *
+     * @param row The row of the guess.
+     */
+    private void reopenRow(int row) {
+        if (row + 1 < rows) {
+            setRowText(row + 1, ""); // Drop what was typed ahead
+        }
+        inputRow = row;
+        setRowBackground(row, Color.WHITE);
+        updateAttemptsLabel();
+        updateNewGameButton();
+    }
+
+    /**
+     * Fills the current row with a suggested guess, on the Event Dispatch Thread.
+     *
+     * @param suggestion The suggested guess, or null if there is none.
+     */
+    private void onSuggestion(String suggestion) {
+        if (pendingRow >= 0) {
+            return; // A guess was submitted meanwhile; its result brings the buttons back
+        }
+        suggestButton.setEnabled(!gameOverShown);
+        updateNewGameButton();
+        if (suggestion != null) {
+            updateInputPanel(suggestion); // Fill the current row with the suggestion
+        } else {
+            JOptionPane.showMessageDialog(null, "No suggestion available.");
+        }
+    }
+
+    /**
+     * Sets the background colour of every label of a row.
+     *
+     * @param row   The row.
+     * @param color The background colour.
+     */
+    private void setRowBackground(int row, Color color) {
+        for (int i = row * columns; i < (row + 1) * columns; i++) {
+            letterLabels[i].setBackground(color);
+        }
+    }
+
+    /**
+     * Sets the text of a row.
+     *
+     * @param row  The row.
+     * @param text The text, one character per label; missing characters leave the label empty.
+     */
+    private void setRowText(int row, String text) {
+        for (int i = 0; i < columns; i++) {
+            letterLabels[row * columns + i].setText(i < text.length() ? String.valueOf(text.charAt(i)) : "");
+        }
+    }
+
     /**
      * Initializes the "Start New Game" button.
      */
@@ -350,27 +394,45 @@ public class NumberleView implements Observer {
             updateNewGameButton(); // Call the updateNewGameButton() method in the current class
         });
 
+        suggestButton = new JButton("Suggest"); // Create a new JButton with the label "Suggest"
+        suggestButton.setFont(labelFont); // Set the font of the button
+        suggestButton.addActionListener(e -> {
+            suggestButton.setEnabled(false); // Searching can take a while; the model must not change meanwhile
+            newGameButton.setEnabled(false);
+            controller.suggestGuessAsync(this::onSuggestion, // Ask the controller for the most informative guess
+                    error -> onSuggestion(null));
+            inputPanel.requestFocusInWindow(); // Give the focus back to the input panel so typing still works
+        });
+
         JPanel buttonPanel = new JPanel(); // Create a new JPanel to hold the button
         buttonPanel.add(newGameButton); // Add the newGameButton to the buttonPanel
+        buttonPanel.add(suggestButton); // Add the suggestButton to the buttonPanel
         frame.add(buttonPanel, BorderLayout.NORTH); // Add the buttonPanel to the frame's layout in the NORTH region
     }
 
 
     /**
-     * Starts a new game by resetting the frame.
+     * Starts a new game by resetting the existing components to their initial state.
      */
     public void startNewGame() {
-        frame.getContentPane().removeAll(); // Remove all components from the frame's content pane
-
-        setAttemptsLabel(); // Set up the attempts label
-        setInputPanel(); // Set up the input panel
-        setKeyboard(); // Set up the keyboard
-        initializeNewGameButton(); // Initialize the "Start New Game" button
+        for (JLabel label : letterLabels) {
+            label.setText(""); // Clear the letter
+            label.setBackground(Color.WHITE); // Reset the background colour
+        }
+        for (JButton button : keyButtons.values()) {
+            setKeyColor(button, null); // Reset the keyboard colours
+        }
+        setComponentsEnabled(letterPanel, true); // Enable the components in the letter panel again
+        suggestButton.setEnabled(true); // Enable the suggest button again
 
-        setInputPanelKeyListener(); // Set up the key listener for the input panel
+        inputPanel.removeKeyListener(inputPanelKeyListener); // Make sure the key listener is only added once
+        inputPanel.addKeyListener(inputPanelKeyListener); // Listen to the keyboard again
+        inputPanel.requestFocusInWindow(); // Request focus for the input panel
 
-        frame.revalidate(); // Revalidate the frame to reflect the changes
-        frame.repaint(); // Repaint the frame to update the display
+        paintedAttempts = 0; // No guess has been painted in the new game
+        inputRow = 0; // Typing starts on the first row again
+        gameOverShown = false; // The new game has not ended yet
+        updateAttemptsLabel(); // Show the full number of attempts
     }
 
 
@@ -379,8 +441,10 @@ public class NumberleView implements Observer {
      * @ensures if game is over, relevant GUI components are disabled
      */
     private void checkGameOver() {
-        if (controller.isGameOver()) { // Check if the game is over
+        if (controller.isGameOver() && !gameOverShown) { // Check if the game is over and has not been announced yet
+            gameOverShown = true; // Announce the end of the game only once
             setComponentsEnabled(letterPanel, false); // Disable the components in the letter panel
+            suggestButton.setEnabled(false); // Disable the suggest button
             inputPanel.removeKeyListener(inputPanelKeyListener); // Remove the key listener from the input panel
 
             if (controller.isGameWon()) { // Check if the game is won
@@ -416,7 +480,7 @@ public class NumberleView implements Observer {
      */
     private void updateNewGameButton() {
         // Enable the "Start New Game" button if there is at least one remaining attempt
-        newGameButton.setEnabled(INumberleModel.MAX_ATTEMPTS - controller.getRemainingAttempts() >= 1);
+        newGameButton.setEnabled(rows - controller.getRemainingAttempts() >= 1);
     }
 
     /**
@@ -430,9 +494,7 @@ public class NumberleView implements Observer {
                 if (!isValidInput(c)) { // Check if the typed character is a valid input
                     e.consume(); // Consume the event to prevent the character from being entered
                 } else if (c == KeyEvent.VK_ENTER) { // Check if the Enter key is pressed
-                    if (controller.processInput(getInputText())) { // Process the input and check if it is invalid
-                        JOptionPane.showMessageDialog(null, "Invalid input!"); // Display a message for invalid input
-                    }
+                    submitInput(); // Check the guess off the Event Dispatch Thread
                 } else if (c == KeyEvent.VK_BACK_SPACE) { // Check if the Backspace key is pressed
                     String currentText = getInputText(); // Get the current text in the input panel
                     if (!currentText.isEmpty()) { // Check if the current text is not empty
@@ -464,55 +526,75 @@ public class NumberleView implements Observer {
         Font labelFont = new Font("Axure handwriting", Font.PLAIN, 18);
         // Set the text of the attempts label with HTML formatting
         attemptsLabel.setText("<html>Welcome to<br> Numberle! <br><br>Attempts" + "<br> remaining: <br>" +
-                controller.getRemainingAttempts() + " / 6 </html>");
+                controller.getRemainingAttempts() + " / " + rows + " </html>");
         // Set the font of the attempts label
         attemptsLabel.setFont(labelFont);
     }
 
     /**
-     * Updates the keyboard buttons with different background colors based on their letter status.
+     * Updates the background colours of the keyboard buttons used by the last guess.
+     * Only these keys can have changed state since the previous guess.
+     *
+     * @param lastGuess The characters of the last guess.
      */
-    private void updateKeyboard() {
-        Set<String> greyLetters = model.getGreyLetters(); // Get the set of grey letters
-        Set<String> yellowLetters = model.getYellowLetters(); // Get the set of yellow letters
-        Set<String> greenLetters = model.getGreenLetters(); // Get the set of green letters
-
-        for (Component component : letterPanel.getComponents()) { // Iterate over the components in the letter panel
-            if (component instanceof JPanel rowPanel) { // Check if the component is a row panel
-                for (Component buttonComponent : rowPanel.getComponents()) { // Iterate over the components in the row panel
-                    if (buttonComponent instanceof JButton button) { // Check if the component is a button
-                        String letter = button.getText().toLowerCase(); // Get the text of the button (letter)
-                        Color backgroundColor = null; // Initialize the background color variable
-
-                        // Set the background color based on the letter status
-                        if (greenLetters.contains(letter)) {
-                            // Set the background color to green if the letter is in the greenLetters set.
-                            backgroundColor = Color.GREEN;
-                        } else if (yellowLetters.contains(letter)) {
-                            // Set the background color to yellow if the letter is in the yellowLetters set.
-                            backgroundColor = Color.YELLOW;
-                        } else if (greyLetters.contains(letter)) {
-                            // Set the background color to gray if the letter is in the greyLetters set.
-                            backgroundColor = Color.GRAY;
-                        }
-
-                        button.setBackground(backgroundColor); // Set the background color of the button
-                    }
-                }
+    private void updateKeyboard(String lastGuess) {
+        for (int i = 0; i < lastGuess.length(); i++) {
+            JButton button = keyButtons.get(lastGuess.charAt(i)); // Find the button of the character
+            if (button == null) {
+                continue;
             }
+            // Set the background color based on the best state of the key
+            Color backgroundColor = switch (model.getKeyState(lastGuess.charAt(i))) {
+                case Feedback.CORRECT -> Color.GREEN;   // The character has been found in the correct position
+                case Feedback.PRESENT -> Color.YELLOW;  // The character is in the target number
+                case Feedback.ABSENT -> Color.GRAY;     // The character is not in the target number
+                default -> null;
+            };
+            setKeyColor(button, backgroundColor);
+        }
+    }
+
+    /**
+     * Sets the background colour of a keyboard button, repainting it only if the colour changes.
+     *
+     * @param button The keyboard button.
+     * @param color  The new colour, or null for the default transparent background.
+     */
+    private void setKeyColor(JButton button, Color color) {
+        if (button.isOpaque() != (color != null) || (color != null && !color.equals(button.getBackground()))) {
+            button.setBackground(color); // Set the background color of the button
+            button.setOpaque(color != null); // Only paint the background when the key has a colour
+            button.repaint(); // Repaint just this key
         }
     }
+
+    /**
+     * Receives the events of the model on a bus thread and schedules a redraw on the Event Dispatch Thread.
+     *
+     * @param events The latest events of the model.
+     */
     @Override
-    /*
-      Update method called by an Observable object.
+    public void onEvents(List<ModelEvent> events) {
+        SwingUtilities.invokeLater(this::update);
+    }
 
-      @param o   The Observable object that triggered the update.
-     * @param arg An optional argument passed by the Observable object.
+    /**
+     * Updates the components affected by the latest changes of the model.
+     * Nothing is read from the model while a submitted guess is being checked.
      */
-    public void update(java.util.Observable o, Object arg) {
-        updateAttemptsLabel(); // Update the attempts label
-        updateInputPanelState(); // Update the state of the input panel
-        updateKeyboard(); // Update the keyboard
+    public void update() {
+        if (pendingRow >= 0) {
+            return; // The model is busy with a guess; its result triggers the next update
+        }
+        int attempts = rows - controller.getRemainingAttempts(); // Number of guesses made
+        if (attempts != paintedAttempts) { // Only repaint when a new guess has been applied
+            updateAttemptsLabel(); // Update the attempts label
+            updateInputPanelState(); // Update the row of the last guess
+            if (attempts > 0) {
+                updateKeyboard(model.getGuess(Math.min(attempts, rows) - 1)); // Update the keys of the last guess
+            }
+            paintedAttempts = attempts;
+        }
         updateNewGameButton(); // Update the "Start New Game" button
         checkGameOver(); // Check if the game is over
     }
@@ -0,0 +1,74 @@
+// Symbols.java
+
+/**
+ * The symbols that may appear in a Numberle equation, with a dense index for each of them.
+ * The alphabet is kept in ascending character order, so comparing equations by symbol index
+ * gives the same order as comparing them as strings.
+ */
+public final class Symbols {
+    public static final char[] ALPHABET = "*+-/0123456789=".toCharArray(); // Every symbol, in ascending character order
+    public static final int COUNT = ALPHABET.length;                       // Number of symbols in the alphabet
+    public static final int MAX_ENCODED_LENGTH = 15;                       // Longest equation encode() fits into a long
+
+    private static final byte[] INDEX = new byte[128]; // Maps an ASCII character to its symbol index, or -1
+
+    static {
+        java.util.Arrays.fill(INDEX, (byte) -1);
+        for (int i = 0; i < COUNT; i++) {
+            INDEX[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    /**
+     * This class only provides static helpers and is not meant to be instantiated.
+     */
+    private Symbols() {
+    }
+
+    /**
+     * Gets the index of a symbol in the alphabet.
+     *
+     * @param c The symbol.
+     * @ensures \result == -1 || ALPHABET[\result] == c
+     * @return The index of the symbol, or -1 if it is not part of the alphabet.
+     */
+    public static int indexOf(char c) {
+        return c < 128 ? INDEX[c] : -1;
+    }
+
+    /**
+     * Encodes an equation of up to {@value #MAX_ENCODED_LENGTH} symbols into a long, four bits per
+     * symbol holding its index plus one, the first symbol in the lowest bits. The unused high bits
+     * stay zero, so equations of different lengths never share a code.
+     *
+     * @param equation The characters of the equation.
+     * @param length   The number of characters to encode.
+     * @requires equation.length >= length
+     * @ensures \result == -1 || \result > 0 when length > 0
+     * @return The code of the equation, or -1 if it is too long or has a character outside the alphabet.
+     */
+    public static long encode(char[] equation, int length) {
+        if (length > MAX_ENCODED_LENGTH) {
+            return -1;
+        }
+        long code = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            int index = indexOf(equation[i]);
+            if (index < 0) {
+                return -1;
+            }
+            code = (code << 4) | (index + 1);
+        }
+        return code;
+    }
+
+    /**
+     * Checks whether a symbol is an operator or the equals sign.
+     *
+     * @param c The symbol.
+     * @return True if the symbol is one of '+', '-', '*', '/' or '=', otherwise false.
+     */
+    public static boolean isOperator(char c) {
+        return c == '+' || c == '-' || c == '*' || c == '/' || c == '=';
+    }
+}
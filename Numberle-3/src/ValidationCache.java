@@ -0,0 +1,180 @@
+// ValidationCache.java
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of {@link EquationEvaluator} result codes by guess, shared by every model in the JVM,
+ * so the common openers that players and bots send over and over are validated once.
+ * A guess is keyed by its {@link Symbols#encode(char[], int)} code. Each entry packs the code, the
+ * result and a reference bit into one long, so a lookup is a few atomic reads without locks and
+ * entries can be replaced with a compare-and-set. The cache is split into sets of {@value #WAYS}
+ * entries chosen by the hash of the code, and each set evicts with the CLOCK algorithm: its hand
+ * passes over the entries, clearing reference bits, and replaces the first entry not used since the
+ * hand last went by. New entries start unreferenced, so a guess seen once is the first to go.
+ * The shared cache holds {@value #DEFAULT_CAPACITY} entries unless the system property
+ * {@code -Dnumberle.validationCache.size=<entries>} says otherwise; a size of 0 switches it off.
+ */
+public final class ValidationCache {
+    public static final String PROPERTY = "numberle.validationCache.size"; // System property with the size of the shared cache
+    public static final int DEFAULT_CAPACITY = 1 << 16;                     // Entries in the shared cache unless chosen otherwise
+    public static final boolean ENABLED = Integer.getInteger(PROPERTY, DEFAULT_CAPACITY) > 0; // Whether models use the shared cache
+    private static final int WAYS = 8;                                      // Entries in every set
+
+    private final AtomicLongArray entries; // Per entry: code << 4 | result << 1 | reference bit, or 0 if empty
+    private final byte[] hands;            // Per set: the next entry the CLOCK hand looks at; races only cost accuracy
+    private final int setMask;             // Number of sets minus one
+    private final LongAdder hits = new LongAdder();      // Lookups answered from the cache
+    private final LongAdder misses = new LongAdder();    // Lookups that had to evaluate the guess
+    private final LongAdder evictions = new LongAdder(); // Entries replaced by newer ones
+
+    /**
+     * Constructs a cache.
+     *
+     * @param capacity The number of entries, rounded down to a power of two of at least {@value #WAYS}.
+     * @requires capacity > 0
+     */
+    public ValidationCache(int capacity) {
+        int sets = Math.max(1, Integer.highestOneBit(capacity) / WAYS);
+        this.entries = new AtomicLongArray(sets * WAYS);
+        this.hands = new byte[sets];
+        this.setMask = sets - 1;
+    }
+
+    /**
+     * Gets the cache shared by the whole JVM.
+     *
+     * @requires ENABLED
+     * @ensures \result != null && \result == shared()
+     * @return The shared cache.
+     */
+    public static ValidationCache shared() {
+        return Holder.SHARED;
+    }
+
+    /**
+     * Holds the shared cache, which the JVM creates once when the holder is first used.
+     */
+    private static final class Holder {
+        static final ValidationCache SHARED = new ValidationCache(Integer.getInteger(PROPERTY, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Checks an equation, answering from the cache when it has been checked before.
+     *
+     * @param equation The characters of the equation.
+     * @param length   The number of characters to check.
+     * @requires equation != null && 0 <= length && length <= equation.length
+     * @ensures \result == EquationEvaluator.check(equation, length)
+     * @return The result code of the check.
+     */
+    public int check(char[] equation, int length) {
+        long code = Symbols.encode(equation, length);
+        if (code <= 0) {
+            return EquationEvaluator.check(equation, length);   // Empty, too long or not made of symbols: not worth a slot
+        }
+        int base = set(code) * WAYS;
+        for (int i = base; i < base + WAYS; i++) {
+            long entry = entries.get(i);
+            if (entry >>> 4 == code) {
+                hits.increment();
+                if ((entry & 1) == 0) {
+                    entries.compareAndSet(i, entry, entry | 1);   // Only written when the bit changes, to keep the line shared
+                }
+                return (int) (entry >>> 1) & 7;
+            }
+        }
+        misses.increment();
+        int result = EquationEvaluator.check(equation, length);
+        insert(base, code << 4 | (long) result << 1);
+        return result;
+    }
+
+    /**
+     * Gets the set of a code.
+     *
+     * @param code The code of a guess.
+     * @return The index of the set.
+     */
+    private int set(long code) {
+        return (int) ((code * 0x9E3779B97F4A7C15L) >>> 40) & setMask;   // Fibonacci hashing spreads neighbouring codes
+    }
+
+    /**
+     * Adds an entry to a set, into an empty slot or else in place of the entry the CLOCK hand picks.
+     * If another thread changes the slot first the entry is dropped, which only costs a later miss.
+     *
+     * @param base  The index of the first entry of the set.
+     * @param entry The packed entry, unreferenced.
+     */
+    private void insert(int base, long entry) {
+        for (int i = base; i < base + WAYS; i++) {
+            if (entries.get(i) == 0) {
+                if (entries.compareAndSet(i, 0, entry)) {
+                    return;
+                }
+            }
+        }
+        int set = base / WAYS;
+        int hand = hands[set];
+        for (int step = 0; step < 2 * WAYS; step++) {   // One pass clears every bit, so two always find a victim
+            int i = base + (hand & (WAYS - 1));
+            hand++;
+            long current = entries.get(i);
+            if ((current & 1) != 0) {
+                entries.compareAndSet(i, current, current & ~1L);   // Second chance
+            } else if (entries.compareAndSet(i, current, entry)) {
+                evictions.increment();
+                break;
+            }
+        }
+        hands[set] = (byte) hand;
+    }
+
+    /**
+     * Gets the number of entries the cache can hold.
+     *
+     * @return The capacity.
+     */
+    public int capacity() {
+        return entries.length();
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that had to evaluate the guess.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of entries replaced by newer ones.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Gets the share of lookups answered from the cache.
+     *
+     * @return The hit rate, between 0 and 1, or 0 before the first lookup.
+     */
+    public double getHitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total > 0 ? (double) hit / total : 0;
+    }
+}
@@ -0,0 +1,83 @@
+// Importing the necessary classes for JUnit testing
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+
+public class ValidationCacheTest {
+    /**
+     * Test to verify that symbol codes are distinct for different equations, including different lengths.
+     *
+     * @ensures encode gives -1 for characters outside the alphabet and equal codes only for equal equations
+     */
+    @Test
+    public void encode_Test() {
+        assertEquals(Symbols.encode("1+2=3-0".toCharArray(), 7), Symbols.encode("1+2=3-0".toCharArray(), 7));
+        assertTrue(Symbols.encode("1+2=3-0".toCharArray(), 7) != Symbols.encode("1+2=3-1".toCharArray(), 7));
+        assertTrue(Symbols.encode("1+2=3".toCharArray(), 5) != Symbols.encode("1+2=3*".toCharArray(), 6));
+        assertEquals(-1, Symbols.encode("1+2=3x0".toCharArray(), 7));
+        assertTrue(Symbols.encode("===============".toCharArray(), 15) != -1);
+        assertEquals(-1, Symbols.encode("================".toCharArray(), 16));
+    }
+
+    /**
+     * Test to verify that a small cache under many random guesses always answers as the evaluator does,
+     * and counts its hits, misses and evictions.
+     *
+     * @ensures every cached result equals EquationEvaluator.check
+     */
+    @Test
+    public void check_MatchesEvaluator_Test() {
+        ValidationCache cache = new ValidationCache(64);
+        assertEquals(64, cache.capacity());
+        Random random = new Random(23);
+        char[][] guesses = new char[500][7];
+        for (char[] guess : guesses) {
+            for (int i = 0; i < guess.length; i++) {
+                guess[i] = Symbols.ALPHABET[random.nextInt(Symbols.COUNT)];
+            }
+        }
+        guesses[0] = "1+2=3-0".toCharArray();
+        for (int round = 0; round < 20_000; round++) {
+            char[] guess = guesses[random.nextBoolean() ? 0 : random.nextInt(guesses.length)];   // Half the traffic is one opener
+            assertEquals(EquationEvaluator.check(guess, 7), cache.check(guess, 7));
+        }
+        assertEquals(20_000, cache.getHits() + cache.getMisses());
+        assertTrue("The opener should stay cached", cache.getHitRate() > 0.5);
+        assertTrue(cache.getEvictions() > 0);
+    }
+
+    /**
+     * Test to verify that concurrent threads sharing a cache always get the evaluator's result.
+     *
+     * @ensures no thread sees a wrong result while entries are inserted and evicted concurrently
+     */
+    @Test
+    public void check_Concurrent_Test() throws InterruptedException {
+        ValidationCache cache = new ValidationCache(16);
+        String[] guesses = {"1+2=3-0", "1+21=22", "8-4/2=6", "15=30/2", "1+2=3-1", "6*1-2=4", "9/3+2=5", "12+34=4",
+                "1/0+5=5", "10-01=9", "7+7=14", "3*3=9+0", "2*2=4*1", "9-9=0+0", "4/3=1+0", "0*5=0+0", "5+5=9+1"};
+        boolean[] failed = new boolean[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 50_000; i++) {
+                    char[] guess = guesses[random.nextInt(guesses.length)].toCharArray();
+                    if (cache.check(guess, guess.length) != EquationEvaluator.check(guess, guess.length)) {
+                        failed[0] = true;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse("Every result should match the evaluator", failed[0]);
+    }
+}
@@ -0,0 +1,277 @@
+// ValidityBitmap.java
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * One bit for every possible guess of a length, set if the guess is a valid equation, so validating
+ * a guess is encoding it and testing a bit. A guess of length L over the {@value Symbols#COUNT}-symbol
+ * alphabet is numbered in base {@value Symbols#COUNT}, the first symbol being the lowest digit, which
+ * gives an index below 15^L; for the classic length that is 170,859,375 guesses and a 21 MB bitmap.
+ * The bitmap is built once in parallel by running {@link EquationEvaluator} over the whole space and
+ * is then memory-mapped read-only, outside the Java heap.
+ * A bitmap file starts with a header of four big-endian ints (magic number, format version, equation
+ * length and alphabet size) followed by the bitmap as little-endian longs, bit i of the file being
+ * bit {@code i % 64} of long {@code i / 64}.
+ * The shared bitmap of a length is opened from the file named by the system property
+ * {@code -Dnumberle.validityBitmap=<file>}, which can be built with {@code java ValidityBitmap <file>}.
+ */
+public final class ValidityBitmap {
+    public static final int MAGIC = 0x4E4D5642;            // "NMVB", identifies a validity bitmap file
+    public static final int VERSION = 1;                   // Version of the file format
+    public static final int HEADER_SIZE = 16;              // Size of the header in bytes, keeping the longs aligned
+    public static final int MAX_LENGTH = 7;                // Longest equation whose bitmap is kept, 15^7 bits
+    public static final String PROPERTY = "numberle.validityBitmap"; // System property naming the shared bitmap file
+    private static final int WORDS_PER_TASK = 1 << 12;     // Longs of the bitmap filled by one parallel task
+
+    private final int length;        // Number of characters in every guess
+    private final ByteBuffer bitmap; // The bitmap, after the header
+
+    /**
+     * Constructs a bitmap over its buffer.
+     *
+     * @param length The number of characters in every guess.
+     * @param bitmap The bitmap, positioned at its first long.
+     */
+    private ValidityBitmap(int length, ByteBuffer bitmap) {
+        this.length = length;
+        this.bitmap = bitmap.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Gets the number of possible guesses of a length.
+     *
+     * @param length The number of characters in every guess.
+     * @requires 0 < length && length <= MAX_LENGTH
+     * @return 15 to the power of the length.
+     */
+    public static long guessCount(int length) {
+        long count = 1;
+        for (int i = 0; i < length; i++) {
+            count *= Symbols.COUNT;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the size of the bitmap file of a length.
+     *
+     * @param length The number of characters in every guess.
+     * @return The size of the file, in bytes.
+     */
+    public static long fileSize(int length) {
+        return HEADER_SIZE + (guessCount(length) + 63) / 64 * Long.BYTES;
+    }
+
+    /**
+     * Computes the bitmap of a length into a memory-mapped file, in parallel.
+     * Each task fills its own run of longs, so no two threads ever write the same long.
+     *
+     * @param length The number of characters in every guess.
+     * @param file   The bitmap file to write.
+     * @throws IOException If the file cannot be written.
+     * @requires 0 < length && length <= MAX_LENGTH
+     * @ensures isValid(guess) == (EquationEvaluator.check(guess, length) == VALID) for every guess of the length
+     * @return The bitmap, backed by the file.
+     */
+    public static ValidityBitmap build(int length, Path file) throws IOException {
+        if (length < 1 || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("No validity bitmap for equations of length " + length);
+        }
+        long guesses = guessCount(length);
+        int words = (int) ((guesses + 63) / 64);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(length));
+            mapped.order(ByteOrder.BIG_ENDIAN).putInt(MAGIC).putInt(VERSION).putInt(length).putInt(Symbols.COUNT);
+            ByteBuffer bitmap = mapped.slice().order(ByteOrder.LITTLE_ENDIAN);
+
+            int tasks = (words + WORDS_PER_TASK - 1) / WORDS_PER_TASK;
+            IntStream.range(0, tasks).parallel().forEach(task -> {
+                int firstWord = task * WORDS_PER_TASK;
+                int lastWord = Math.min(words, firstWord + WORDS_PER_TASK);
+                fill(length, guesses, firstWord, lastWord, bitmap);
+            });
+            mapped.force();   // Make sure the bitmap reaches the file
+            return new ValidityBitmap(length, mapped.position(HEADER_SIZE));
+        }
+    }
+
+    /**
+     * Fills a run of longs of the bitmap, stepping through the guesses like an odometer so that no guess is decoded from scratch.
+     *
+     * @param length    The number of characters in every guess.
+     * @param guesses   The number of possible guesses.
+     * @param firstWord The first long to fill.
+     * @param lastWord  The long after the last one to fill.
+     * @param bitmap    The bitmap.
+     */
+    private static void fill(int length, long guesses, int firstWord, int lastWord, ByteBuffer bitmap) {
+        int[] digits = new int[length];   // Symbol index at each position of the current guess
+        char[] guess = new char[length];
+        long index = (long) firstWord * 64;
+        long rest = index;
+        for (int p = 0; p < length; p++) {
+            digits[p] = (int) (rest % Symbols.COUNT);
+            guess[p] = Symbols.ALPHABET[digits[p]];
+            rest /= Symbols.COUNT;
+        }
+        for (int word = firstWord; word < lastWord; word++) {
+            long bits = 0;
+            for (int bit = 0; bit < 64 && index < guesses; bit++, index++) {
+                if (EquationEvaluator.check(guess, length) == EquationEvaluator.VALID) {
+                    bits |= 1L << bit;
+                }
+                for (int p = 0; p < length; p++) {   // Next guess: the first position turns fastest
+                    if (++digits[p] < Symbols.COUNT) {
+                        guess[p] = Symbols.ALPHABET[digits[p]];
+                        break;
+                    }
+                    digits[p] = 0;
+                    guess[p] = Symbols.ALPHABET[0];
+                }
+            }
+            bitmap.putLong(word * Long.BYTES, bits);
+        }
+    }
+
+    /**
+     * Memory-maps a bitmap file.
+     *
+     * @param file The bitmap file.
+     * @throws IOException If the file cannot be read or is not a bitmap of this alphabet.
+     * @return The bitmap, backed by the file.
+     */
+    public static ValidityBitmap open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException(file + " is not a validity bitmap");
+            }
+            int length = header.getInt();
+            if (length < 1 || length > MAX_LENGTH || header.getInt() != Symbols.COUNT || channel.size() != fileSize(length)) {
+                throw new IOException("The validity bitmap " + file + " does not match the alphabet");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize(length));
+            return new ValidityBitmap(length, mapped.position(HEADER_SIZE));
+        }
+    }
+
+    private static final Map<String, ValidityBitmap> SHARED = new ConcurrentHashMap<>(); // Shared bitmaps by file name
+
+    /**
+     * Gets the bitmap shared by the whole JVM for guesses of a length, opening it on first use from the file
+     * named by the {@value #PROPERTY} system property.
+     *
+     * @param length The number of characters in every guess.
+     * @return The bitmap, or null if none is configured for that length or it cannot be opened.
+     */
+    public static ValidityBitmap sharedFor(int length) {
+        String file = System.getProperty(PROPERTY);
+        if (file == null) {
+            return null;
+        }
+        ValidityBitmap bitmap = SHARED.computeIfAbsent(file, name -> {
+            try {
+                return open(Paths.get(name));
+            } catch (IOException e) {
+                System.err.println("Error opening validity bitmap: " + e.getMessage()); // Guesses are then evaluated instead
+                return null;
+            }
+        });
+        return bitmap != null && bitmap.length == length ? bitmap : null;
+    }
+
+    /**
+     * Gets the number of characters in every guess of this bitmap.
+     *
+     * @return The equation length.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Encodes a guess as its index in the bitmap.
+     *
+     * @param guess The characters of the guess.
+     * @requires guess.length >= getLength()
+     * @return The index, or -1 if a character is not in the alphabet.
+     */
+    public long indexOf(char[] guess) {
+        long index = 0;
+        for (int p = length - 1; p >= 0; p--) {
+            int symbol = Symbols.indexOf(guess[p]);
+            if (symbol < 0) {
+                return -1;
+            }
+            index = index * Symbols.COUNT + symbol;
+        }
+        return index;
+    }
+
+    /**
+     * Checks whether a guess is a valid equation by testing its bit.
+     *
+     * @param guess The characters of the guess.
+     * @requires guess.length >= getLength()
+     * @ensures \result == (EquationEvaluator.check(guess, getLength()) == EquationEvaluator.VALID)
+     * @return True if the guess is a valid equation, otherwise false.
+     */
+    public boolean isValid(char[] guess) {
+        long index = indexOf(guess);
+        return index >= 0 && isValid(index);
+    }
+
+    /**
+     * Checks whether the guess with an index is a valid equation.
+     *
+     * @param index The index of the guess.
+     * @requires 0 <= index && index < guessCount(getLength())
+     * @return True if the guess is a valid equation, otherwise false.
+     */
+    public boolean isValid(long index) {
+        return (bitmap.getLong((int) (index >>> 6) * Long.BYTES) >>> index & 1) != 0;   // Shifts only use the low six bits
+    }
+
+    /**
+     * Counts the valid guesses.
+     *
+     * @ensures \result equals the number of valid equations of the length
+     * @return The number of bits set.
+     */
+    public long countValid() {
+        long count = 0;
+        for (int i = 0; i < bitmap.capacity(); i += Long.BYTES) {
+            count += Long.bitCount(bitmap.getLong(i));
+        }
+        return count;
+    }
+
+    /**
+     * Builds the bitmap file from the command line.
+     *
+     * @param args The bitmap file (default "validity-7.bin") and the equation length (default 7).
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        int length = args.length > 1 ? Integer.parseInt(args[1]) : INumberleModel.EQUATION_LENGTH;
+        Path file = Paths.get(args.length > 0 ? args[0] : "validity-" + length + ".bin");
+
+        long start = System.nanoTime();
+        ValidityBitmap bitmap = build(length, file);
+        System.out.printf("Checked %d guesses of length %d, %d valid, into %s (%d bytes) in %.1f s%n",
+                guessCount(length), length, bitmap.countValid(), file, fileSize(length), (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,83 @@
+// Importing the necessary classes for JUnit testing
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+
+public class ValidityBitmapTest {
+    /**
+     * Test to verify that the bitmap of five-character guesses, built and then mapped again from its file,
+     * marks exactly the guesses the evaluator accepts.
+     *
+     * @ensures every one of the 15^5 bits equals the evaluator's verdict on its guess
+     */
+    @Test
+    public void build_MatchesEvaluator_Test() throws IOException {
+        Path file = Files.createTempFile("validity", ".bin");
+        try {
+            ValidityBitmap built = ValidityBitmap.build(5, file);
+            ValidityBitmap opened = ValidityBitmap.open(file);
+            assertEquals(ValidityBitmap.fileSize(5), Files.size(file));
+            assertEquals(5, opened.getLength());
+
+            char[] guess = new char[5];
+            long valid = 0;
+            for (long index = 0; index < ValidityBitmap.guessCount(5); index++) {
+                long rest = index;
+                for (int p = 0; p < 5; p++) {
+                    guess[p] = Symbols.ALPHABET[(int) (rest % Symbols.COUNT)];
+                    rest /= Symbols.COUNT;
+                }
+                boolean expected = EquationEvaluator.check(guess, 5) == EquationEvaluator.VALID;
+                assertEquals(index, opened.indexOf(guess));
+                assertEquals(new String(guess), expected, opened.isValid(guess));
+                assertEquals(expected, built.isValid(index));
+                valid += expected ? 1 : 0;
+            }
+            assertEquals(valid, opened.countValid());
+            assertFalse(opened.isValid("1+x=3".toCharArray()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Test to verify that a model in bitmap mode accepts and rejects the same guesses, with the same reasons.
+     *
+     * @requires a dictionary of five-character equations
+     * @ensures submitGuess gives the same results with and without the bitmap
+     */
+    @Test
+    public void model_BitmapMode_Test() throws IOException {
+        Path file = Files.createTempFile("validity", ".bin");
+        Path text = Files.createTempFile("equations", ".txt");
+        try {
+            Files.write(text, java.util.List.of("1+2=3", "2*3=6", "9-8=1"));
+            EquationDictionary dictionary = EquationDictionary.importText(text, 5);
+            NumberleModel model = new NumberleModel(new NumberleVariant(5, 20), dictionary);
+            model.setValidityBitmap(ValidityBitmap.build(5, file));
+            model.startNewGame(dictionary.indexOf("9-8=1"));
+
+            assertEquals("?××√×", Feedback.toString(model.submitGuess("1+2=3"), 5));
+            assertEquals(-EquationEvaluator.NOT_EQUAL, model.submitGuess("1+2=4"));
+            assertEquals(-EquationEvaluator.DIVISION_BY_ZERO, model.submitGuess("1/0=0"));
+            assertEquals(-EquationEvaluator.INVALID_SHAPE, model.submitGuess("1+2=="));
+            assertTrue(model.processInput("9-8=1"));
+            assertTrue(model.isGameWon());
+            try {
+                new NumberleModel().setValidityBitmap(model.getValidityBitmap());
+                fail("A bitmap of another length should be rejected");
+            } catch (IllegalArgumentException expected) {
+                // The classic model needs a bitmap of seven-character guesses
+            }
+        } finally {
+            Files.delete(file);
+            Files.delete(text);
+        }
+    }
+}